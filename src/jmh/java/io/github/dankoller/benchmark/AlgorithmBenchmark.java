@@ -0,0 +1,81 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the graph engines behind every {@link io.github.dankoller.model.AlgorithmType} across all graph
+ * families from 1K to 10M edges. Run with {@code ./gradlew jmh}; the GC profiler adds the allocation rate per
+ * operation to the report.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class AlgorithmBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"RANDOM_SPARSE", "DENSE", "GRID", "POWER_LAW", "LONG_PATH"})
+    private GraphFamily family;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int edges;
+
+    private int source;
+    private DepthFirstTraversal depthFirst;
+    private BreadthFirstTraversal breadthFirst;
+    private DirectionOptimizingTraversal directionOptimizing;
+    private DijkstraShortestPaths dijkstra;
+    private PrimMinimumSpanningTree prim;
+    private KruskalMinimumSpanningTree kruskal;
+
+    /**
+     * Creates the graph and the engines once per trial, so only the algorithms themselves are measured.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = family.create(edges, SEED);
+        source = 0;
+        depthFirst = new DepthFirstTraversal(graph);
+        breadthFirst = new BreadthFirstTraversal(graph);
+        directionOptimizing = new DirectionOptimizingTraversal(graph);
+        dijkstra = new DijkstraShortestPaths(graph);
+        prim = new PrimMinimumSpanningTree(graph);
+        kruskal = new KruskalMinimumSpanningTree(graph);
+    }
+
+    @Benchmark
+    public Traversal depthFirstSearch() {
+        return depthFirst.run(source);
+    }
+
+    @Benchmark
+    public Traversal breadthFirstSearch() {
+        return breadthFirst.run(source);
+    }
+
+    @Benchmark
+    public Traversal directionOptimizingSearch() {
+        return directionOptimizing.run(source);
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra() {
+        return dijkstra.run(source);
+    }
+
+    @Benchmark
+    public SpanningForest prim() {
+        return prim.run(source);
+    }
+
+    @Benchmark
+    public SpanningForest kruskal() {
+        return kruskal.run();
+    }
+}
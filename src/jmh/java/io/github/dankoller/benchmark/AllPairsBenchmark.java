@@ -0,0 +1,82 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.AllPairsShortestPaths;
+import io.github.dankoller.graph.algorithm.DistanceMatrix;
+import io.github.dankoller.graph.algorithm.Eccentricities;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the multi-source searches of {@link AllPairsShortestPaths} from a fixed number of sources, once on a single
+ * thread and once on all processors, and of Floyd-Warshall on a dense graph of about the same number of edges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AllPairsBenchmark {
+    private static final long SEED = 42;
+    private static final int SOURCES = 256;
+
+    @Param({"RANDOM_SPARSE", "GRID", "POWER_LAW"})
+    private GraphFamily family;
+
+    @Param({"100000", "1000000"})
+    private int edges;
+
+    @Param({"1", "0"})
+    private int threads;
+
+    private int[] sources;
+    private ForkJoinPool pool;
+    private AllPairsShortestPaths allPairs;
+    private AllPairsShortestPaths dense;
+
+    /**
+     * Creates the graphs, the pool and the engines once per trial. A thread count of 0 uses all processors.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = family.create(edges, SEED);
+        sources = new int[Math.min(SOURCES, graph.vertexCount())];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (int) ((long) i * graph.vertexCount() / sources.length);
+        }
+        pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+        allPairs = new AllPairsShortestPaths(graph, pool);
+        dense = new AllPairsShortestPaths(GraphFamily.DENSE.create(edges, SEED), pool);
+    }
+
+    /**
+     * Stops the threads of the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Eccentricities breadthFirstEccentricities() {
+        return allPairs.eccentricities(sources, false);
+    }
+
+    @Benchmark
+    public Eccentricities dijkstraEccentricities() {
+        return allPairs.eccentricities(sources, true);
+    }
+
+    @Benchmark
+    public DistanceMatrix dijkstraDistances() {
+        return allPairs.distances(sources, true);
+    }
+
+    @Benchmark
+    public DistanceMatrix floydWarshall() {
+        return dense.floydWarshall();
+    }
+}
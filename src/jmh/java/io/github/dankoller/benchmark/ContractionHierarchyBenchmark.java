@@ -0,0 +1,107 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyBuilder;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyQuery;
+import io.github.dankoller.graph.algorithm.DijkstraShortestPaths;
+import io.github.dankoller.graph.algorithm.PointToPointShortestPath;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a route query between random vertices of a {@link GraphFamily#GRID grid} on its contraction hierarchy next
+ * to Dijkstra's algorithm stopping at the target, bidirectional Dijkstra and a full run of
+ * {@link DijkstraShortestPaths}. The hierarchy is built once per trial; the preprocessing time, the number of shortcuts
+ * and the average number of settled vertices of every method are printed at the start of every trial. Every
+ * invocation takes the next of a fixed list of random vertex pairs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ContractionHierarchyBenchmark {
+    private static final long SEED = 42;
+    private static final int PAIRS = 1024;
+
+    @Param({"100000", "1000000"})
+    private int edges;
+
+    private int[] sources;
+    private int[] targets;
+    private int next;
+    private DijkstraShortestPaths dijkstra;
+    private PointToPointShortestPath engine;
+    private ContractionHierarchyQuery query;
+
+    /**
+     * Creates the grid, contracts it and draws the vertex pairs once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = GraphFamily.GRID.create(edges, SEED);
+        long start = System.nanoTime();
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+        System.out.printf("contracted %d vertices with %d shortcuts in %.1f s%n", graph.vertexCount(),
+                hierarchy.shortcutCount(), (System.nanoTime() - start) / 1e9);
+        SplittableRandom random = new SplittableRandom(SEED);
+        sources = new int[PAIRS];
+        targets = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = random.nextInt(graph.vertexCount());
+            targets[i] = random.nextInt(graph.vertexCount());
+        }
+        dijkstra = new DijkstraShortestPaths(graph);
+        engine = new PointToPointShortestPath(graph);
+        query = new ContractionHierarchyQuery(hierarchy);
+        long dijkstraSettled = 0;
+        long bidirectionalSettled = 0;
+        long hierarchySettled = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            dijkstraSettled += engine.aStar(sources[i], targets[i], null).settled();
+            bidirectionalSettled += engine.bidirectionalDijkstra(sources[i], targets[i], null).settled();
+            hierarchySettled += query.route(sources[i], targets[i]).settled();
+        }
+        System.out.printf("settled on average: dijkstra=%d bidirectional=%d hierarchy=%d%n", dijkstraSettled / PAIRS,
+                bidirectionalSettled / PAIRS, hierarchySettled / PAIRS);
+    }
+
+    /**
+     * Moves on to the next vertex pair.
+     *
+     * @return The index of the pair
+     */
+    private int nextPair() {
+        next = (next + 1) % PAIRS;
+        return next;
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra() {
+        return dijkstra.run(sources[nextPair()]);
+    }
+
+    @Benchmark
+    public ShortestRoute dijkstraToTarget() {
+        int pair = nextPair();
+        return engine.aStar(sources[pair], targets[pair], null);
+    }
+
+    @Benchmark
+    public ShortestRoute bidirectionalDijkstra() {
+        int pair = nextPair();
+        return engine.bidirectionalDijkstra(sources[pair], targets[pair], null);
+    }
+
+    @Benchmark
+    public ShortestRoute contractionHierarchy() {
+        int pair = nextPair();
+        return query.route(sources[pair], targets[pair]);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DeltaSteppingShortestPaths;
+import io.github.dankoller.graph.algorithm.DijkstraShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of {@link DeltaSteppingShortestPaths} for several bucket widths and thread counts next to the sequential
+ * {@link DijkstraShortestPaths} on the same graph. The weights of all families are in {@code 1..100}; a delta of 0
+ * uses {@link DeltaSteppingShortestPaths#defaultDelta(CsrGraph)}, which is printed at the start of every trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DeltaSteppingBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"RANDOM_SPARSE", "GRID", "POWER_LAW"})
+    private GraphFamily family;
+
+    @Param({"1000000", "10000000"})
+    private int edges;
+
+    @Param({"0", "10", "50", "100"})
+    private int delta;
+
+    @Param({"1", "0"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private DijkstraShortestPaths dijkstra;
+    private DeltaSteppingShortestPaths deltaStepping;
+
+    /**
+     * Creates the graph, the pool and the engines once per trial. A thread count of 0 uses all processors.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = family.create(edges, SEED);
+        pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+        dijkstra = new DijkstraShortestPaths(graph);
+        deltaStepping = new DeltaSteppingShortestPaths(graph,
+                delta == 0 ? DeltaSteppingShortestPaths.defaultDelta(graph) : delta, pool);
+        System.out.println("delta=" + deltaStepping.getDelta());
+    }
+
+    /**
+     * Stops the threads of the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra() {
+        return dijkstra.run(0);
+    }
+
+    @Benchmark
+    public ShortestPaths deltaStepping() {
+        return deltaStepping.run(0);
+    }
+}
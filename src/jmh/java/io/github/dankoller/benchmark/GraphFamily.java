@@ -0,0 +1,134 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.GraphBuilder;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic graph families for the benchmarks. Every family creates an undirected graph with (about) the requested
+ * number of edges and uniformly distributed weights in {@code 1..100}. The graphs are deterministic for a given seed.
+ */
+public enum GraphFamily {
+    /**
+     * Uniformly random edges with an average degree of 8.
+     */
+    RANDOM_SPARSE {
+        @Override
+        void generate(GraphBuilder builder, int edges, SplittableRandom random) {
+            int vertices = Math.max(edges / 4, 2);
+            builder.ensureVertices(vertices);
+            for (int i = 0; i < edges; i++) {
+                builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), weight(random));
+            }
+        }
+    },
+    /**
+     * The first edges of a complete graph, so the number of vertices is about the square root of the edges.
+     */
+    DENSE {
+        @Override
+        void generate(GraphBuilder builder, int edges, SplittableRandom random) {
+            int vertices = (int) Math.ceil(Math.sqrt(2.0 * edges)) + 1;
+            builder.ensureVertices(vertices);
+            int added = 0;
+            for (int from = 0; from < vertices && added < edges; from++) {
+                for (int to = from + 1; to < vertices && added < edges; to++, added++) {
+                    builder.addEdge(from, to, weight(random));
+                }
+            }
+        }
+    },
+    /**
+     * A square grid where every vertex is connected to its right and lower neighbor.
+     */
+    GRID {
+        @Override
+        void generate(GraphBuilder builder, int edges, SplittableRandom random) {
+            int side = Math.max((int) Math.sqrt(edges / 2.0), 2);
+            builder.ensureVertices(side * side);
+            for (int row = 0; row < side; row++) {
+                for (int column = 0; column < side; column++) {
+                    int vertex = row * side + column;
+                    if (column + 1 < side) {
+                        builder.addEdge(vertex, vertex + 1, weight(random));
+                    }
+                    if (row + 1 < side) {
+                        builder.addEdge(vertex, vertex + side, weight(random));
+                    }
+                }
+            }
+        }
+    },
+    /**
+     * Barabasi-Albert preferential attachment where every new vertex adds 4 edges, yielding a power-law degree
+     * distribution with a low diameter.
+     */
+    POWER_LAW {
+        @Override
+        void generate(GraphBuilder builder, int edges, SplittableRandom random) {
+            int perVertex = 4;
+            int[] endpoints = new int[2 * edges];
+            int size = 0;
+            for (int vertex = 1; vertex <= perVertex; vertex++) {
+                builder.addEdge(0, vertex, weight(random));
+                endpoints[size++] = 0;
+                endpoints[size++] = vertex;
+            }
+            for (int vertex = perVertex + 1; builder.edgeCount() + perVertex <= edges; vertex++) {
+                int known = size;
+                for (int i = 0; i < perVertex; i++) {
+                    int target = endpoints[random.nextInt(known)];
+                    builder.addEdge(vertex, target, weight(random));
+                    endpoints[size++] = vertex;
+                    endpoints[size++] = target;
+                }
+            }
+        }
+    },
+    /**
+     * A single path, the worst case for recursive depth first search.
+     */
+    LONG_PATH {
+        @Override
+        void generate(GraphBuilder builder, int edges, SplittableRandom random) {
+            for (int vertex = 0; vertex < edges; vertex++) {
+                builder.addEdge(vertex, vertex + 1, weight(random));
+            }
+        }
+    };
+
+    private static final int MAX_WEIGHT = 100;
+
+    /**
+     * Creates a graph of this family.
+     *
+     * @param edges The number of edges
+     * @param seed  The seed of the random weights and edges
+     * @return The graph
+     */
+    public CsrGraph create(int edges, long seed) {
+        GraphBuilder builder = new GraphBuilder(edges);
+        generate(builder, edges, new SplittableRandom(seed));
+        return builder.build();
+    }
+
+    /**
+     * Adds the edges of this family to the builder.
+     *
+     * @param builder The builder to add the edges to
+     * @param edges   The number of edges
+     * @param random  The source of randomness
+     */
+    abstract void generate(GraphBuilder builder, int edges, SplittableRandom random);
+
+    /**
+     * Draws a random edge weight.
+     *
+     * @param random The source of randomness
+     * @return The weight
+     */
+    private static int weight(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Side by side comparison of the original object graph algorithms ({@link LegacyGraph}) with the CSR engines. The
+ * sizes stop at 100K edges because the legacy Prim is O(V * E); the fork gets a 1 GB thread stack so the recursive
+ * legacy depth first search survives the long path family.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xss1g"})
+public class LegacyComparisonBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"RANDOM_SPARSE", "DENSE", "GRID", "POWER_LAW", "LONG_PATH"})
+    private GraphFamily family;
+
+    @Param({"1000", "10000", "100000"})
+    private int edges;
+
+    private LegacyGraph legacy;
+    private DepthFirstTraversal depthFirst;
+    private BreadthFirstTraversal breadthFirst;
+    private DijkstraShortestPaths dijkstra;
+    private PrimMinimumSpanningTree prim;
+
+    /**
+     * Creates the object graph, the CSR graph and the engines once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = family.create(edges, SEED);
+        legacy = new LegacyGraph(graph);
+        depthFirst = new DepthFirstTraversal(graph);
+        breadthFirst = new BreadthFirstTraversal(graph);
+        dijkstra = new DijkstraShortestPaths(graph);
+        prim = new PrimMinimumSpanningTree(graph);
+    }
+
+    @Benchmark
+    public Queue<LegacyGraph.LegacyEdge> legacyDepthFirstSearch() {
+        return legacy.depthFirstSearch(0);
+    }
+
+    @Benchmark
+    public Traversal depthFirstSearch() {
+        return depthFirst.run(0);
+    }
+
+    @Benchmark
+    public Queue<LegacyGraph.LegacyEdge> legacyBreadthFirstSearch() {
+        return legacy.breadthFirstSearch(0);
+    }
+
+    @Benchmark
+    public Traversal breadthFirstSearch() {
+        return breadthFirst.run(0);
+    }
+
+    @Benchmark
+    public String legacyDijkstra() {
+        return legacy.dijkstra(0);
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra() {
+        return dijkstra.run(0);
+    }
+
+    @Benchmark
+    public Queue<LegacyGraph.LegacyEdge> legacyPrim() {
+        return legacy.prim(0);
+    }
+
+    @Benchmark
+    public SpanningForest prim() {
+        return prim.run(0);
+    }
+}
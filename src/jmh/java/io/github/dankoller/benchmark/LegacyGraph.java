@@ -0,0 +1,177 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Baseline replica of the original object graph algorithms of {@code GraphModel}, {@code DijskstraAlgorithm} and
+ * {@code PrimAlgorithm}: adjacency lists of edge objects, recursive searches, weights parsed from strings on every
+ * relaxation, boxed route lengths and a priority queue without decrease-key. The Swing components are left out, so
+ * the comparison only shows the cost of the data structures and algorithms.
+ */
+final class LegacyGraph {
+    private final List<LegacyVertex> vertices;
+
+    /**
+     * A vertex with its list of outgoing edges.
+     */
+    static final class LegacyVertex {
+        private final int id;
+        private final List<LegacyEdge> edges = new ArrayList<>();
+        private boolean visited;
+
+        LegacyVertex(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * An edge which stores its weight as text, like the weight label of the user interface.
+     */
+    record LegacyEdge(String weight, LegacyVertex start, LegacyVertex end) {
+    }
+
+    /**
+     * A vertex and the length of the route to it.
+     */
+    record VertexAndRoute(LegacyVertex vertex, int routeLength) {
+    }
+
+    /**
+     * Creates the object graph from a CSR graph.
+     *
+     * @param graph The CSR graph
+     */
+    LegacyGraph(CsrGraph graph) {
+        vertices = new ArrayList<>(graph.vertexCount());
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            vertices.add(new LegacyVertex(vertex));
+        }
+        for (LegacyVertex vertex : vertices) {
+            for (int arc = graph.firstArc(vertex.id); arc < graph.endArc(vertex.id); arc++) {
+                LegacyVertex end = vertices.get(graph.target(arc));
+                vertex.edges.add(new LegacyEdge(Integer.toString(graph.weight(arc)), vertex, end));
+            }
+        }
+    }
+
+    /**
+     * Recursive depth first search.
+     *
+     * @param source The id of the start vertex
+     * @return The traversed edges
+     */
+    Queue<LegacyEdge> depthFirstSearch(int source) {
+        resetVisited();
+        LegacyVertex start = vertices.get(source);
+        start.visited = true;
+        return depthFirstSearch(new ArrayDeque<>(), start);
+    }
+
+    private Queue<LegacyEdge> depthFirstSearch(Queue<LegacyEdge> traverseQueue, LegacyVertex vertex) {
+        for (LegacyEdge edge : vertex.edges) {
+            if (!edge.end().visited) {
+                edge.end().visited = true;
+                traverseQueue.offer(edge);
+                depthFirstSearch(traverseQueue, edge.end());
+            }
+        }
+        return traverseQueue;
+    }
+
+    /**
+     * Breadth first search which recurses once per level and rebuilds stream-backed lists.
+     *
+     * @param source The id of the start vertex
+     * @return The traversed edges
+     */
+    Queue<LegacyEdge> breadthFirstSearch(int source) {
+        resetVisited();
+        LegacyVertex start = vertices.get(source);
+        start.visited = true;
+        return breadthFirstSearch(new ArrayDeque<>(), List.of(start));
+    }
+
+    private Queue<LegacyEdge> breadthFirstSearch(Queue<LegacyEdge> traverseQueue, List<LegacyVertex> levelVertices) {
+        if (levelVertices.isEmpty()) {
+            return traverseQueue;
+        }
+        List<LegacyEdge> unvisitedNeighborEdges = levelVertices.stream()
+                .flatMap(vertex -> vertex.edges.stream())
+                .filter(edge -> !edge.end().visited).toList();
+        unvisitedNeighborEdges.forEach(edge -> {
+            if (!edge.end().visited) {
+                edge.end().visited = true;
+                traverseQueue.offer(edge);
+            }
+        });
+        return breadthFirstSearch(traverseQueue, unvisitedNeighborEdges.stream().map(LegacyEdge::end).toList());
+    }
+
+    /**
+     * Dijkstra with boxed route lengths, duplicate queue entries and string weights.
+     *
+     * @param source The id of the start vertex
+     * @return The formatted route lengths
+     */
+    String dijkstra(int source) {
+        PriorityQueue<VertexAndRoute> vertexQueue =
+                new PriorityQueue<>(Comparator.comparingInt(VertexAndRoute::routeLength));
+        Set<LegacyVertex> visitedNodes = new HashSet<>();
+        Map<LegacyVertex, Integer> routeLengths = new HashMap<>();
+        LegacyVertex start = vertices.get(source);
+        vertexQueue.offer(new VertexAndRoute(start, 0));
+        routeLengths.put(start, 0);
+        while (!vertexQueue.isEmpty()) {
+            LegacyVertex current = vertexQueue.poll().vertex();
+            current.edges.stream()
+                    .filter(edge -> !visitedNodes.contains(edge.end()))
+                    .forEach(edge -> {
+                        int lengthOnThisRoute = routeLengths.get(current) + Integer.parseInt(edge.weight());
+                        int lengthSoFar = Optional.ofNullable(routeLengths.get(edge.end())).orElse(Integer.MAX_VALUE);
+                        if (lengthOnThisRoute < lengthSoFar) {
+                            vertexQueue.offer(new VertexAndRoute(edge.end(), lengthOnThisRoute));
+                            routeLengths.put(edge.end(), lengthOnThisRoute);
+                        }
+                    });
+            visitedNodes.add(current);
+        }
+        return routeLengths.entrySet().stream().filter(entry -> entry.getValue() > 0)
+                .map(entry -> "%d=%d".formatted(entry.getKey().id, entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Prim which scans the whole candidate set for the lightest edge on every step.
+     *
+     * @param source The id of the start vertex
+     * @return The spanning tree edges
+     */
+    Queue<LegacyEdge> prim(int source) {
+        Set<LegacyEdge> currentEdges = new HashSet<>();
+        Set<LegacyVertex> connected = new HashSet<>();
+        Queue<LegacyEdge> minimumSpanningTree = new ArrayDeque<>();
+        connect(vertices.get(source), currentEdges, connected);
+        while (!currentEdges.isEmpty()) {
+            LegacyEdge next = currentEdges.stream()
+                    .min(Comparator.comparingInt(edge -> Integer.parseInt(edge.weight())))
+                    .orElseThrow(() -> new IllegalStateException("No edge found"));
+            minimumSpanningTree.offer(next);
+            connect(next.end(), currentEdges, connected);
+        }
+        return minimumSpanningTree;
+    }
+
+    private static void connect(LegacyVertex vertex, Set<LegacyEdge> currentEdges, Set<LegacyVertex> connected) {
+        connected.add(vertex);
+        currentEdges.stream().filter(edge -> edge.end() == vertex).toList().forEach(currentEdges::remove);
+        currentEdges.addAll(vertex.edges.stream().filter(edge -> !connected.contains(edge.end())).toList());
+    }
+
+    private void resetVisited() {
+        vertices.forEach(vertex -> vertex.visited = false);
+    }
+}
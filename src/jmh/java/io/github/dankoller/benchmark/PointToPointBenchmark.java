@@ -0,0 +1,78 @@
+package io.github.dankoller.benchmark;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DijkstraShortestPaths;
+import io.github.dankoller.graph.algorithm.PointToPointShortestPath;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a single route query across the middle of a {@link GraphFamily#GRID grid} with A*, bidirectional Dijkstra
+ * and bidirectional A* next to a full run of {@link DijkstraShortestPaths}. The vertices are placed on the grid points
+ * one unit apart, so the lower bound of A* is the Euclidean distance, while the weights are in {@code 1..100}. The
+ * number of settled vertices of every query is printed at the start of every trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PointToPointBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000000", "10000000"})
+    private int edges;
+
+    private int source;
+    private int target;
+    private DijkstraShortestPaths dijkstra;
+    private PointToPointShortestPath engine;
+
+    /**
+     * Creates the grid, its vertex positions and the engines once per trial. The query runs from a quarter to three
+     * quarters of the middle row.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CsrGraph graph = GraphFamily.GRID.create(edges, SEED);
+        int side = (int) Math.round(Math.sqrt(graph.vertexCount()));
+        float[] xs = new float[graph.vertexCount()];
+        float[] ys = new float[graph.vertexCount()];
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            xs[vertex] = vertex % side;
+            ys[vertex] = vertex / side;
+        }
+        source = side / 2 * side + side / 4;
+        target = side / 2 * side + 3 * side / 4;
+        dijkstra = new DijkstraShortestPaths(graph);
+        engine = new PointToPointShortestPath(graph, xs, ys);
+        System.out.printf("settled: dijkstra=%d astar=%d bidirectional=%d bidirectionalAStar=%d%n",
+                dijkstra.run(source).settled().length, engine.aStar(source, target, null).settled(),
+                engine.bidirectionalDijkstra(source, target, null).settled(),
+                engine.bidirectionalAStar(source, target, null).settled());
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra() {
+        return dijkstra.run(source);
+    }
+
+    @Benchmark
+    public ShortestRoute aStar() {
+        return engine.aStar(source, target, null);
+    }
+
+    @Benchmark
+    public ShortestRoute bidirectionalDijkstra() {
+        return engine.bidirectionalDijkstra(source, target, null);
+    }
+
+    @Benchmark
+    public ShortestRoute bidirectionalAStar() {
+        return engine.bidirectionalAStar(source, target, null);
+    }
+}
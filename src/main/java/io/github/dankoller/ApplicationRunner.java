@@ -1,11 +1,15 @@
 package io.github.dankoller;
 
+import io.github.dankoller.batch.BatchRunner;
 import io.github.dankoller.view.MainFrame;
 
 import javax.swing.*;
 
 public class ApplicationRunner {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(new BatchRunner().run(args));
+        }
         SwingUtilities.invokeLater(MainFrame::new);
     }
 }
@@ -0,0 +1,65 @@
+package io.github.dankoller.batch;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The ways the {@link BatchRunner} can compute the distances from many sources at once.
+ */
+public enum AllPairsMethod {
+    /**
+     * One breadth first search per source, counting the edges of the paths.
+     */
+    BREADTH_FIRST("bfs"),
+    /**
+     * One run of Dijkstra's algorithm per source, summing the weights of the paths.
+     */
+    DIJKSTRA("dijkstra"),
+    /**
+     * The Floyd-Warshall algorithm, summing the weights of the paths. Only suitable for small dense graphs.
+     */
+    FLOYD_WARSHALL("floyd-warshall");
+
+    private final String name;
+
+    /**
+     * Create a new all-pairs method.
+     *
+     * @param name The name used on the command line
+     */
+    AllPairsMethod(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Find a method by its name, ignoring case.
+     *
+     * @param name The name of the method
+     * @return The method
+     */
+    public static AllPairsMethod fromName(String name) {
+        return Arrays.stream(values())
+                .filter(method -> method.name.equalsIgnoreCase(name) || method.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown all-pairs method '%s', expected one of: %s"
+                        .formatted(name, names())));
+    }
+
+    /**
+     * Get the names of all methods.
+     *
+     * @return The comma separated names
+     */
+    public static String names() {
+        return Arrays.stream(values()).map(AllPairsMethod::getName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Get the name used on the command line.
+     *
+     * @return The name of the method
+     */
+    public String getName() {
+        return name;
+    }
+}
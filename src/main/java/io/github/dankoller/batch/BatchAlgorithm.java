@@ -0,0 +1,160 @@
+package io.github.dankoller.batch;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.*;
+import io.github.dankoller.model.AlgorithmType;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The algorithms which can be run by the {@link BatchRunner}, each mapped to its {@link AlgorithmType}.
+ */
+public enum BatchAlgorithm {
+    DEPTH_FIRST(AlgorithmType.DEPTH_FIRST, "dfs", true,
+            graph -> traversal(new DepthFirstTraversal(graph))),
+    BREADTH_FIRST(AlgorithmType.BREADTH_FIRST, "bfs", true,
+            graph -> traversal(new BreadthFirstTraversal(graph))),
+    DIRECTION_OPTIMIZING_BFS(AlgorithmType.DIRECTION_OPTIMIZING_BFS, "dobfs", true,
+            graph -> traversal(new DirectionOptimizingTraversal(graph))),
+    DIJKSTRA_ALGORITHM(AlgorithmType.DIJKSTRA_ALGORITHM, "dijkstra", true,
+            graph -> shortestPaths(new DijkstraShortestPaths(graph)::run)),
+    DELTA_STEPPING(AlgorithmType.DELTA_STEPPING, "delta-stepping", true,
+            graph -> shortestPaths(new DeltaSteppingShortestPaths(graph)::run)),
+    PRIM_ALGORITHM(AlgorithmType.PRIM_ALGORITHM, "prim", true,
+            graph -> {
+                PrimMinimumSpanningTree prim = new PrimMinimumSpanningTree(graph);
+                return (source, line) -> appendForest(prim.run(source), line);
+            }),
+    KRUSKAL_ALGORITHM(AlgorithmType.KRUSKAL_ALGORITHM, "kruskal", false,
+            graph -> {
+                KruskalMinimumSpanningTree kruskal = new KruskalMinimumSpanningTree(graph);
+                return (source, line) -> appendForest(kruskal.run(), line);
+            });
+
+    private final AlgorithmType algorithmType;
+    private final String commandName;
+    private final boolean sourceDependent;
+    private final Function<CsrGraph, BatchTask> taskFactory;
+
+    /**
+     * Create a new batch algorithm.
+     *
+     * @param algorithmType   The algorithm type shown in the user interface
+     * @param commandName     The name used on the command line
+     * @param sourceDependent Whether the result depends on the source vertex
+     * @param taskFactory     Binds the algorithm to a graph
+     */
+    BatchAlgorithm(AlgorithmType algorithmType, String commandName, boolean sourceDependent,
+                   Function<CsrGraph, BatchTask> taskFactory) {
+        this.algorithmType = algorithmType;
+        this.commandName = commandName;
+        this.sourceDependent = sourceDependent;
+        this.taskFactory = taskFactory;
+    }
+
+    /**
+     * Find an algorithm by its command name or the name of its algorithm type, ignoring case.
+     *
+     * @param name The name of the algorithm
+     * @return The batch algorithm
+     */
+    public static BatchAlgorithm fromName(String name) {
+        return Arrays.stream(values())
+                .filter(algorithm -> algorithm.commandName.equalsIgnoreCase(name)
+                        || algorithm.algorithmType.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm '%s', expected one of: %s"
+                        .formatted(name, commandNames())));
+    }
+
+    /**
+     * Get the command names of all algorithms.
+     *
+     * @return The comma separated command names
+     */
+    public static String commandNames() {
+        return Arrays.stream(values()).map(BatchAlgorithm::getCommandName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Bind the algorithm to a graph. The task reuses its scratch memory between runs.
+     *
+     * @param graph The graph to run on
+     * @return The task
+     */
+    public BatchTask createTask(CsrGraph graph) {
+        return taskFactory.apply(graph);
+    }
+
+    /**
+     * Get the algorithm type.
+     *
+     * @return The algorithm type
+     */
+    public AlgorithmType getAlgorithmType() {
+        return algorithmType;
+    }
+
+    /**
+     * Get the name used on the command line.
+     *
+     * @return The command name
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * Check whether the result depends on the source vertex. Otherwise, the algorithm is only run once.
+     *
+     * @return True if the result depends on the source
+     */
+    public boolean isSourceDependent() {
+        return sourceDependent;
+    }
+
+    /**
+     * Create a task which appends the discovery order of a traversal.
+     *
+     * @param engine The traversal engine
+     * @return The task
+     */
+    private static BatchTask traversal(TraversalEngine engine) {
+        return (source, line) -> {
+            for (int vertex : engine.run(source).order()) {
+                line.append(' ').append(vertex);
+            }
+        };
+    }
+
+    /**
+     * Create a task which appends {@code vertex=distance} pairs in settle order.
+     *
+     * @param engine The shortest path engine
+     * @return The task
+     */
+    private static BatchTask shortestPaths(IntFunction<ShortestPaths> engine) {
+        return (source, line) -> {
+            ShortestPaths paths = engine.apply(source);
+            for (int vertex : paths.settled()) {
+                line.append(' ').append(vertex).append('=').append(paths.distance(vertex));
+            }
+        };
+    }
+
+    /**
+     * Append the total weight and the {@code target=source} edges of a spanning forest.
+     *
+     * @param forest The spanning forest
+     * @param line   The line to append to
+     */
+    private static void appendForest(SpanningForest forest, StringBuilder line) {
+        line.append(" weight=").append(forest.totalWeight());
+        for (int i = 0; i < forest.size(); i++) {
+            line.append(' ').append(forest.targets()[i]).append('=').append(forest.sources()[i]);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.dankoller.batch;
+
+import io.github.dankoller.graph.io.GraphFormat;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The command line options of the {@link BatchRunner}.
+ *
+ * @param graph     The graph file to load
+ * @param format    The format of the graph file
+ * @param algorithm The algorithm to run
+ * @param sources   The source vertices, or {@code null} to run from every vertex
+ * @param output    The file to write the results to, or {@code null} for stdout
+ * @param quiet     Whether to only report the throughput without writing any results
+ * @param snapshot  The file to save a binary snapshot of the loaded graph to, or {@code null}
+ * @param allPairs  The method to compute the distances from all sources at once, or {@code null}
+ * @param summary   Whether to only write the eccentricities instead of all distances of the all-pairs method
+ * @param threads   The number of threads for the all-pairs method
+ * @param route     The method to find the routes from the sources to the targets, or {@code null}
+ * @param targets   The target vertices of the routes, empty unless a route method is given
+ * @param contract  Whether to build the contraction hierarchy of the graph, e.g. to save it with the snapshot
+ */
+public record BatchOptions(Path graph, GraphFormat format, BatchAlgorithm algorithm, int[] sources, Path output,
+                           boolean quiet, Path snapshot, AllPairsMethod allPairs, boolean summary, int threads,
+                           RouteMethod route, int[] targets, boolean contract) {
+    public static final String USAGE = """
+            Usage: visualizer --graph <file> --algorithm <name> [options]
+              -g, --graph <file>          Graph file with one 'source target [weight]' edge per line
+              -f, --format <name>         One of: %s (default: guessed from the file extension)
+              -a, --algorithm <name>      One of: %s
+                  --all-pairs <name>      Distances from all sources in parallel, one of: %s
+                  --summary               With --all-pairs, only write the eccentricities, diameter and radius
+              -t, --threads <count>       Threads for --all-pairs (default: number of processors)
+                  --route <name>          Routes from the sources to every target, one of: %s
+                  --target <ids>          Comma separated target vertices for --route, may be repeated
+                  --contract              Build the contraction hierarchy for --route ch and --save-snapshot
+              -s, --source <ids>          Comma separated source vertices (default: 0, or all for --all-pairs),
+                                          may be repeated
+                  --all-sources           Run from every vertex of the graph
+              -o, --output <file>         Write the results to a file instead of stdout
+              -q, --quiet                 Only report the throughput
+                  --save-snapshot <file>  Save the loaded graph as a binary snapshot (.gsnap), no algorithm needed
+            Without any arguments the graphical user interface is started.""".formatted(
+            Arrays.stream(GraphFormat.values()).map(GraphFormat::getName).collect(Collectors.joining(", ")),
+            BatchAlgorithm.commandNames(), AllPairsMethod.names(), RouteMethod.names());
+
+    /**
+     * Parse the command line arguments.
+     *
+     * @param args The command line arguments
+     * @return The parsed options
+     * @throws IllegalArgumentException If the arguments are invalid
+     */
+    public static BatchOptions parse(String[] args) {
+        Path graph = null;
+        GraphFormat format = null;
+        BatchAlgorithm algorithm = null;
+        int[] sources = new int[0];
+        boolean allSources = false;
+        Path output = null;
+        boolean quiet = false;
+        Path snapshot = null;
+        AllPairsMethod allPairs = null;
+        boolean summary = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        RouteMethod route = null;
+        int[] targets = new int[0];
+        boolean contract = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-g", "--graph" -> graph = Path.of(value(args, ++i));
+                case "-f", "--format" -> format = GraphFormat.fromName(value(args, ++i));
+                case "-a", "--algorithm" -> algorithm = BatchAlgorithm.fromName(value(args, ++i));
+                case "-s", "--source" -> sources = append(sources, value(args, ++i), "source");
+                case "--all-sources" -> allSources = true;
+                case "-o", "--output" -> output = Path.of(value(args, ++i));
+                case "-q", "--quiet" -> quiet = true;
+                case "--save-snapshot" -> snapshot = Path.of(value(args, ++i));
+                case "--all-pairs" -> allPairs = AllPairsMethod.fromName(value(args, ++i));
+                case "--summary" -> summary = true;
+                case "-t", "--threads" -> threads = positive(value(args, ++i));
+                case "--route" -> route = RouteMethod.fromName(value(args, ++i));
+                case "--target" -> targets = append(targets, value(args, ++i), "target");
+                case "--contract" -> contract = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (graph == null || algorithm == null && allPairs == null && route == null && snapshot == null) {
+            throw new IllegalArgumentException(
+                    "Both --graph and --algorithm (or --all-pairs, --route or --save-snapshot) are required");
+        }
+        if ((algorithm != null ? 1 : 0) + (allPairs != null ? 1 : 0) + (route != null ? 1 : 0) > 1) {
+            throw new IllegalArgumentException("Only one of --algorithm, --all-pairs and --route can be given");
+        }
+        if (route != null && targets.length == 0) {
+            throw new IllegalArgumentException("--route requires at least one --target");
+        }
+        if (route == null && targets.length > 0) {
+            throw new IllegalArgumentException("--target requires --route");
+        }
+        if (contract && snapshot == null && route != RouteMethod.CONTRACTION_HIERARCHY) {
+            throw new IllegalArgumentException("--contract requires --save-snapshot or --route ch");
+        }
+        if (summary && allPairs == null) {
+            throw new IllegalArgumentException("--summary requires --all-pairs");
+        }
+        if (allSources && sources.length > 0) {
+            throw new IllegalArgumentException("--source and --all-sources cannot be combined");
+        }
+        if (allPairs != null && sources.length == 0) {
+            allSources = true;
+        }
+        if (!allSources && sources.length == 0) {
+            sources = new int[]{0};
+        }
+        GraphFormat graphFormat = format == null ? GraphFormat.fromFileName(graph) : format;
+        return new BatchOptions(graph, graphFormat, algorithm, allSources ? null : sources, output, quiet,
+                snapshot, allPairs, summary, threads, route, targets, contract);
+    }
+
+    /**
+     * Get the value of an option.
+     *
+     * @param args  The command line arguments
+     * @param index The index of the value
+     * @return The value
+     */
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for option " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    /**
+     * Parse a positive number.
+     *
+     * @param value The value of the option
+     * @return The number
+     */
+    private static int positive(String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value, e);
+        }
+        throw new IllegalArgumentException("Number must be positive: " + value);
+    }
+
+    /**
+     * Append a comma separated list of vertex ids to the given vertices.
+     *
+     * @param vertices The vertices parsed so far
+     * @param list     The comma separated list
+     * @param role     The role of the vertices for the error message, e.g. "source"
+     * @return The extended vertices
+     */
+    private static int[] append(int[] vertices, String list, String role) {
+        int[] parsed = Arrays.stream(list.split(",")).map(String::strip).mapToInt(id -> {
+            try {
+                return Integer.parseInt(id);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid %s vertex: %s".formatted(role, id), e);
+            }
+        }).toArray();
+        int[] merged = Arrays.copyOf(vertices, vertices.length + parsed.length);
+        System.arraycopy(parsed, 0, merged, vertices.length, parsed.length);
+        return merged;
+    }
+}
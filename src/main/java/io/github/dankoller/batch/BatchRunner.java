@@ -0,0 +1,389 @@
+package io.github.dankoller.batch;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.AllPairsShortestPaths;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyBuilder;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyQuery;
+import io.github.dankoller.graph.algorithm.DistanceMatrix;
+import io.github.dankoller.graph.algorithm.Eccentricities;
+import io.github.dankoller.graph.algorithm.PointToPointShortestPath;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import io.github.dankoller.graph.io.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the graph algorithms without a user interface. The graph is loaded from a file, the selected algorithm is run
+ * from one or many sources and the results are written line by line, followed by a throughput report on stderr.
+ */
+public class BatchRunner {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private final PrintStream log;
+
+    /**
+     * Creates a new batch runner reporting to stderr.
+     */
+    public BatchRunner() {
+        this(System.err);
+    }
+
+    /**
+     * Creates a new batch runner reporting to the given stream.
+     *
+     * @param log The stream for progress and error messages
+     */
+    public BatchRunner(PrintStream log) {
+        this.log = log;
+    }
+
+    /**
+     * Parses the arguments and runs the batch job.
+     *
+     * @param args The command line arguments
+     * @return The exit code (0 on success, 1 on I/O errors, 2 on invalid arguments)
+     */
+    public int run(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            log.println(e.getMessage());
+            log.println(BatchOptions.USAGE);
+            return 2;
+        }
+        try {
+            return run(options);
+        } catch (IOException | UncheckedIOException e) {
+            log.println("Batch run failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs the batch job for the given options.
+     *
+     * @param options The parsed options
+     * @return The exit code
+     * @throws IOException If the graph cannot be read or the results cannot be written
+     */
+    public int run(BatchOptions options) throws IOException {
+        long start = System.nanoTime();
+        GraphSnapshot snapshot = loadGraph(options);
+        CsrGraph graph = snapshot.graph();
+        log.printf("Loaded %d vertices and %d edges in %.1f ms%n", graph.vertexCount(), graph.edgeCount(),
+                (System.nanoTime() - start) / NANOS_PER_MILLI);
+        if (options.contract() && !snapshot.hasHierarchy()) {
+            ContractionHierarchy hierarchy = contract(graph);
+            if (hierarchy == null) {
+                return 2;
+            }
+            snapshot = snapshot.withHierarchy(hierarchy);
+        }
+        if (options.snapshot() != null) {
+            long saveStart = System.nanoTime();
+            new GraphSnapshotWriter().write(options.snapshot(), snapshot);
+            log.printf("Saved snapshot to %s in %.1f ms%n", options.snapshot(),
+                    (System.nanoTime() - saveStart) / NANOS_PER_MILLI);
+        }
+        if (options.algorithm() == null && options.allPairs() == null && options.route() == null) {
+            return 0;
+        }
+        int[] sources = resolveSources(options, graph);
+        if (sources == null) {
+            return 2;
+        }
+        if (options.allPairs() != null) {
+            return runAllPairs(options, graph, sources);
+        }
+        if (options.route() != null) {
+            return runRoutes(options, snapshot, sources);
+        }
+        StringBuilder line = new StringBuilder();
+        long runStart = System.nanoTime();
+        try (Writer out = openOutput(options)) {
+            BatchTask task = options.algorithm().createTask(graph);
+            for (int source : sources) {
+                line.setLength(0);
+                line.append(source).append(':');
+                task.run(source, line);
+                if (!options.quiet()) {
+                    out.append(line).append(System.lineSeparator());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.println(e.getMessage());
+            return 2;
+        }
+        double millis = (System.nanoTime() - runStart) / NANOS_PER_MILLI;
+        log.printf("Ran %s from %d source(s) in %.1f ms (%.1f runs/s)%n", options.algorithm().getCommandName(),
+                sources.length, millis, sources.length / Math.max(millis / 1000.0, 1e-9));
+        return 0;
+    }
+
+    /**
+     * Computes the distances from all sources at once on a pool of the requested size. Every source is written as a
+     * line of distances to all vertices ({@code -} if unreachable), or with {@code --summary} as its eccentricity
+     * followed by a line with the diameter and the radius.
+     *
+     * @param options The parsed options
+     * @param graph   The loaded graph
+     * @param sources The validated source vertices
+     * @return The exit code
+     * @throws IOException If the results cannot be written
+     */
+    private int runAllPairs(BatchOptions options, CsrGraph graph, int[] sources) throws IOException {
+        AllPairsMethod method = options.allPairs();
+        boolean weighted = method != AllPairsMethod.BREADTH_FIRST;
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+        long runStart = System.nanoTime();
+        DistanceMatrix matrix = null;
+        Eccentricities eccentricities = null;
+        try {
+            AllPairsShortestPaths engine = new AllPairsShortestPaths(graph, pool);
+            if (method == AllPairsMethod.FLOYD_WARSHALL) {
+                matrix = engine.floydWarshall();
+            } else if (options.summary()) {
+                eccentricities = engine.eccentricities(sources, weighted);
+            } else {
+                matrix = engine.distances(sources, weighted);
+            }
+        } catch (IllegalArgumentException e) {
+            log.println(e.getMessage());
+            return 2;
+        } finally {
+            pool.shutdown();
+        }
+        double millis = (System.nanoTime() - runStart) / NANOS_PER_MILLI;
+        log.printf("Computed %s distances from %d source(s) with %d thread(s) in %.1f ms (%.1f sources/s)%n",
+                method.getName(), sources.length, options.threads(), millis,
+                sources.length / Math.max(millis / 1000.0, 1e-9));
+        if (eccentricities == null && options.summary()) {
+            eccentricities = eccentricities(matrix, sources);
+        }
+        if (options.quiet()) {
+            return 0;
+        }
+        StringBuilder line = new StringBuilder();
+        try (Writer out = openOutput(options)) {
+            for (int i = 0; i < sources.length; i++) {
+                line.setLength(0);
+                line.append(sources[i]).append(':');
+                if (eccentricities != null) {
+                    line.append(" eccentricity=").append(eccentricities.eccentricities()[i])
+                            .append(" reachable=").append(eccentricities.reachable()[i]);
+                } else {
+                    int row = method == AllPairsMethod.FLOYD_WARSHALL ? sources[i] : i;
+                    for (int vertex = 0; vertex < matrix.vertexCount(); vertex++) {
+                        int distance = matrix.distance(row, vertex);
+                        line.append(' ');
+                        if (distance == ShortestPaths.UNREACHABLE) {
+                            line.append('-');
+                        } else {
+                            line.append(distance);
+                        }
+                    }
+                }
+                out.append(line).append(System.lineSeparator());
+            }
+            if (eccentricities != null) {
+                out.append("diameter=%d radius=%d".formatted(eccentricities.diameter(), eccentricities.radius()))
+                        .append(System.lineSeparator());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the shortest route from every source to every target. Every pair is written as a line with the length of
+     * the route followed by its vertices, or {@code -} if the target is unreachable. The contraction hierarchy of the
+     * snapshot is used if it has one, otherwise it is built before the queries.
+     *
+     * @param options  The parsed options
+     * @param snapshot The loaded graph with its positions and contraction hierarchy, if any
+     * @param sources  The validated source vertices
+     * @return The exit code
+     * @throws IOException If the results cannot be written
+     */
+    private int runRoutes(BatchOptions options, GraphSnapshot snapshot, int[] sources) throws IOException {
+        CsrGraph graph = snapshot.graph();
+        RouteMethod method = options.route();
+        if (!checkVertices(options.targets(), graph, "Target")) {
+            return 2;
+        }
+        PointToPointShortestPath engine = null;
+        ContractionHierarchyQuery query = null;
+        if (method == RouteMethod.CONTRACTION_HIERARCHY) {
+            ContractionHierarchy hierarchy = snapshot.hasHierarchy() ? snapshot.hierarchy() : contract(graph);
+            if (hierarchy == null) {
+                return 2;
+            }
+            query = new ContractionHierarchyQuery(hierarchy);
+        } else if (method == RouteMethod.A_STAR || method == RouteMethod.BIDIRECTIONAL_A_STAR) {
+            if (!snapshot.hasPositions()) {
+                log.printf("--route %s needs the vertex positions of a snapshot saved from the user interface%n",
+                        method.getName());
+                return 2;
+            }
+            engine = new PointToPointShortestPath(graph, snapshot.xs(), snapshot.ys());
+        } else {
+            engine = new PointToPointShortestPath(graph);
+        }
+        StringBuilder line = new StringBuilder();
+        long settled = 0;
+        long runStart = System.nanoTime();
+        try (Writer out = openOutput(options)) {
+            for (int source : sources) {
+                for (int target : options.targets()) {
+                    ShortestRoute route = switch (method) {
+                        case DIJKSTRA, A_STAR -> engine.aStar(source, target, null);
+                        case BIDIRECTIONAL_DIJKSTRA -> engine.bidirectionalDijkstra(source, target, null);
+                        case BIDIRECTIONAL_A_STAR -> engine.bidirectionalAStar(source, target, null);
+                        case CONTRACTION_HIERARCHY -> query.route(source, target);
+                    };
+                    settled += route.settled();
+                    if (options.quiet()) {
+                        continue;
+                    }
+                    line.setLength(0);
+                    line.append(source).append("->").append(target).append(':');
+                    if (route.isReachable()) {
+                        line.append(' ').append(route.distance());
+                        for (int vertex : route.vertices()) {
+                            line.append(' ').append(vertex);
+                        }
+                    } else {
+                        line.append(" -");
+                    }
+                    out.append(line).append(System.lineSeparator());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.println(e.getMessage());
+            return 2;
+        }
+        long routes = (long) sources.length * options.targets().length;
+        double millis = (System.nanoTime() - runStart) / NANOS_PER_MILLI;
+        log.printf("Found %d route(s) with %s in %.1f ms (%.1f routes/s, %.1f settled on average)%n", routes,
+                method.getName(), millis, routes / Math.max(millis / 1000.0, 1e-9), (double) settled / routes);
+        return 0;
+    }
+
+    /**
+     * Builds the contraction hierarchy of a graph.
+     *
+     * @param graph The loaded graph
+     * @return The contraction hierarchy, or null if the graph has negative edge weights
+     */
+    private ContractionHierarchy contract(CsrGraph graph) {
+        long start = System.nanoTime();
+        ContractionHierarchy hierarchy;
+        try {
+            hierarchy = new ContractionHierarchyBuilder(graph).build();
+        } catch (IllegalArgumentException e) {
+            log.println(e.getMessage());
+            return null;
+        }
+        log.printf("Contracted %d vertices with %d shortcuts in %.1f ms%n", hierarchy.vertexCount(),
+                hierarchy.shortcutCount(), (System.nanoTime() - start) / NANOS_PER_MILLI);
+        return hierarchy;
+    }
+
+    /**
+     * Computes the eccentricities of the given sources from the rows of a complete distance matrix.
+     *
+     * @param matrix  The distance matrix with one row per vertex
+     * @param sources The source vertices
+     * @return The eccentricities of the sources
+     */
+    private static Eccentricities eccentricities(DistanceMatrix matrix, int[] sources) {
+        int[] eccentricities = new int[sources.length];
+        int[] reachable = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            for (int vertex = 0; vertex < matrix.vertexCount(); vertex++) {
+                int distance = matrix.distance(sources[i], vertex);
+                if (distance != ShortestPaths.UNREACHABLE) {
+                    eccentricities[i] = Math.max(eccentricities[i], distance);
+                    reachable[i]++;
+                }
+            }
+        }
+        return new Eccentricities(sources, eccentricities, reachable);
+    }
+
+    /**
+     * Loads the graph from a binary snapshot or a text file.
+     *
+     * @param options The parsed options
+     * @return The loaded graph, with labels, positions and hierarchy if it was loaded from a snapshot
+     * @throws IOException If the graph cannot be read
+     */
+    private GraphSnapshot loadGraph(BatchOptions options) throws IOException {
+        if (options.format() == GraphFormat.SNAPSHOT) {
+            return new GraphSnapshotReader().read(options.graph());
+        }
+        return new GraphSnapshot(new MappedGraphReader().read(options.graph(), options.format()));
+    }
+
+    /**
+     * Resolves and validates the source vertices.
+     *
+     * @param options The parsed options
+     * @param graph   The loaded graph
+     * @return The source vertices, or null if a source is not a vertex of the graph
+     */
+    private int[] resolveSources(BatchOptions options, CsrGraph graph) {
+        if (options.algorithm() != null && !options.algorithm().isSourceDependent()) {
+            return new int[]{options.sources() == null ? 0 : options.sources()[0]};
+        }
+        if (options.sources() == null) {
+            int[] all = new int[graph.vertexCount()];
+            for (int vertex = 0; vertex < all.length; vertex++) {
+                all[vertex] = vertex;
+            }
+            return all;
+        }
+        return checkVertices(options.sources(), graph, "Source") ? options.sources() : null;
+    }
+
+    /**
+     * Checks that the given vertices are in the graph.
+     *
+     * @param vertices The vertices
+     * @param graph    The loaded graph
+     * @param role     The role of the vertices for the error message, e.g. "Source"
+     * @return True if all vertices are in the graph
+     */
+    private boolean checkVertices(int[] vertices, CsrGraph graph, String role) {
+        for (int vertex : vertices) {
+            if (vertex < 0 || vertex >= graph.vertexCount()) {
+                log.printf("%s vertex %d is not in the graph (0..%d)%n", role, vertex, graph.vertexCount() - 1);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Opens the output file, or wraps stdout without closing it.
+     *
+     * @param options The parsed options
+     * @return The writer for the results
+     * @throws IOException If the output file cannot be opened
+     */
+    private Writer openOutput(BatchOptions options) throws IOException {
+        if (options.output() != null) {
+            return Files.newBufferedWriter(options.output(), StandardCharsets.UTF_8);
+        }
+        return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.dankoller.batch;
+
+/**
+ * An algorithm bound to a graph which can be run repeatedly from different sources.
+ */
+@FunctionalInterface
+public interface BatchTask {
+    /**
+     * Runs the algorithm from the given source and appends the formatted result to the line.
+     *
+     * @param source The vertex to start from
+     * @param line   The line to append the result to
+     */
+    void run(int source, StringBuilder line);
+}
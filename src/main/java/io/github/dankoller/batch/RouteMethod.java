@@ -0,0 +1,73 @@
+package io.github.dankoller.batch;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The ways the {@link BatchRunner} can find the shortest routes between pairs of vertices.
+ */
+public enum RouteMethod {
+    /**
+     * Dijkstra's algorithm from the source, stopping once the target is settled.
+     */
+    DIJKSTRA("dijkstra"),
+    /**
+     * A* guided by the vertex positions of a snapshot, which are required.
+     */
+    A_STAR("astar"),
+    /**
+     * Dijkstra's algorithm from the source and the target at the same time.
+     */
+    BIDIRECTIONAL_DIJKSTRA("bidijkstra"),
+    /**
+     * Bidirectional A* guided by the vertex positions of a snapshot, which are required.
+     */
+    BIDIRECTIONAL_A_STAR("bi-astar"),
+    /**
+     * Upward searches on the contraction hierarchy of a snapshot, which is built first if the snapshot has none.
+     */
+    CONTRACTION_HIERARCHY("ch");
+
+    private final String name;
+
+    /**
+     * Create a new route method.
+     *
+     * @param name The name used on the command line
+     */
+    RouteMethod(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Find a method by its name, ignoring case.
+     *
+     * @param name The name of the method
+     * @return The method
+     */
+    public static RouteMethod fromName(String name) {
+        return Arrays.stream(values())
+                .filter(method -> method.name.equalsIgnoreCase(name) || method.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown route method '%s', expected one of: %s"
+                        .formatted(name, names())));
+    }
+
+    /**
+     * Get the names of all methods.
+     *
+     * @return The comma separated names
+     */
+    public static String names() {
+        return Arrays.stream(values()).map(RouteMethod::getName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Get the name used on the command line.
+     *
+     * @return The name of the method
+     */
+    public String getName() {
+        return name;
+    }
+}
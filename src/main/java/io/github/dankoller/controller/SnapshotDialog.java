@@ -0,0 +1,88 @@
+package io.github.dankoller.controller;
+
+import io.github.dankoller.graph.io.GraphFormat;
+import io.github.dankoller.graph.io.GraphSnapshot;
+import io.github.dankoller.graph.io.GraphSnapshotReader;
+import io.github.dankoller.graph.io.GraphSnapshotWriter;
+import io.github.dankoller.model.ApplicationModel;
+import io.github.dankoller.view.ApplicationPanel;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class SnapshotDialog {
+    private static final FileNameExtensionFilter SNAPSHOT_FILTER =
+            new FileNameExtensionFilter("Graph snapshots (*%s)".formatted(GraphFormat.SNAPSHOT_EXTENSION),
+                    GraphFormat.SNAPSHOT_EXTENSION.substring(1));
+    private final ApplicationModel applicationModel;
+    private final ApplicationPanel applicationPanel;
+
+    /**
+     * Creates the dialogs to save and open binary graph snapshots.
+     *
+     * @param applicationModel The model of the application
+     * @param applicationPanel The panel displaying the graph
+     */
+    public SnapshotDialog(ApplicationModel applicationModel, ApplicationPanel applicationPanel) {
+        this.applicationModel = applicationModel;
+        this.applicationPanel = applicationPanel;
+    }
+
+    /**
+     * Let the user choose a snapshot file and replace the current graph with its content.
+     */
+    public void open() {
+        JFileChooser chooser = createChooser();
+        if (chooser.showOpenDialog(applicationPanel) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            GraphSnapshot snapshot = new GraphSnapshotReader().read(chooser.getSelectedFile().toPath());
+            applicationModel.requestResetGraph();
+            applicationPanel.loadSnapshot(snapshot);
+        } catch (IOException e) {
+            showError("Could not open the snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Let the user choose a file and save the current graph as a snapshot.
+     */
+    public void save() {
+        JFileChooser chooser = createChooser();
+        if (chooser.showSaveDialog(applicationPanel) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        if (!file.getFileName().toString().endsWith(GraphFormat.SNAPSHOT_EXTENSION)) {
+            file = file.resolveSibling(file.getFileName() + GraphFormat.SNAPSHOT_EXTENSION);
+        }
+        try {
+            new GraphSnapshotWriter().write(file, applicationModel.getModel().toSnapshot());
+        } catch (IOException e) {
+            showError("Could not save the snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Helper method to create a file chooser for snapshot files.
+     *
+     * @return The file chooser
+     */
+    private static JFileChooser createChooser() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(SNAPSHOT_FILTER);
+        return chooser;
+    }
+
+    /**
+     * Helper method to show an error message.
+     *
+     * @param message The message to show
+     */
+    private void showError(String message) {
+        JOptionPane.showMessageDialog(applicationPanel, message, "Snapshot", JOptionPane.ERROR_MESSAGE);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import io.github.dankoller.graph.algorithm.StepLog;
+
+public class AStarAlgorithm extends PointToPointAlgorithm {
+    /**
+     * Finds the shortest route with A*, which orders the search by the distance from the source plus a lower bound of
+     * the remaining distance.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find the route to
+     * @param log    The log to record the steps of the algorithm to
+     * @return The shortest route
+     */
+    @Override
+    protected ShortestRoute search(CsrGraph graph, int source, int target, StepLog log) {
+        return engine(graph).aStar(source, target, log);
+    }
+}
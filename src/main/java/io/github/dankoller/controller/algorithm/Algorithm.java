@@ -1,18 +1,27 @@
 package io.github.dankoller.controller.algorithm;
 
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.StepLog;
 import io.github.dankoller.model.ApplicationModel;
+import io.github.dankoller.model.GraphModel;
+import io.github.dankoller.model.PlaybackCommand;
 import io.github.dankoller.model.State;
 import io.github.dankoller.view.ApplicationPanel;
-import io.github.dankoller.view.Vertex;
 
+import javax.swing.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 public abstract class Algorithm extends MouseAdapter {
     private ApplicationModel applicationModel;
     private ApplicationPanel applicationPanel;
     private String algorithmResult;
     private final AlgorithmPlayer algorithmPlayer = new AlgorithmPlayer(this);
+    private AlgorithmTask task;
 
     /**
      * Sets the application model for the algorithm.
@@ -26,25 +35,103 @@ public abstract class Algorithm extends MouseAdapter {
     }
 
     /**
-     * Handles mouse clicks on the application panel.
+     * Handles mouse clicks on the application panel and passes the id of the clicked vertex on.
      *
      * @param event The mouse event
      */
     @Override
     public void mouseClicked(MouseEvent event) {
-        applicationPanel.getVertexAt(event.getPoint()).ifPresent(vertex -> {
-            applicationModel.getModel().unselect();
-            applicationModel.switchAlgorithmState(State.RUNNING);
-            performAlgorithm(vertex);
-        });
+        applicationPanel.getVertexAt(event.getPoint())
+                .ifPresent(vertex -> vertexClicked(applicationModel.getModel().getModelVertex(vertex).getId()));
     }
 
     /**
-     * Performs the algorithm on the given vertex. Implement this method to perform the algorithm
+     * Starts the algorithm from the clicked vertex. Override this method to choose more vertices before starting.
      *
-     * @param vertex The vertex to start the algorithm from
+     * @param vertex The id of the clicked vertex
      */
-    protected abstract void performAlgorithm(Vertex vertex);
+    protected void vertexClicked(int vertex) {
+        start(vertex, -1);
+    }
+
+    /**
+     * Starts the algorithm. The algorithm is computed on a background thread; a computation or playback which is still
+     * in progress is cancelled first. If the algorithm has already been run with the same vertices on the unchanged
+     * graph, the cached steps are replayed instead, and if its result has been kept up to date while the graph was
+     * edited, the repaired result is played.
+     *
+     * @param source The id of the vertex to start the algorithm from
+     * @param target The id of the vertex to find a route to, or {@code -1} if the algorithm has no target
+     */
+    protected void start(int source, int target) {
+        GraphModel model = applicationModel.getModel();
+        stopPlaying();
+        model.unselect();
+        applicationModel.switchAlgorithmState(State.RUNNING);
+        ResultCache cache = applicationModel.getResultCache();
+        ResultCache.Result cached = cache.get(model.getModificationCount(), getClass(), source, target);
+        if (cached == null && target < 0) {
+            cached = repairedResult(model, source);
+            if (cached != null) {
+                cache.put(model.getModificationCount(), getClass(), source, target, cached);
+            }
+        }
+        if (cached != null) {
+            setAlgorithmResult(cached.text());
+            algorithmPlayer.play(cached.log());
+            return;
+        }
+        task = new AlgorithmTask(model.getSnapshot(), model.getModificationCount(), source, target);
+        task.execute();
+    }
+
+    /**
+     * Performs the algorithm on the given vertex. Implement this method to perform the algorithm. It is called on a
+     * background thread, so it must not access any Swing component or the graph model; the returned formatter is
+     * called on the Event Dispatch Thread once the computation has finished.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the algorithm result
+     */
+    protected abstract Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log);
+
+    /**
+     * Performs the algorithm between the given vertices. Algorithms with a target override this method; by default,
+     * the target is ignored.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param target The id of the vertex to find a route to, or {@code -1} if the algorithm has no target
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the algorithm result
+     */
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, int target, StepLog log) {
+        return performAlgorithm(graph, source, log);
+    }
+
+    /**
+     * Returns the result of the algorithm from the given vertex if it can be derived from data the graph model keeps up
+     * to date, e.g. shortest paths which are repaired on every edit. It is called on the Event Dispatch Thread when
+     * there is no cached result. By default, no result is derived and the algorithm is computed.
+     *
+     * @param model  The graph model
+     * @param source The id of the vertex to start the algorithm from
+     * @return The result with its recorded steps, or {@code null} to compute the algorithm
+     */
+    protected ResultCache.Result repairedResult(GraphModel model, int source) {
+        return null;
+    }
+
+    /**
+     * Called on the Event Dispatch Thread when the algorithm has finished on a snapshot of the current graph, i.e. the
+     * graph has not been modified during the computation. Does nothing by default.
+     *
+     * @param result The formatter returned by {@link #performAlgorithm(CsrGraph, int, int, StepLog)}
+     */
+    protected void completed(Supplier<String> result) {
+    }
 
     /**
      * Propagates the result of the algorithm to the application model.
@@ -54,12 +141,23 @@ public abstract class Algorithm extends MouseAdapter {
     }
 
     /**
-     * Stops the algorithm player.
+     * Stops the algorithm player and cancels a computation which is still running.
      */
     public void stopPlaying() {
-        if (algorithmPlayer.timer != null) {
-            algorithmPlayer.timer.stop();
+        if (task != null) {
+            task.cancel();
+            task = null;
         }
+        algorithmPlayer.stop();
+    }
+
+    /**
+     * Controls the playback of the algorithm, e.g. pauses it or steps through it.
+     *
+     * @param command The playback command
+     */
+    public void controlPlayback(PlaybackCommand command) {
+        algorithmPlayer.control(command);
     }
 
     /**
@@ -97,4 +195,90 @@ public abstract class Algorithm extends MouseAdapter {
     protected AlgorithmPlayer getPlayer() {
         return algorithmPlayer;
     }
+
+    /**
+     * Computes the algorithm on a background thread and hands the recorded steps to the player on the Event Dispatch
+     * Thread. The progress is published at every checkpoint of the step log.
+     */
+    private class AlgorithmTask extends SwingWorker<Supplier<String>, Integer> {
+        private final CsrGraph graph;
+        private final long modificationCount;
+        private final int source;
+        private final int target;
+        private final StepLog log = new StepLog();
+
+        /**
+         * Creates a new task to compute the algorithm.
+         *
+         * @param graph             The snapshot of the graph
+         * @param modificationCount The modification count of the graph the snapshot has been taken from
+         * @param source            The id of the vertex to start the algorithm from
+         * @param target            The id of the vertex to find a route to, or {@code -1}
+         */
+        AlgorithmTask(CsrGraph graph, long modificationCount, int source, int target) {
+            this.graph = graph;
+            this.modificationCount = modificationCount;
+            this.source = source;
+            this.target = target;
+            log.setProgressListener(this::publish);
+        }
+
+        /**
+         * Cancels the computation at the next checkpoint of the step log.
+         */
+        void cancel() {
+            log.cancel();
+            cancel(false);
+        }
+
+        /**
+         * Runs the algorithm on the background thread.
+         *
+         * @return The formatter of the algorithm result
+         */
+        @Override
+        protected Supplier<String> doInBackground() {
+            return performAlgorithm(graph, source, target, log);
+        }
+
+        /**
+         * Shows the latest progress on the Event Dispatch Thread.
+         *
+         * @param steps The published step counts
+         */
+        @Override
+        protected void process(List<Integer> steps) {
+            if (!isCancelled()) {
+                applicationModel.propagateAlgorithmProgress(steps.get(steps.size() - 1));
+            }
+        }
+
+        /**
+         * Formats the result, adds it to the result cache unless the graph has been modified in the meantime and starts
+         * the playback on the Event Dispatch Thread.
+         */
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            task = null;
+            try {
+                setAlgorithmResult(get().get());
+                if (applicationModel.getModel().getModificationCount() == modificationCount) {
+                    completed(get());
+                    applicationModel.getResultCache().put(modificationCount, Algorithm.this.getClass(), source,
+                            target, new ResultCache.Result(algorithmResult, log));
+                }
+                algorithmPlayer.play(log);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof CancellationException)) {
+                    setAlgorithmResult("Algorithm failed: " + e.getCause().getMessage());
+                    propagateResult();
+                }
+            }
+        }
+    }
 }
@@ -1,20 +1,30 @@
 package io.github.dankoller.controller.algorithm;
 
-import io.github.dankoller.model.EdgeModel;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.algorithm.StepType;
+import io.github.dankoller.model.GraphModel;
+import io.github.dankoller.model.PlaybackCommand;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Queue;
 
 /**
- * This class is used to play the animation of the algorithm
+ * This class is used to play the animation of the algorithm. The algorithm runs once and records its steps to a
+ * {@link StepLog}; the player only replays this log. Every vertex and edge keeps a counter of the played steps which
+ * highlight it, so steps can be undone one by one and the player can seek to any position of the log.
  */
 public class AlgorithmPlayer implements ActionListener {
     private static final int DELAY = 700; // ms
-    protected Timer timer;
-    private Queue<EdgeModel> playQueue;
+    private static final int MIN_DELAY = 25; // ms
+    private static final int MAX_DELAY = 5600; // ms
+    private final Timer timer = new Timer(DELAY, this);
     private final Algorithm algorithm;
+    private StepLog log;
+    private int position;
+    private int[] vertexHighlights;
+    private int[] edgeHighlights;
+    private boolean finished;
 
     /**
      * Creates a new AlgorithmPlayer to visualize the given algorithm.
@@ -26,29 +36,181 @@ public class AlgorithmPlayer implements ActionListener {
     }
 
     /**
-     * Plays the animation of the algorithm on the graph.
+     * Plays the recorded steps of the algorithm on the graph. The first step is shown immediately.
      *
-     * @param playQueue The queue of edges to play
+     * @param log The steps to play
      */
-    protected void play(Queue<EdgeModel> playQueue) {
-        this.playQueue = playQueue;
-        timer = new Timer(DELAY, this);
-        timer.start();
+    protected void play(StepLog log) {
+        timer.stop();
+        this.log = log;
+        position = 0;
+        finished = false;
+        vertexHighlights = new int[log.maxVertex() + 1];
+        edgeHighlights = new int[log.maxEdge() + 1];
+        stepForward();
+        if (!finished) {
+            timer.start();
+        }
     }
 
     /**
-     * Upon receiving an event, the next edge in the queue is selected. If the queue is empty, the timer is stopped
-     * and the algorithm is finished.
+     * Upon receiving an event, the next visible step of the log is played. If the end of the log is reached, the
+     * timer is stopped and the algorithm is finished.
      *
      * @param e The event to be processed
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (playQueue.isEmpty()) {
-            timer.stop();
+        stepForward();
+    }
+
+    /**
+     * Applies a playback command. Stepping and seeking pause the playback.
+     *
+     * @param command The command to apply
+     */
+    public void control(PlaybackCommand command) {
+        if (log == null) {
+            return;
+        }
+        switch (command) {
+            case PAUSE_RESUME -> {
+                if (timer.isRunning()) {
+                    timer.stop();
+                } else if (position < log.size()) {
+                    timer.start();
+                }
+            }
+            case STEP_FORWARD -> {
+                timer.stop();
+                stepForward();
+            }
+            case STEP_BACK -> {
+                timer.stop();
+                stepBack();
+            }
+            case FASTER -> timer.setDelay(Math.max(MIN_DELAY, timer.getDelay() / 2));
+            case SLOWER -> timer.setDelay(Math.min(MAX_DELAY, timer.getDelay() * 2));
+            case SEEK_START -> seek(0);
+            case SEEK_END -> seek(log.size());
+        }
+    }
+
+    /**
+     * Stops the playback.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Plays steps until the highlighting of the graph changes or the end of the log is reached.
+     */
+    private void stepForward() {
+        while (position < log.size()) {
+            int step = position++;
+            if (apply(step, 1)) {
+                show(step);
+                break;
+            }
+        }
+        finishIfDone();
+    }
+
+    /**
+     * Undoes steps until the highlighting of the graph changes or the start of the log is reached.
+     */
+    private void stepBack() {
+        while (position > 0) {
+            int step = --position;
+            if (apply(step, -1)) {
+                show(step);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Jumps to the given position of the log without showing the steps in between. The playback is paused.
+     *
+     * @param target The number of steps which should have been played
+     */
+    private void seek(int target) {
+        timer.stop();
+        while (position < target) {
+            apply(position++, 1);
+        }
+        while (position > target) {
+            apply(--position, -1);
+        }
+        GraphModel model = algorithm.getApplicationModel().getModel();
+        for (int vertex = 0; vertex < vertexHighlights.length; vertex++) {
+            model.setVertexSelected(vertex, vertexHighlights[vertex] > 0);
+        }
+        for (int edge = 0; edge < edgeHighlights.length; edge++) {
+            model.setEdgeSelected(edge, edgeHighlights[edge] > 0);
+        }
+        finishIfDone();
+    }
+
+    /**
+     * Stops the timer once the end of the log is reached and propagates the result the first time.
+     */
+    private void finishIfDone() {
+        if (position < log.size()) {
+            return;
+        }
+        timer.stop();
+        if (!finished) {
+            finished = true;
             algorithm.propagateResult();
-        } else {
-            algorithm.getApplicationModel().getModel().selectEdgeAndNeighborVertex(playQueue.remove());
+        }
+    }
+
+    /**
+     * Plays or undoes a step by updating the highlight counters of its vertex and edge.
+     *
+     * @param step  The index of the step
+     * @param delta 1 to play the step, -1 to undo it
+     * @return True if the highlighting of the graph changes
+     */
+    private boolean apply(int step, int delta) {
+        StepType type = log.type(step);
+        if (!type.isHighlighted()) {
+            return false;
+        }
+        boolean changed = highlight(vertexHighlights, log.vertex(step), delta);
+        if (type == StepType.TREE_EDGE) {
+            changed |= highlight(edgeHighlights, log.edge(step), delta);
+        }
+        return changed;
+    }
+
+    /**
+     * Updates a highlight counter.
+     *
+     * @param highlights The highlight counters
+     * @param id         The id of the vertex or edge
+     * @param delta      1 to add a highlight, -1 to remove it
+     * @return True if the vertex or edge becomes highlighted or loses its highlight
+     */
+    private static boolean highlight(int[] highlights, int id, int delta) {
+        int before = highlights[id];
+        highlights[id] += delta;
+        return before == 0 || highlights[id] == 0;
+    }
+
+    /**
+     * Shows the highlighting of the vertex and edge of a step on the graph.
+     *
+     * @param step The index of the step
+     */
+    private void show(int step) {
+        GraphModel model = algorithm.getApplicationModel().getModel();
+        int vertex = log.vertex(step);
+        model.setVertexSelected(vertex, vertexHighlights[vertex] > 0);
+        if (log.type(step) == StepType.TREE_EDGE) {
+            model.setEdgeSelected(log.edge(step), edgeHighlights[log.edge(step)] > 0);
         }
     }
 }
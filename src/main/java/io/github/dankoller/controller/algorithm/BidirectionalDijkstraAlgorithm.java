@@ -0,0 +1,21 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import io.github.dankoller.graph.algorithm.StepLog;
+
+public class BidirectionalDijkstraAlgorithm extends PointToPointAlgorithm {
+    /**
+     * Finds the shortest route with bidirectional Dijkstra, which searches from both vertices until the searches meet.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find the route to
+     * @param log    The log to record the steps of the algorithm to
+     * @return The shortest route
+     */
+    @Override
+    protected ShortestRoute search(CsrGraph graph, int source, int target, StepLog log) {
+        return engine(graph).bidirectionalDijkstra(source, target, log);
+    }
+}
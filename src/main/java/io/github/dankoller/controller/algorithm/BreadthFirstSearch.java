@@ -1,30 +1,24 @@
 package io.github.dankoller.controller.algorithm;
 
-import io.github.dankoller.model.EdgeModel;
-import io.github.dankoller.model.VertexModel;
-import io.github.dankoller.view.Vertex;
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.BreadthFirstTraversal;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.algorithm.Traversal;
 
-import java.util.Queue;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 public class BreadthFirstSearch extends Algorithm {
     /**
      * Performs the Breadth First Search algorithm on the given vertex.
      *
-     * @param vertex The vertex to start the algorithm from
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the visiting order
      */
     @Override
-    public void performAlgorithm(Vertex vertex) {
-        Queue<EdgeModel> traversal = getApplicationModel().getModel().breadthFirstSearch(vertex);
-        String result = String.format("BFS : %s", vertex.getLabel());
-        if (!traversal.isEmpty()) {
-            result += " -> " + traversal.stream()
-                    .map(EdgeModel::end)
-                    .map(VertexModel::getVertex)
-                    .map(Vertex::getLabel)
-                    .collect(Collectors.joining(" -> "));
-        }
-        setAlgorithmResult(result);
-        getPlayer().play(traversal);
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        Traversal traversal = new BreadthFirstTraversal(graph).run(source, log);
+        return () -> DepthFirstSearch.traversalRoute("BFS", getApplicationModel().getModel(), traversal);
     }
 }
@@ -0,0 +1,73 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyBuilder;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyQuery;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.model.GraphModel;
+
+import java.util.function.Supplier;
+
+public class ContractionHierarchyAlgorithm extends PointToPointAlgorithm {
+    private volatile Preprocessed preprocessed;
+
+    /**
+     * Takes the contraction hierarchy the graph model keeps for the current graph, if any, before the query starts.
+     *
+     * @param source The id of the vertex to start the algorithm from
+     * @param target The id of the vertex to find a route to
+     */
+    @Override
+    protected void start(int source, int target) {
+        GraphModel model = getApplicationModel().getModel();
+        CsrGraph graph = model.getSnapshot();
+        model.getContractionHierarchy().ifPresent(hierarchy -> preprocessed = new Preprocessed(graph, hierarchy));
+        super.start(source, target);
+    }
+
+    /**
+     * Finds the shortest route on a contraction hierarchy, which only searches upwards from both vertices. The
+     * hierarchy is built on the first query unless the graph model already has one, and reused until the graph
+     * changes.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find the route to
+     * @param log    The log to record the steps of the algorithm to
+     * @return The shortest route
+     */
+    @Override
+    protected ShortestRoute search(CsrGraph graph, int source, int target, StepLog log) {
+        Preprocessed current = preprocessed;
+        if (current == null || current.graph() != graph) {
+            current = new Preprocessed(graph, new ContractionHierarchyBuilder(graph).build(log));
+            preprocessed = current;
+        }
+        return new ContractionHierarchyQuery(current.hierarchy()).route(source, target, log);
+    }
+
+    /**
+     * Hands the hierarchy to the graph model, so later queries and saved snapshots can use it.
+     *
+     * @param result The formatter of the route
+     */
+    @Override
+    protected void completed(Supplier<String> result) {
+        GraphModel model = getApplicationModel().getModel();
+        Preprocessed current = preprocessed;
+        if (current != null && current.graph() == model.getSnapshot()) {
+            model.setContractionHierarchy(current.hierarchy());
+        }
+    }
+
+    /**
+     * The contraction hierarchy of a snapshot of the graph.
+     *
+     * @param graph     The snapshot the hierarchy has been built from
+     * @param hierarchy The contraction hierarchy
+     */
+    private record Preprocessed(CsrGraph graph, ContractionHierarchy hierarchy) {
+    }
+}
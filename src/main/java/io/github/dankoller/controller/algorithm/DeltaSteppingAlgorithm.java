@@ -0,0 +1,25 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DeltaSteppingShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.StepLog;
+
+import java.util.function.Supplier;
+
+public class DeltaSteppingAlgorithm extends Algorithm {
+    /**
+     * Performs the parallel delta-stepping search on the given vertex and records the shortest path tree bucket by
+     * bucket.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the route lengths
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        ShortestPaths paths = new DeltaSteppingShortestPaths(graph).run(source, log);
+        return () -> DijskstraAlgorithm.dijkstraRoute(getApplicationModel().getModel(), paths);
+    }
+}
@@ -1,30 +1,41 @@
 package io.github.dankoller.controller.algorithm;
 
-import io.github.dankoller.model.EdgeModel;
-import io.github.dankoller.model.VertexModel;
-import io.github.dankoller.view.Vertex;
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DepthFirstTraversal;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.algorithm.Traversal;
+import io.github.dankoller.model.GraphModel;
 
-import java.util.Queue;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DepthFirstSearch extends Algorithm {
     /**
      * Performs the Depth First Search algorithm on the given vertex.
      *
-     * @param vertex The vertex to start the algorithm from
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the visiting order
      */
     @Override
-    public void performAlgorithm(Vertex vertex) {
-        Queue<EdgeModel> traversal = getApplicationModel().getModel().depthFirstSearch(vertex);
-        String result = String.format("DFS : %s", vertex.getLabel());
-        if (!traversal.isEmpty()) {
-            result += " -> " + traversal.stream()
-                    .map(EdgeModel::end)
-                    .map(VertexModel::getVertex)
-                    .map(Vertex::getLabel)
-                    .collect(Collectors.joining(" -> "));
-        }
-        setAlgorithmResult(result);
-        getPlayer().play(traversal);
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        Traversal traversal = new DepthFirstTraversal(graph).run(source, log);
+        return () -> traversalRoute("DFS", getApplicationModel().getModel(), traversal);
+    }
+
+    /**
+     * Formats the visiting order of a traversal, e.g. {@code DFS : A -> B -> C}.
+     *
+     * @param name      The short name of the traversal
+     * @param model     The graph model to look up the vertex labels
+     * @param traversal The traversal
+     * @return The route as a string
+     */
+    static String traversalRoute(String name, GraphModel model, Traversal traversal) {
+        return IntStream.of(traversal.order())
+                .mapToObj(id -> model.getModelVertex(id).getVertex().getLabel())
+                .collect(Collectors.joining(" -> ", name + " : ", ""));
     }
 }
@@ -1,86 +1,113 @@
 package io.github.dankoller.controller.algorithm;
 
-import io.github.dankoller.model.EdgeModel;
-import io.github.dankoller.model.VertexModel;
-import io.github.dankoller.model.VertexAndRouteModel;
-import io.github.dankoller.view.Vertex;
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DijkstraShortestPaths;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.algorithm.StepType;
+import io.github.dankoller.model.GraphModel;
 
-import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DijskstraAlgorithm extends Algorithm {
-    private final PriorityQueue<VertexAndRouteModel> vertexQueue =
-            new PriorityQueue<>(Comparator.comparingInt(VertexAndRouteModel::routeLength));
-    private final Set<VertexModel> visitedNodes = new HashSet<>();
-    private final Map<VertexModel, Integer> routeLengths = new HashMap<>();
+    /**
+     * Performs the Dijkstra algorithm on the given vertex and records the growth of the shortest path tree. The graph
+     * model keeps the result up to date while the graph is edited, so running the algorithm again from the same vertex
+     * only replays the repaired result.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the route lengths
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        ShortestPaths paths = new DijkstraShortestPaths(graph).run(source, log);
+        return new Route(getApplicationModel().getModel(), paths, hasNegativeWeight(graph));
+    }
 
     /**
-     * Resets the collections (vertices, visited nodes, route lengths) to their initial state.
+     * Lets the graph model track the computed shortest paths, unless the graph has a negative weight and the paths are
+     * not shortest paths in the first place.
+     *
+     * @param result The formatter of the route lengths
      */
-    private void resetCollections() {
-        vertexQueue.clear();
-        visitedNodes.clear();
-        routeLengths.clear();
+    @Override
+    protected void completed(Supplier<String> result) {
+        if (result instanceof Route route && !route.negativeWeight()) {
+            route.model().trackShortestPaths(route.paths());
+        }
     }
 
     /**
-     * Performs the Dijkstra algorithm on the given vertex.
+     * Formats the shortest paths the graph model has kept up to date and records them as if they had been computed
+     * again, without the relaxations.
      *
-     * @param vertex The vertex to start the algorithm from
+     * @param model  The graph model
+     * @param source The id of the vertex to start the algorithm from
+     * @return The repaired result, or {@code null} if the graph model does not track the paths from the vertex
      */
     @Override
-    public void performAlgorithm(Vertex vertex) {
-        resetCollections();
-        setAlgorithmResult(dijkstraRoute(vertex));
-        getPlayer().play(new ArrayDeque<>());
+    protected ResultCache.Result repairedResult(GraphModel model, int source) {
+        return model.getTrackedShortestPaths(source).map(paths -> {
+            StepLog log = new StepLog();
+            for (int vertex : paths.settled()) {
+                if (vertex != source) {
+                    log.record(StepType.TREE_EDGE, vertex, paths.predecessorEdges()[vertex], paths.distance(vertex));
+                }
+                log.record(StepType.FINALIZE, vertex, -1, paths.distance(vertex));
+            }
+            return new ResultCache.Result(dijkstraRoute(model, paths), log);
+        }).orElse(null);
     }
 
     /**
-     * Calculates the route for the Dijkstra algorithm.
+     * The formatter of the route lengths which keeps the shortest paths for {@link #completed(Supplier)}.
      *
-     * @param vertex The vertex to start the algorithm from
-     * @return The route as a string
+     * @param model          The graph model to look up the vertex labels
+     * @param paths          The shortest paths from the start vertex
+     * @param negativeWeight Whether the graph has an edge with a negative weight
      */
-    private String dijkstraRoute(Vertex vertex) {
-        var startVertex = getApplicationModel().getModel().getModelVertex(vertex);
-        vertexQueue.offer(new VertexAndRouteModel(startVertex, 0));
-        routeLengths.put(startVertex, 0);
-        while (!vertexQueue.isEmpty()) {
-            VertexModel currentVertex = vertexQueue.poll().vertex();
-            findNextUnvisitedNode(currentVertex);
-            visitedNodes.add(currentVertex);
+    private record Route(GraphModel model, ShortestPaths paths, boolean negativeWeight) implements Supplier<String> {
+        /**
+         * Formats the route lengths.
+         *
+         * @return The route as a string
+         */
+        @Override
+        public String get() {
+            return dijkstraRoute(model, paths);
         }
-        return routeLengths.entrySet().stream().filter(entry -> entry.getValue() > 0)
-                .map(entry -> "%s=%d".formatted(entry.getKey().getVertex().getLabel(), entry.getValue()))
-                .sorted()
-                .collect(Collectors.joining(", "));
     }
 
     /**
-     * Searches for the next unvisited node and updates the route lengths.
+     * Checks whether a graph has an edge with a negative weight.
      *
-     * @param vertex The vertex to search from
+     * @param graph The graph
+     * @return True if any weight is negative
      */
-    private void findNextUnvisitedNode(VertexModel vertex) {
-        vertex.getEdges().stream()
-                .filter(edge -> !visitedNodes.contains(edge.end()))
-                .forEach(edge -> dijkstraUpdateNeighbor(vertex, edge, Integer.parseInt(edge.weightLabel().getText())));
+    private static boolean hasNegativeWeight(CsrGraph graph) {
+        for (int arc = 0; arc < graph.arcCount(); arc++) {
+            if (graph.weight(arc) < 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Updates the route length for the given neighbor according to the Dijkstra algorithm.
+     * Formats the route lengths of the Dijkstra algorithm.
      *
-     * @param vertex         The vertex to search from
-     * @param edgeToNeighbor The edge to the neighbor
-     * @param edgeWeight     The weight of the edge
+     * @param model The graph model to look up the vertex labels
+     * @param paths The shortest paths from the start vertex
+     * @return The route as a string
      */
-    private void dijkstraUpdateNeighbor(VertexModel vertex, EdgeModel edgeToNeighbor, int edgeWeight) {
-        int lengthOnThisRoute = routeLengths.get(vertex) + edgeWeight;
-        VertexModel neighbor = edgeToNeighbor.end();
-        int lengthSoFar = Optional.ofNullable(routeLengths.get(neighbor)).orElse(Integer.MAX_VALUE);
-        if (lengthOnThisRoute < lengthSoFar) {
-            vertexQueue.offer(new VertexAndRouteModel(neighbor, lengthOnThisRoute));
-            routeLengths.put(neighbor, lengthOnThisRoute);
-        }
+    static String dijkstraRoute(GraphModel model, ShortestPaths paths) {
+        return IntStream.of(paths.settled()).filter(id -> paths.distance(id) > 0)
+                .mapToObj(id -> "%s=%d".formatted(model.getModelVertex(id).getVertex().getLabel(), paths.distance(id)))
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 }
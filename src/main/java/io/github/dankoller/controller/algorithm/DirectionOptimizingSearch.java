@@ -0,0 +1,25 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.DirectionOptimizingTraversal;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.algorithm.Traversal;
+
+import java.util.function.Supplier;
+
+public class DirectionOptimizingSearch extends Algorithm {
+    /**
+     * Performs the direction optimizing Breadth First Search on the given vertex. The steps are recorded level by
+     * level.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the visiting order
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        Traversal traversal = new DirectionOptimizingTraversal(graph).run(source, log);
+        return () -> DepthFirstSearch.traversalRoute("DO-BFS", getApplicationModel().getModel(), traversal);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.KruskalMinimumSpanningTree;
+import io.github.dankoller.graph.algorithm.SpanningForest;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.model.GraphModel;
+
+import java.util.function.Supplier;
+
+public class KruskalAlgorithm extends Algorithm {
+    /**
+     * Performs the Kruskal algorithm. The selected vertex is ignored since Kruskal spans the whole graph. The graph
+     * model keeps the result up to date while the graph is edited, so running the algorithm again only replays the
+     * updated forest.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the selected vertex
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the spanning forest
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        SpanningForest forest = new KruskalMinimumSpanningTree(graph).run(log);
+        return new PrimAlgorithm.ForestRoute(getApplicationModel().getModel(), forest);
+    }
+
+    /**
+     * Lets the graph model track the computed spanning forest.
+     *
+     * @param result The formatter of the spanning forest
+     */
+    @Override
+    protected void completed(Supplier<String> result) {
+        PrimAlgorithm.trackForest(result);
+    }
+
+    /**
+     * Formats the spanning forest the graph model has kept up to date. Its trees are recorded one after the other
+     * instead of in the order of their edge weights.
+     *
+     * @param model  The graph model
+     * @param source The id of the selected vertex
+     * @return The updated result, or {@code null} if the graph model does not track a forest
+     */
+    @Override
+    protected ResultCache.Result repairedResult(GraphModel model, int source) {
+        return PrimAlgorithm.repairedForest(model, source);
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.PointToPointShortestPath;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.model.GraphModel;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A shortest route query between two vertices. The first click chooses the source and the second click the target;
+ * the search is guided by the positions of the vertices on the canvas.
+ */
+public abstract class PointToPointAlgorithm extends Algorithm {
+    private int source = -1;
+    private float[] xs;
+    private float[] ys;
+
+    /**
+     * Remembers the first clicked vertex as the source and starts the query once the target has been clicked.
+     *
+     * @param vertex The id of the clicked vertex
+     */
+    @Override
+    protected void vertexClicked(int vertex) {
+        GraphModel model = getApplicationModel().getModel();
+        if (source < 0) {
+            stopPlaying();
+            model.unselect();
+            model.setVertexSelected(vertex, true);
+            source = vertex;
+            getApplicationModel().propagateVertexPrompt("Please choose a target vertex");
+            return;
+        }
+        xs = model.getVertexXs();
+        ys = model.getVertexYs();
+        int from = source;
+        source = -1;
+        start(from, vertex);
+    }
+
+    /**
+     * Finds the route from the given vertex to itself. Queries always have a target, so this method is only a fallback.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the route
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        return performAlgorithm(graph, source, source, log);
+    }
+
+    /**
+     * Finds the shortest route between the given vertices, recording the settled vertices followed by the edges of
+     * the route.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param target The id of the vertex to find the route to
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the route
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, int target, StepLog log) {
+        ShortestRoute route = search(graph, source, target, log);
+        return () -> formatRoute(getApplicationModel().getModel(), route);
+    }
+
+    /**
+     * Runs the query on the given snapshot.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find the route to
+     * @param log    The log to record the steps of the algorithm to
+     * @return The shortest route
+     */
+    protected abstract ShortestRoute search(CsrGraph graph, int source, int target, StepLog log);
+
+    /**
+     * Creates a query engine guided by the positions of the vertices when the target was chosen.
+     *
+     * @param graph The snapshot of the graph
+     * @return The engine bound to the snapshot and the vertex positions
+     */
+    protected PointToPointShortestPath engine(CsrGraph graph) {
+        return new PointToPointShortestPath(graph, xs, ys);
+    }
+
+    /**
+     * Formats the vertices and the length of a route and the number of vertices the query has settled.
+     *
+     * @param model The graph model to look up the vertex labels
+     * @param route The shortest route
+     * @return The route as a string
+     */
+    private static String formatRoute(GraphModel model, ShortestRoute route) {
+        if (!route.isReachable()) {
+            return "No route from %s to %s (%,d settled)".formatted(model.getVertexLabel(route.source()),
+                    model.getVertexLabel(route.target()), route.settled());
+        }
+        return "%s = %d (%,d settled)".formatted(IntStream.of(route.vertices())
+                .mapToObj(model::getVertexLabel)
+                .collect(Collectors.joining(" -> ")), route.distance(), route.settled());
+    }
+}
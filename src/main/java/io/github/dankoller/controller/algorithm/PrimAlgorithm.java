@@ -1,79 +1,108 @@
 package io.github.dankoller.controller.algorithm;
 
-import io.github.dankoller.model.EdgeModel;
-import io.github.dankoller.model.VertexModel;
-import io.github.dankoller.view.Vertex;
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.PrimMinimumSpanningTree;
+import io.github.dankoller.graph.algorithm.SpanningForest;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.model.GraphModel;
 
-import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class PrimAlgorithm extends Algorithm {
-    private final Set<EdgeModel> currentEdges = new HashSet<>();
-    private final Set<VertexModel> connected = new HashSet<>();
-    private final Queue<EdgeModel> minimumSpanningTree = new ArrayDeque<>();
+    /**
+     * Performs the Prim algorithm on the given vertex. The graph model keeps the result up to date while the graph is
+     * edited, so running the algorithm again only replays the updated forest.
+     *
+     * @param graph  The snapshot of the graph
+     * @param source The id of the vertex to start the algorithm from
+     * @param log    The log to record the steps of the algorithm to
+     * @return The formatter of the spanning forest
+     */
+    @Override
+    protected Supplier<String> performAlgorithm(CsrGraph graph, int source, StepLog log) {
+        SpanningForest forest = new PrimMinimumSpanningTree(graph).run(source, log);
+        return new ForestRoute(getApplicationModel().getModel(), forest);
+    }
 
     /**
-     * Resets the collections (currentEdges, connected, spanningTree) to their initial state.
+     * Lets the graph model track the computed spanning forest.
+     *
+     * @param result The formatter of the spanning forest
      */
-    private void resetCollections() {
-        currentEdges.clear();
-        connected.clear();
-        minimumSpanningTree.clear();
+    @Override
+    protected void completed(Supplier<String> result) {
+        trackForest(result);
     }
 
     /**
-     * Performs the Prim algorithm on the given vertex.
+     * Formats the spanning forest the graph model has kept up to date.
      *
-     * @param vertex The vertex to start the algorithm from
+     * @param model  The graph model
+     * @param source The id of the vertex to start the algorithm from
+     * @return The updated result, or {@code null} if the graph model does not track a forest
      */
     @Override
-    public void performAlgorithm(Vertex vertex) {
-        resetCollections();
-        setAlgorithmResult(primRoute(vertex));
-        getPlayer().play(minimumSpanningTree);
+    protected ResultCache.Result repairedResult(GraphModel model, int source) {
+        return repairedForest(model, source);
     }
 
     /**
-     * Calculates the route for the Prim algorithm.
+     * Lets the graph model track a spanning forest computed by Prim's or Kruskal's algorithm.
      *
-     * @param vertex The vertex to start the algorithm from
-     * @return The route as a string
+     * @param result The formatter of the spanning forest
      */
-    private String primRoute(Vertex vertex) {
-        getApplicationModel().getModel().selectVertex(vertex);
-        var startVertex = getApplicationModel().getModel().getModelVertex(vertex);
-        connect(startVertex);
-        while (!currentEdges.isEmpty()) {
-            var nextEdgeToConnect = findMinimalWeightEdge();
-            minimumSpanningTree.offer(nextEdgeToConnect);
-            connect(nextEdgeToConnect.end());
+    static void trackForest(Supplier<String> result) {
+        if (result instanceof ForestRoute route) {
+            route.model().trackSpanningForest(route.forest());
         }
-        return minimumSpanningTree.stream()
-                .map(edge -> "%s=%s".formatted(edge.end().getVertex().getLabel(),
-                        edge.start().getVertex().getLabel()))
-                .sorted().collect(Collectors.joining(", "));
     }
 
     /**
-     * Helper method to find the edge with the minimal weight.
+     * Formats the spanning forest the graph model has kept up to date and records the growth of its trees, starting
+     * with the tree of the given vertex.
      *
-     * @return The edge with the minimal weight
+     * @param model  The graph model
+     * @param source The id of the vertex whose tree is recorded first
+     * @return The updated result, or {@code null} if the graph model does not track a forest
      */
-    private EdgeModel findMinimalWeightEdge() {
-        return currentEdges.stream()
-                .min(Comparator.comparingInt(edge -> Integer.parseInt(edge.weightLabel().getText())))
-                .orElseThrow(() -> new IllegalStateException("No edge found"));
+    static ResultCache.Result repairedForest(GraphModel model, int source) {
+        StepLog log = new StepLog();
+        return model.getTrackedSpanningForest(source, log)
+                .map(forest -> new ResultCache.Result(forestRoute(model, forest), log))
+                .orElse(null);
     }
 
     /**
-     * Connects the given vertex to the minimum spanning tree.
+     * The formatter of a spanning forest which keeps the forest for {@link #completed(Supplier)}.
      *
-     * @param vertex The vertex to connect
+     * @param model  The graph model to look up the vertex labels
+     * @param forest The spanning forest
      */
-    private void connect(VertexModel vertex) {
-        connected.add(vertex);
-        currentEdges.stream().filter(edge -> edge.end() == vertex).toList().forEach(currentEdges::remove);
-        currentEdges.addAll(vertex.getEdges().stream()
-                .filter(edge -> !connected.contains(edge.end())).toList());
+    record ForestRoute(GraphModel model, SpanningForest forest) implements Supplier<String> {
+        /**
+         * Formats the edges of the spanning forest.
+         *
+         * @return The route as a string
+         */
+        @Override
+        public String get() {
+            return forestRoute(model, forest);
+        }
+    }
+
+    /**
+     * Formats the edges of a spanning forest as {@code target=source} pairs.
+     *
+     * @param model  The graph model to look up the vertex labels
+     * @param forest The spanning forest
+     * @return The route as a string
+     */
+    static String forestRoute(GraphModel model, SpanningForest forest) {
+        return IntStream.range(0, forest.size())
+                .mapToObj(i -> "%s=%s".formatted(model.getModelVertex(forest.targets()[i]).getVertex().getLabel(),
+                        model.getModelVertex(forest.sources()[i]).getVertex().getLabel()))
+                .sorted().collect(Collectors.joining(", "));
     }
 }
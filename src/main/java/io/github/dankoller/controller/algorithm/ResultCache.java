@@ -0,0 +1,188 @@
+package io.github.dankoller.controller.algorithm;
+
+import io.github.dankoller.graph.algorithm.StepLog;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of algorithm results per algorithm, source and target vertex, so starting an algorithm
+ * again with the same vertices on an unchanged graph replays the recorded steps without computing them again. The
+ * cache is bound to the {@link io.github.dankoller.model.GraphModel#getModificationCount() modification count} of the
+ * graph: a lookup or insertion with another count drops all entries. Entries are weighed by the approximate memory of
+ * their step log and result text, and the least recently used ones are evicted once the total exceeds the capacity.
+ * <p>
+ * The cache is only used on the Event Dispatch Thread and is not thread safe.
+ */
+public class ResultCache {
+    /**
+     * The default capacity of 64 MB.
+     */
+    public static final long DEFAULT_CAPACITY = 64L << 20;
+    private static final int BYTES_PER_STEP = 13;
+    private final Map<Key, Result> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long capacity;
+    private long modificationCount = -1;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new cache with the default capacity.
+     */
+    public ResultCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity The maximum total weight of all entries in bytes
+     */
+    public ResultCache(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Looks up the result of an algorithm and counts a hit or a miss.
+     *
+     * @param modificationCount The modification count of the graph
+     * @param algorithm         The class of the algorithm
+     * @param source            The id of the source vertex
+     * @param target            The id of the target vertex, or {@code -1} if the algorithm has no target
+     * @return The cached result, or {@code null} if there is none
+     */
+    public Result get(long modificationCount, Class<? extends Algorithm> algorithm, int source, int target) {
+        invalidateIfModified(modificationCount);
+        Result result = entries.get(new Key(algorithm, source, target));
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * Adds the result of an algorithm. Results which are larger than the whole cache are not added.
+     *
+     * @param modificationCount The modification count of the graph the result has been computed on
+     * @param algorithm         The class of the algorithm
+     * @param source            The id of the source vertex
+     * @param target            The id of the target vertex, or {@code -1} if the algorithm has no target
+     * @param result            The result
+     */
+    public void put(long modificationCount, Class<? extends Algorithm> algorithm, int source, int target,
+                    Result result) {
+        invalidateIfModified(modificationCount);
+        if (result.weight() > capacity) {
+            return;
+        }
+        Result previous = entries.put(new Key(algorithm, source, target), result);
+        weight += result.weight() - (previous == null ? 0 : previous.weight());
+        Iterator<Result> eldest = entries.values().iterator();
+        while (weight > capacity) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops all entries if the graph has been modified since they were added.
+     *
+     * @param modificationCount The current modification count of the graph
+     */
+    private void invalidateIfModified(long modificationCount) {
+        if (this.modificationCount != modificationCount) {
+            this.modificationCount = modificationCount;
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Get the number of lookups which found a result.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of lookups which found no result.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the number of results evicted to stay within the capacity. Results dropped because the graph has been
+     * modified are not counted.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Get the number of cached results.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the approximate memory of all cached results.
+     *
+     * @return The total weight in bytes
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Summarizes the hit rate and the memory of the cache for display.
+     *
+     * @return The statistics of the cache as a string
+     */
+    public String getStatistics() {
+        return "Result cache: %,d hits, %,d misses, %,d evictions, %,d results (%,d KB)"
+                .formatted(hits, misses, evictions, entries.size(), weight >> 10);
+    }
+
+    /**
+     * The cache key of a result.
+     *
+     * @param algorithm The class of the algorithm
+     * @param source    The id of the source vertex
+     * @param target    The id of the target vertex, or {@code -1}
+     */
+    private record Key(Class<? extends Algorithm> algorithm, int source, int target) {
+    }
+
+    /**
+     * A cached algorithm result. The step log must not be modified once it has been cached.
+     *
+     * @param text The formatted result
+     * @param log  The recorded steps
+     */
+    public record Result(String text, StepLog log) {
+        /**
+         * Returns the approximate memory of the result.
+         *
+         * @return The weight in bytes
+         */
+        long weight() {
+            return (long) log.size() * BYTES_PER_STEP + 2L * text.length();
+        }
+    }
+}
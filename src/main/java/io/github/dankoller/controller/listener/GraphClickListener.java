@@ -2,7 +2,6 @@ package io.github.dankoller.controller.listener;
 
 import io.github.dankoller.controller.Dialog;
 import io.github.dankoller.view.ApplicationPanel;
-import io.github.dankoller.view.Edge;
 import io.github.dankoller.view.Vertex;
 
 import java.awt.*;
@@ -50,9 +49,7 @@ public class GraphClickListener extends MouseAdapter {
      * @param event The event to be processed
      */
     private void removeEdgeFromEvent(MouseEvent event) {
-        if (panel.getComponentAt(event.getPoint()) instanceof Edge edge) {
-            panel.removeEdge(edge);
-        }
+        panel.getEdgeAt(event.getPoint()).ifPresent(panel::removeEdge);
     }
 
     /**
@@ -87,7 +84,6 @@ public class GraphClickListener extends MouseAdapter {
             return;
         }
         new Dialog().getLabelFromDialog(panel).ifPresent(weight -> panel.addEdge(weight, from, to));
-        from.deselect();
         panel.setSelectedVertex(null);
     }
 
@@ -97,8 +93,9 @@ public class GraphClickListener extends MouseAdapter {
      * @param event The event to be processed
      */
     private void placeVertexFromEvent(MouseEvent event) {
-        Point point = new Point(event.getX() - CLICK_OFFSET, event.getY() - CLICK_OFFSET);
-        panel.getVertexAt(event.getPoint()).ifPresentOrElse(Vertex::select, () ->
+        Point center = panel.getViewport().toWorld(event.getPoint());
+        Point point = new Point(center.x - CLICK_OFFSET, center.y - CLICK_OFFSET);
+        panel.getVertexAt(event.getPoint()).ifPresentOrElse(panel::setSelectedVertex, () ->
                 new Dialog().getLabelFromDialog(panel).ifPresent(label -> panel.addVertex(label, point)));
     }
 }
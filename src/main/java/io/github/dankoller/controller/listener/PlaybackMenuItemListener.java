@@ -0,0 +1,33 @@
+package io.github.dankoller.controller.listener;
+
+import io.github.dankoller.model.ApplicationModel;
+import io.github.dankoller.model.PlaybackCommand;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+public class PlaybackMenuItemListener implements ActionListener {
+    private final PlaybackCommand command;
+    private final ApplicationModel applicationModel;
+
+    /**
+     * Handles the selection of a playback command in the menu bar.
+     *
+     * @param command          The selected playback command
+     * @param applicationModel The model of the application
+     */
+    public PlaybackMenuItemListener(PlaybackCommand command, ApplicationModel applicationModel) {
+        this.command = command;
+        this.applicationModel = applicationModel;
+    }
+
+    /**
+     * Apply the selected playback command to the running algorithm.
+     *
+     * @param event The event that triggered the action
+     */
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        applicationModel.controlPlayback(command);
+    }
+}
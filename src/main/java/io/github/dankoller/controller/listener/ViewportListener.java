@@ -0,0 +1,59 @@
+package io.github.dankoller.controller.listener;
+
+import io.github.dankoller.view.ApplicationPanel;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+public class ViewportListener extends MouseAdapter {
+    private static final double ZOOM_STEP = 1.1;
+    private final ApplicationPanel panel;
+    private Point dragStart;
+
+    /**
+     * Zooms the graph with the mouse wheel and pans it by dragging the mouse.
+     *
+     * @param panel The ApplicationPanel
+     */
+    public ViewportListener(ApplicationPanel panel) {
+        this.panel = panel;
+    }
+
+    /**
+     * Remember where the mouse has been pressed to start panning.
+     *
+     * @param e The event to be processed
+     */
+    @Override
+    public void mousePressed(MouseEvent e) {
+        dragStart = e.getPoint();
+    }
+
+    /**
+     * Pan the graph by the distance the mouse has been dragged.
+     *
+     * @param e The event to be processed
+     */
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        if (dragStart != null) {
+            panel.getViewport().pan(e.getX() - dragStart.x, e.getY() - dragStart.y);
+            dragStart = e.getPoint();
+            panel.repaint();
+        }
+    }
+
+    /**
+     * Zoom in or out at the mouse position.
+     *
+     * @param e The event to be processed
+     */
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        panel.getViewport().zoom(e.getPoint(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+        panel.repaint();
+    }
+
+}
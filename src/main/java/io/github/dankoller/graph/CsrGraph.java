@@ -0,0 +1,122 @@
+package io.github.dankoller.graph;
+
+/**
+ * Immutable compressed sparse row (CSR) representation of a weighted graph. The outgoing arcs of vertex {@code v} are
+ * stored at the indices {@code firstArc(v)} (inclusive) to {@code endArc(v)} (exclusive) of the target, weight and
+ * edge id arrays. An undirected edge is stored as two arcs that share the same edge id.
+ */
+public final class CsrGraph {
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeIds;
+    private final int edgeCount;
+
+    /**
+     * Creates a new CSR graph from the given arrays. The arrays are not copied.
+     *
+     * @param offsets   The arc offsets per vertex (length is the number of vertices + 1)
+     * @param targets   The target vertex of every arc
+     * @param weights   The weight of every arc
+     * @param edgeIds   The id of the edge every arc belongs to
+     * @param edgeCount The number of distinct edges
+     */
+    public CsrGraph(int[] offsets, int[] targets, int[] weights, int[] edgeIds, int edgeCount) {
+        if (offsets.length == 0 || offsets[offsets.length - 1] != targets.length
+                || targets.length != weights.length || targets.length != edgeIds.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Returns the number of vertices (including unused vertex ids without any arcs).
+     *
+     * @return The number of vertices
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of arcs. An undirected edge counts as two arcs.
+     *
+     * @return The number of arcs
+     */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the number of distinct edges.
+     *
+     * @return The number of edges
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the index of the first outgoing arc of the given vertex.
+     *
+     * @param vertex The vertex
+     * @return The index of the first arc
+     */
+    public int firstArc(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the index after the last outgoing arc of the given vertex.
+     *
+     * @param vertex The vertex
+     * @return The exclusive end index of the arcs
+     */
+    public int endArc(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the number of outgoing arcs of the given vertex.
+     *
+     * @param vertex The vertex
+     * @return The degree of the vertex
+     */
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns the target vertex of the given arc.
+     *
+     * @param arc The arc index
+     * @return The target vertex
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the weight of the given arc.
+     *
+     * @param arc The arc index
+     * @return The weight
+     */
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Returns the id of the edge the given arc belongs to.
+     *
+     * @param arc The arc index
+     * @return The edge id
+     */
+    public int edgeId(int arc) {
+        return edgeIds[arc];
+    }
+}
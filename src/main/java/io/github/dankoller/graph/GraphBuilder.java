@@ -0,0 +1,147 @@
+package io.github.dankoller.graph;
+
+import java.util.Arrays;
+
+/**
+ * Collects undirected weighted edges in primitive arrays and turns them into a {@link CsrGraph}. Unlike
+ * {@link GraphCore} the builder does not maintain incidence lists, so it is the cheapest way to create large graphs
+ * from files. Vertex ids are the integers used when adding edges; the vertex count grows to the highest id + 1.
+ */
+public class GraphBuilder {
+    private static final int INITIAL_CAPACITY = 1024;
+    private int vertexCount;
+    private int edgeCount;
+    private int[] sources;
+    private int[] targets;
+    private int[] weights;
+
+    /**
+     * Creates an empty builder.
+     */
+    public GraphBuilder() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty builder with room for the given number of edges.
+     *
+     * @param expectedEdges The expected number of edges
+     */
+    public GraphBuilder(int expectedEdges) {
+        int capacity = Math.max(expectedEdges, 1);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        weights = new int[capacity];
+    }
+
+    /**
+     * Makes sure the graph has at least the given number of vertices, even if some of them have no edges.
+     *
+     * @param count The minimum number of vertices
+     * @return This builder
+     */
+    public GraphBuilder ensureVertices(int count) {
+        vertexCount = Math.max(vertexCount, count);
+        return this;
+    }
+
+    /**
+     * Makes room for at least the given number of edges in total, e.g. when a file announces its edge count.
+     *
+     * @param count The expected number of edges
+     * @return This builder
+     */
+    public GraphBuilder ensureEdges(int count) {
+        if (count > sources.length) {
+            grow(count);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an undirected edge.
+     *
+     * @param source The first vertex
+     * @param target The second vertex
+     * @param weight The weight of the edge
+     * @return The id of the new edge
+     * @throws IllegalArgumentException If a vertex id is negative or too large for the vertex count to be an int
+     */
+    public int addEdge(int source, int target, int weight) {
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Negative vertex id: %d -> %d".formatted(source, target));
+        }
+        if (source == Integer.MAX_VALUE || target == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Vertex id too large: %d -> %d".formatted(source, target));
+        }
+        if (edgeCount == sources.length) {
+            grow((int) Math.min(Integer.MAX_VALUE - 8L, edgeCount * 2L));
+        }
+        sources[edgeCount] = source;
+        targets[edgeCount] = target;
+        weights[edgeCount] = weight;
+        vertexCount = Math.max(vertexCount, Math.max(source, target) + 1);
+        return edgeCount++;
+    }
+
+    /**
+     * Resizes the edge arrays.
+     *
+     * @param capacity The new number of edges the arrays can hold
+     */
+    private void grow(int capacity) {
+        sources = Arrays.copyOf(sources, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+
+    /**
+     * Returns the current number of vertices.
+     *
+     * @return The number of vertices
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the current number of edges.
+     *
+     * @return The number of edges
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Builds the CSR graph with a counting sort, so the arcs of every vertex are ordered by edge id.
+     *
+     * @return The CSR graph
+     */
+    public CsrGraph build() {
+        int[] offsets = new int[vertexCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            offsets[sources[edge] + 1]++;
+            offsets[targets[edge] + 1]++;
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
+        }
+        int arcs = offsets[vertexCount];
+        int[] arcTargets = new int[arcs];
+        int[] arcWeights = new int[arcs];
+        int[] arcEdges = new int[arcs];
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int from = next[sources[edge]]++;
+            arcTargets[from] = targets[edge];
+            arcWeights[from] = weights[edge];
+            arcEdges[from] = edge;
+            int to = next[targets[edge]]++;
+            arcTargets[to] = sources[edge];
+            arcWeights[to] = weights[edge];
+            arcEdges[to] = edge;
+        }
+        return new CsrGraph(offsets, arcTargets, arcWeights, arcEdges, edgeCount);
+    }
+}
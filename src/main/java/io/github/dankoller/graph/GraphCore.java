@@ -0,0 +1,407 @@
+package io.github.dankoller.graph;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Mutable, headless store of an undirected weighted graph. Vertices and edges are identified by integer ids which stay
+ * valid until they are removed. Algorithms do not work on this store directly but on the {@link CsrGraph} returned by
+ * {@link #snapshot()}, which is rebuilt lazily after the graph has been modified.
+ * <p>
+ * Every edge stores its position in the incidence lists of both of its vertices, so an edge is removed in constant
+ * time by moving the last edge of each list into its place, and a vertex is removed in time proportional to its
+ * degree. The ids of removed vertices and edges are marked as removed and never handed out again; incidence lists are
+ * compacted when most of their space is unused.
+ */
+public class GraphCore implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] NO_EDGES = new int[0];
+
+    private int vertexSlots;
+    private int vertexCount;
+    private final BitSet removedVertices = new BitSet();
+    private int[][] incidence = new int[INITIAL_CAPACITY][];
+    private int[] degrees = new int[INITIAL_CAPACITY];
+
+    private int edgeSlots;
+    private int edgeCount;
+    private final BitSet removedEdges = new BitSet();
+    private int[] sources = new int[INITIAL_CAPACITY];
+    private int[] targets = new int[INITIAL_CAPACITY];
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int[] sourcePositions = new int[INITIAL_CAPACITY];
+    private int[] targetPositions = new int[INITIAL_CAPACITY];
+
+    private transient CsrGraph snapshot;
+
+    /**
+     * Adds a new vertex to the graph.
+     *
+     * @return The id of the new vertex
+     */
+    public int addVertex() {
+        if (vertexSlots == degrees.length) {
+            int capacity = vertexSlots * 2;
+            degrees = Arrays.copyOf(degrees, capacity);
+            incidence = Arrays.copyOf(incidence, capacity);
+        }
+        incidence[vertexSlots] = NO_EDGES;
+        vertexCount++;
+        snapshot = null;
+        return vertexSlots++;
+    }
+
+    /**
+     * Adds an undirected edge between two existing vertices.
+     *
+     * @param source The id of the first vertex
+     * @param target The id of the second vertex
+     * @param weight The weight of the edge
+     * @return The id of the new edge
+     */
+    public int addEdge(int source, int target, int weight) {
+        checkVertex(source);
+        checkVertex(target);
+        if (edgeSlots == sources.length) {
+            int capacity = edgeSlots * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            sourcePositions = Arrays.copyOf(sourcePositions, capacity);
+            targetPositions = Arrays.copyOf(targetPositions, capacity);
+        }
+        int edge = edgeSlots++;
+        sources[edge] = source;
+        targets[edge] = target;
+        weights[edge] = weight;
+        sourcePositions[edge] = attach(source, edge);
+        if (source != target) {
+            targetPositions[edge] = attach(target, edge);
+        }
+        edgeCount++;
+        snapshot = null;
+        return edge;
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * @param edge The id of the edge to remove
+     */
+    public void removeEdge(int edge) {
+        checkEdge(edge);
+        detach(sources[edge], sourcePositions[edge]);
+        if (sources[edge] != targets[edge]) {
+            detach(targets[edge], targetPositions[edge]);
+        }
+        removedEdges.set(edge);
+        edgeCount--;
+        snapshot = null;
+    }
+
+    /**
+     * Removes a vertex and all of its incident edges from the graph.
+     *
+     * @param vertex The id of the vertex to remove
+     * @return The ids of the removed edges
+     */
+    public int[] removeVertex(int vertex) {
+        int[] removed = incidentEdges(vertex);
+        for (int edge : removed) {
+            if (sources[edge] != targets[edge]) {
+                detach(opposite(edge, vertex), sources[edge] == vertex ? targetPositions[edge] : sourcePositions[edge]);
+            }
+            removedEdges.set(edge);
+        }
+        edgeCount -= removed.length;
+        removedVertices.set(vertex);
+        incidence[vertex] = NO_EDGES;
+        degrees[vertex] = 0;
+        vertexCount--;
+        snapshot = null;
+        return removed;
+    }
+
+    /**
+     * Removes all vertices and edges.
+     */
+    public void clear() {
+        vertexSlots = 0;
+        vertexCount = 0;
+        edgeSlots = 0;
+        edgeCount = 0;
+        removedVertices.clear();
+        removedEdges.clear();
+        Arrays.fill(incidence, null);
+        Arrays.fill(degrees, 0);
+        snapshot = null;
+    }
+
+    /**
+     * Returns a copy of the ids of all edges incident to the given vertex. The order changes when edges are removed.
+     *
+     * @param vertex The id of the vertex
+     * @return The incident edge ids
+     */
+    public int[] incidentEdges(int vertex) {
+        checkVertex(vertex);
+        return Arrays.copyOf(incidence[vertex], degrees[vertex]);
+    }
+
+    /**
+     * Returns the number of edges incident to the given vertex. A self loop counts once.
+     *
+     * @param vertex The id of the vertex
+     * @return The degree of the vertex
+     */
+    public int degree(int vertex) {
+        return degrees[vertex];
+    }
+
+    /**
+     * Returns an edge incident to the given vertex without copying the incidence list. The order changes when edges are
+     * removed.
+     *
+     * @param vertex The id of the vertex
+     * @param index  The index of the edge, less than the {@link #degree(int) degree} of the vertex
+     * @return The id of the edge
+     */
+    public int incidentEdge(int vertex, int index) {
+        return incidence[vertex][index];
+    }
+
+    /**
+     * Returns the endpoint of the edge which is not the given vertex.
+     *
+     * @param edge   The id of the edge
+     * @param vertex The id of one endpoint
+     * @return The id of the other endpoint
+     */
+    public int opposite(int edge, int vertex) {
+        return sources[edge] == vertex ? targets[edge] : sources[edge];
+    }
+
+    /**
+     * Returns the first endpoint of the given edge. The endpoints and the weight of a removed edge can still be read
+     * until the graph is cleared.
+     *
+     * @param edge The id of the edge
+     * @return The id of the vertex the edge was added from
+     */
+    public int source(int edge) {
+        return sources[edge];
+    }
+
+    /**
+     * Returns the second endpoint of the given edge.
+     *
+     * @param edge The id of the edge
+     * @return The id of the vertex the edge was added to
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the given edge.
+     *
+     * @param edge The id of the edge
+     * @return The weight of the edge
+     */
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Changes the weight of an edge.
+     *
+     * @param edge   The id of the edge
+     * @param weight The new weight of the edge
+     */
+    public void setWeight(int edge, int weight) {
+        checkEdge(edge);
+        weights[edge] = weight;
+        snapshot = null;
+    }
+
+    /**
+     * Checks whether the given vertex id refers to a vertex of the graph.
+     *
+     * @param vertex The id of the vertex
+     * @return True if the vertex exists, false otherwise
+     */
+    public boolean containsVertex(int vertex) {
+        return vertex >= 0 && vertex < vertexSlots && !removedVertices.get(vertex);
+    }
+
+    /**
+     * Checks whether the given edge id refers to an edge of the graph.
+     *
+     * @param edge The id of the edge
+     * @return True if the edge exists, false otherwise
+     */
+    public boolean containsEdge(int edge) {
+        return edge >= 0 && edge < edgeSlots && !removedEdges.get(edge);
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     *
+     * @return The number of vertices
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return The number of edges
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the upper bound (exclusive) of all vertex ids handed out so far.
+     *
+     * @return The vertex id bound
+     */
+    public int vertexIdBound() {
+        return vertexSlots;
+    }
+
+    /**
+     * Returns the upper bound (exclusive) of all edge ids handed out so far.
+     *
+     * @return The edge id bound
+     */
+    public int edgeIdBound() {
+        return edgeSlots;
+    }
+
+    /**
+     * Returns a CSR view of the current graph. The snapshot is cached until the graph is modified. The arcs of every
+     * vertex are ordered by edge id, i.e. in the order the edges have been added.
+     *
+     * @return The CSR snapshot of the graph
+     */
+    public CsrGraph snapshot() {
+        if (snapshot == null) {
+            snapshot = buildSnapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Builds the CSR arrays with a counting sort over all live edges.
+     *
+     * @return The new snapshot
+     */
+    private CsrGraph buildSnapshot() {
+        int[] offsets = new int[vertexSlots + 1];
+        for (int vertex = 0; vertex < vertexSlots; vertex++) {
+            offsets[vertex + 1] = offsets[vertex] + degrees[vertex] + selfLoops(vertex);
+        }
+        int arcs = offsets[vertexSlots];
+        int[] arcTargets = new int[arcs];
+        int[] arcWeights = new int[arcs];
+        int[] arcEdges = new int[arcs];
+        int[] next = Arrays.copyOf(offsets, vertexSlots);
+        for (int edge = removedEdges.nextClearBit(0); edge < edgeSlots; edge = removedEdges.nextClearBit(edge + 1)) {
+            int from = next[sources[edge]]++;
+            arcTargets[from] = targets[edge];
+            arcWeights[from] = weights[edge];
+            arcEdges[from] = edge;
+            int to = next[targets[edge]]++;
+            arcTargets[to] = sources[edge];
+            arcWeights[to] = weights[edge];
+            arcEdges[to] = edge;
+        }
+        return new CsrGraph(offsets, arcTargets, arcWeights, arcEdges, edgeCount);
+    }
+
+    /**
+     * Counts the self loops of a vertex, which need a second arc slot in the CSR snapshot.
+     *
+     * @param vertex The id of the vertex
+     * @return The number of self loops
+     */
+    private int selfLoops(int vertex) {
+        int loops = 0;
+        for (int i = 0; i < degrees[vertex]; i++) {
+            int edge = incidence[vertex][i];
+            if (sources[edge] == targets[edge]) {
+                loops++;
+            }
+        }
+        return loops;
+    }
+
+    /**
+     * Appends an edge to the incidence list of a vertex.
+     *
+     * @param vertex The id of the vertex
+     * @param edge   The id of the edge
+     * @return The position of the edge in the incidence list
+     */
+    private int attach(int vertex, int edge) {
+        int[] edges = incidence[vertex];
+        if (degrees[vertex] == edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(4, edges.length * 2));
+            incidence[vertex] = edges;
+        }
+        edges[degrees[vertex]] = edge;
+        return degrees[vertex]++;
+    }
+
+    /**
+     * Removes the edge at the given position from the incidence list of a vertex by moving the last edge of the list
+     * into its place. The list is shrunk when less than a quarter of it is used.
+     *
+     * @param vertex   The id of the vertex
+     * @param position The position of the edge in the incidence list
+     */
+    private void detach(int vertex, int position) {
+        int[] edges = incidence[vertex];
+        int last = --degrees[vertex];
+        if (position != last) {
+            int moved = edges[last];
+            edges[position] = moved;
+            if (sources[moved] == vertex) {
+                sourcePositions[moved] = position;
+            } else {
+                targetPositions[moved] = position;
+            }
+        }
+        if (edges.length > 4 && degrees[vertex] < edges.length / 4) {
+            incidence[vertex] = Arrays.copyOf(edges, edges.length / 2);
+        }
+    }
+
+    /**
+     * Verifies that the given vertex exists.
+     *
+     * @param vertex The id of the vertex
+     */
+    private void checkVertex(int vertex) {
+        if (!containsVertex(vertex)) {
+            throw new IllegalArgumentException("Unknown vertex: " + vertex);
+        }
+    }
+
+    /**
+     * Verifies that the given edge exists.
+     *
+     * @param edge The id of the edge
+     */
+    private void checkEdge(int edge) {
+        if (!containsEdge(edge)) {
+            throw new IllegalArgumentException("Unknown edge: " + edge);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.dankoller.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid over line segments identified by integer ids, used to find the element under the mouse without scanning
+ * the whole graph. A point is stored as a segment of length zero. Every segment is registered in all cells it crosses,
+ * so a query only has to look at the few cells around the query point; for graphs of bounded density a query takes
+ * constant time independent of the graph size, and inserting or removing a segment takes time proportional to the
+ * number of cells it crosses. Removed segments are only marked as removed and skipped by queries; their entries are
+ * dropped from all cells at once when they outnumber the entries of the remaining segments.
+ */
+public class SpatialGrid {
+    private static final int INITIAL_CAPACITY = 16;
+    private final float cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long entries;
+    private long removedEntries;
+    private float[] x1s = new float[INITIAL_CAPACITY];
+    private float[] y1s = new float[INITIAL_CAPACITY];
+    private float[] x2s = new float[INITIAL_CAPACITY];
+    private float[] y2s = new float[INITIAL_CAPACITY];
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param cellSize The width and height of a cell, ideally about the typical query tolerance or segment length
+     */
+    public SpatialGrid(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a point.
+     *
+     * @param id The id of the point, which must not be in the grid yet
+     * @param x  The x coordinate
+     * @param y  The y coordinate
+     */
+    public void insert(int id, float x, float y) {
+        insert(id, x, y, x, y);
+    }
+
+    /**
+     * Adds a segment.
+     *
+     * @param id The id of the segment, which must not be in the grid yet
+     * @param x1 The x coordinate of the first endpoint
+     * @param y1 The y coordinate of the first endpoint
+     * @param x2 The x coordinate of the second endpoint
+     * @param y2 The y coordinate of the second endpoint
+     */
+    public void insert(int id, float x1, float y1, float x2, float y2) {
+        if (removed.get(id)) {
+            compact();
+        }
+        if (id >= x1s.length) {
+            int capacity = Math.max(id + 1, x1s.length * 2);
+            x1s = Arrays.copyOf(x1s, capacity);
+            y1s = Arrays.copyOf(y1s, capacity);
+            x2s = Arrays.copyOf(x2s, capacity);
+            y2s = Arrays.copyOf(y2s, capacity);
+        }
+        x1s[id] = x1;
+        y1s[id] = y1;
+        x2s[id] = x2;
+        y2s[id] = y2;
+        forEachCell(id, key -> {
+            cells.computeIfAbsent(key, k -> new Cell()).add(id);
+            entries++;
+        });
+    }
+
+    /**
+     * Removes a point or segment by marking it as removed, which takes time proportional to the number of cells it
+     * crosses. The cells are compacted when most of their entries belong to removed elements.
+     *
+     * @param id The id of the point or segment, which must be in the grid
+     */
+    public void remove(int id) {
+        removed.set(id);
+        forEachCell(id, key -> removedEntries++);
+        if (removedEntries * 2 > entries) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes all points and segments.
+     */
+    public void clear() {
+        cells.clear();
+        removed.clear();
+        entries = 0;
+        removedEntries = 0;
+    }
+
+    /**
+     * Drops the entries of all removed elements from the cells, as well as the cells which are empty afterwards.
+     */
+    private void compact() {
+        cells.values().removeIf(cell -> cell.removeAll(removed));
+        removed.clear();
+        entries -= removedEntries;
+        removedEntries = 0;
+    }
+
+    /**
+     * Finds the point or segment closest to the given point. Of several equally close elements the one with the
+     * highest id, i.e. the one added last, is returned.
+     *
+     * @param x         The x coordinate of the query point
+     * @param y         The y coordinate of the query point
+     * @param tolerance The maximum distance to the query point
+     * @return The id of the closest element, or {@code -1} if no element is within the tolerance
+     */
+    public int nearest(float x, float y, float tolerance) {
+        int best = -1;
+        double bestDistance = (double) tolerance * tolerance;
+        for (int cx = cellIndex(x - tolerance); cx <= cellIndex(x + tolerance); cx++) {
+            for (int cy = cellIndex(y - tolerance); cy <= cellIndex(y + tolerance); cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                for (int i = 0; cell != null && i < cell.size; i++) {
+                    int id = cell.ids[i];
+                    if (removed.get(id)) {
+                        continue;
+                    }
+                    double distance = distanceSquared(id, x, y);
+                    if (distance < bestDistance || distance == bestDistance && id > best) {
+                        best = id;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reports every point and segment in the cells overlapping the given area. Elements crossing several of these
+     * cells are reported more than once, and elements close to the area may be reported even if they do not intersect
+     * it. Removed elements are skipped. If the area covers more cells than are occupied, only the occupied cells are
+     * visited.
+     *
+     * @param minX   The left border of the area
+     * @param minY   The top border of the area
+     * @param maxX   The right border of the area
+     * @param maxY   The bottom border of the area
+     * @param action The action to call with the id of every element found
+     */
+    public void query(float minX, float minY, float maxX, float maxY, IntConsumer action) {
+        IntConsumer found = removed.isEmpty() ? action : id -> {
+            if (!removed.get(id)) {
+                action.accept(id);
+            }
+        };
+        int firstColumn = cellIndex(minX);
+        int lastColumn = cellIndex(maxX);
+        int firstRow = cellIndex(minY);
+        int lastRow = cellIndex(maxY);
+        if ((double) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > cells.size()) {
+            cells.forEach((key, cell) -> {
+                int column = (int) (key >> 32);
+                int row = (int) (long) key;
+                if (column >= firstColumn && column <= lastColumn && row >= firstRow && row <= lastRow) {
+                    cell.forEach(found);
+                }
+            });
+            return;
+        }
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                Cell cell = cells.get(key(column, row));
+                if (cell != null) {
+                    cell.forEach(found);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the squared distance between a query point and a stored segment.
+     *
+     * @param id The id of the segment
+     * @param x  The x coordinate of the query point
+     * @param y  The y coordinate of the query point
+     * @return The squared distance
+     */
+    private double distanceSquared(int id, float x, float y) {
+        double dx = x2s[id] - x1s[id];
+        double dy = y2s[id] - y1s[id];
+        double length = dx * dx + dy * dy;
+        double t = length == 0 ? 0 : ((x - x1s[id]) * dx + (y - y1s[id]) * dy) / length;
+        t = Math.max(0, Math.min(1, t));
+        double px = x1s[id] + t * dx - x;
+        double py = y1s[id] + t * dy - y;
+        return px * px + py * py;
+    }
+
+    /**
+     * Calls the action for the key of every cell the given segment crosses. The segment is walked column by column;
+     * within a column only the rows between the entry and exit points of the segment are visited.
+     *
+     * @param id     The id of the segment
+     * @param action The action to call with each cell key
+     */
+    private void forEachCell(int id, CellAction action) {
+        float x1 = x1s[id];
+        float y1 = y1s[id];
+        float x2 = x2s[id];
+        float y2 = y2s[id];
+        if (x1 > x2) {
+            float swap = x1;
+            x1 = x2;
+            x2 = swap;
+            swap = y1;
+            y1 = y2;
+            y2 = swap;
+        }
+        float slope = x2 == x1 ? 0 : (y2 - y1) / (x2 - x1);
+        int lastColumn = cellIndex(x2);
+        for (int cx = cellIndex(x1); cx <= lastColumn; cx++) {
+            float left = Math.max(x1, cx * cellSize);
+            float right = Math.min(x2, (cx + 1) * cellSize);
+            float yLeft = x2 == x1 ? y1 : y1 + (left - x1) * slope;
+            float yRight = x2 == x1 ? y2 : y1 + (right - x1) * slope;
+            int lastRow = cellIndex(Math.max(yLeft, yRight));
+            for (int cy = cellIndex(Math.min(yLeft, yRight)); cy <= lastRow; cy++) {
+                action.apply(key(cx, cy));
+            }
+        }
+    }
+
+    /**
+     * Computes the row or column of a coordinate.
+     *
+     * @param coordinate The x or y coordinate
+     * @return The index of the row or column
+     */
+    private int cellIndex(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Packs the column and row of a cell into a single key.
+     *
+     * @param column The column of the cell
+     * @param row    The row of the cell
+     * @return The key of the cell
+     */
+    private static long key(int column, int row) {
+        return (long) column << 32 | row & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Action called for every cell crossed by a segment.
+     */
+    @FunctionalInterface
+    private interface CellAction {
+        void apply(long key);
+    }
+
+    /**
+     * The ids of all segments crossing a cell.
+     */
+    private static final class Cell {
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Adds an id to the cell.
+         *
+         * @param id The id to add
+         */
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * Calls the action with every id of the cell.
+         *
+         * @param action The action to call
+         */
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(ids[i]);
+            }
+        }
+
+        /**
+         * Removes all ids contained in the given set from the cell.
+         *
+         * @param removed The ids to remove
+         * @return True if the cell is empty afterwards
+         */
+        boolean removeAll(BitSet removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.get(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Shortest paths from many sources at once. Every source is searched independently by a breadth first search (counting
+ * edges) or by Dijkstra's algorithm (summing weights), and the searches are spread over the threads of a
+ * {@link ForkJoinPool}. Every thread reuses its own queue, heap and distance array for all of its sources, so the
+ * searches do not allocate. For small dense graphs, {@link #floydWarshall()} computes all distances at once.
+ */
+public class AllPairsShortestPaths {
+    /**
+     * The largest graph {@link #floydWarshall()} accepts; its matrix takes {@code 4 * n * n} bytes.
+     */
+    public static final int MAX_FLOYD_WARSHALL_VERTICES = 16384;
+    private static final int BLOCK_SIZE = 64;
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Creates a new engine for the given graph.
+     *
+     * @param graph The graph to search
+     * @param pool  The pool to run the searches on
+     */
+    public AllPairsShortestPaths(CsrGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(graph.vertexCount()));
+    }
+
+    /**
+     * Computes the distances from every given source to all vertices.
+     *
+     * @param sources  The source vertices
+     * @param weighted True to sum the edge weights (Dijkstra), false to count the edges (breadth first search)
+     * @return The distance matrix with one row per source
+     */
+    public DistanceMatrix distances(int[] sources, boolean weighted) {
+        int vertices = graph.vertexCount();
+        if ((long) sources.length * vertices > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance matrix of %d x %d entries is too large"
+                    .formatted(sources.length, vertices));
+        }
+        int[] distances = new int[sources.length * vertices];
+        forEachIndex(sources.length, row -> {
+            Scratch local = scratch.get();
+            int reached = search(sources[row], weighted, local);
+            Arrays.fill(distances, row * vertices, (row + 1) * vertices, ShortestPaths.UNREACHABLE);
+            for (int i = 0; i < reached; i++) {
+                int vertex = local.order[i];
+                distances[row * vertices + vertex] = local.distances[vertex];
+            }
+            local.reset(reached);
+        });
+        return new DistanceMatrix(Arrays.copyOf(sources, sources.length), vertices, distances);
+    }
+
+    /**
+     * Computes the eccentricity of every given source without keeping the distances, so it needs memory proportional
+     * to the number of vertices per thread only.
+     *
+     * @param sources  The source vertices
+     * @param weighted True to sum the edge weights (Dijkstra), false to count the edges (breadth first search)
+     * @return The eccentricities of the sources
+     */
+    public Eccentricities eccentricities(int[] sources, boolean weighted) {
+        int[] eccentricities = new int[sources.length];
+        int[] reachable = new int[sources.length];
+        forEachIndex(sources.length, row -> {
+            Scratch local = scratch.get();
+            int reached = search(sources[row], weighted, local);
+            eccentricities[row] = local.distances[local.order[reached - 1]];
+            reachable[row] = reached;
+            local.reset(reached);
+        });
+        return new Eccentricities(Arrays.copyOf(sources, sources.length), eccentricities, reachable);
+    }
+
+    /**
+     * Computes the distances between all pairs of vertices with the Floyd-Warshall algorithm in O(V^3). The matrix is
+     * processed in square blocks which fit into the CPU cache: for every block on the diagonal, the block itself is
+     * updated first, then the blocks in its row and column, and finally all remaining blocks in parallel. Path
+     * lengths of {@code Integer.MAX_VALUE / 2} or more are treated as unreachable.
+     *
+     * @return The distance matrix with one row per vertex
+     */
+    public DistanceMatrix floydWarshall() {
+        int n = graph.vertexCount();
+        if (n > MAX_FLOYD_WARSHALL_VERTICES) {
+            throw new IllegalArgumentException("Floyd-Warshall supports at most %d vertices, the graph has %d"
+                    .formatted(MAX_FLOYD_WARSHALL_VERTICES, n));
+        }
+        int[] distances = new int[n * n];
+        Arrays.fill(distances, INFINITY);
+        for (int vertex = 0; vertex < n; vertex++) {
+            distances[vertex * n + vertex] = 0;
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int index = vertex * n + graph.target(arc);
+                distances[index] = Math.min(distances[index], Math.min(graph.weight(arc), INFINITY));
+            }
+        }
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int k = 0; k < blocks; k++) {
+            int pivot = k;
+            relaxBlock(distances, n, pivot, pivot, pivot);
+            for (int other = 0; other < blocks; other++) {
+                if (other != pivot) {
+                    relaxBlock(distances, n, pivot, other, pivot);
+                    relaxBlock(distances, n, other, pivot, pivot);
+                }
+            }
+            forEachIndex(blocks, row -> {
+                if (row != pivot) {
+                    for (int column = 0; column < blocks; column++) {
+                        if (column != pivot) {
+                            relaxBlock(distances, n, row, column, pivot);
+                        }
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] >= INFINITY) {
+                distances[i] = ShortestPaths.UNREACHABLE;
+            }
+        }
+        int[] sources = new int[n];
+        Arrays.setAll(sources, vertex -> vertex);
+        return new DistanceMatrix(sources, n, distances);
+    }
+
+    /**
+     * Relaxes all paths of one block through the vertices of the pivot block. The values never exceed
+     * {@link #INFINITY}, so the sum of two of them cannot overflow.
+     *
+     * @param distances The distance matrix
+     * @param n         The number of vertices
+     * @param row       The row of the block
+     * @param column    The column of the block
+     * @param pivot     The block of the intermediate vertices
+     */
+    private static void relaxBlock(int[] distances, int n, int row, int column, int pivot) {
+        int rowEnd = Math.min(n, (row + 1) * BLOCK_SIZE);
+        int columnStart = column * BLOCK_SIZE;
+        int columnEnd = Math.min(n, columnStart + BLOCK_SIZE);
+        for (int k = pivot * BLOCK_SIZE, pivotEnd = Math.min(n, k + BLOCK_SIZE); k < pivotEnd; k++) {
+            int kOffset = k * n;
+            for (int i = row * BLOCK_SIZE; i < rowEnd; i++) {
+                int iOffset = i * n;
+                int ik = distances[iOffset + k];
+                if (ik == INFINITY) {
+                    continue;
+                }
+                for (int j = columnStart; j < columnEnd; j++) {
+                    distances[iOffset + j] = Math.min(distances[iOffset + j], ik + distances[kOffset + j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches from a single source. The distances are written to the scratch memory, and the reached vertices are
+     * stored in the order of their distance, so the last one has the largest distance.
+     *
+     * @param source   The vertex to start from
+     * @param weighted True to run Dijkstra's algorithm, false to run a breadth first search
+     * @param local    The scratch memory of the current thread
+     * @return The number of reached vertices
+     */
+    private int search(int source, boolean weighted, Scratch local) {
+        int[] distances = local.distances;
+        int[] order = local.order;
+        distances[source] = 0;
+        if (!weighted) {
+            order[0] = source;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int vertex = order[head];
+                for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                    int neighbor = graph.target(arc);
+                    if (distances[neighbor] == ShortestPaths.UNREACHABLE) {
+                        distances[neighbor] = distances[vertex] + 1;
+                        order[tail++] = neighbor;
+                    }
+                }
+            }
+            return tail;
+        }
+        IndexedMinHeap heap = local.heap;
+        heap.insertOrDecrease(source, 0);
+        int count = 0;
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            order[count++] = vertex;
+            long distance = distances[vertex];
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                long candidate = distance + graph.weight(arc);
+                if (candidate < distances[neighbor] && (distances[neighbor] == ShortestPaths.UNREACHABLE
+                        || heap.contains(neighbor))) {
+                    distances[neighbor] = (int) candidate;
+                    heap.insertOrDecrease(neighbor, candidate);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calls the action for every index from {@code 0} (inclusive) to {@code count} (exclusive) on the pool and waits
+     * until all calls have finished.
+     *
+     * @param count  The number of indices
+     * @param action The action to call with every index
+     */
+    private void forEachIndex(int count, IntConsumer action) {
+        if (count > 0) {
+            pool.invoke(new IndexRange(0, count, action));
+        }
+    }
+
+    /**
+     * A range of indices which is split in halves until every task handles a single index.
+     */
+    private static final class IndexRange extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final transient IntConsumer action;
+
+        /**
+         * Creates a task for the given range.
+         *
+         * @param from   The first index (inclusive)
+         * @param to     The last index (exclusive)
+         * @param action The action to call with every index
+         */
+        IndexRange(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        /**
+         * Calls the action for a single index or splits the range.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new IndexRange(from, middle, action), new IndexRange(middle, to, action));
+        }
+    }
+
+    /**
+     * The memory a thread needs for a single search. The distances of all vertices are unreachable between two
+     * searches.
+     */
+    private static final class Scratch {
+        private final int[] distances;
+        private final int[] order;
+        private final IndexedMinHeap heap;
+
+        /**
+         * Creates the scratch memory for a graph of the given size.
+         *
+         * @param vertices The number of vertices
+         */
+        Scratch(int vertices) {
+            this.distances = new int[vertices];
+            this.order = new int[vertices];
+            this.heap = new IndexedMinHeap(vertices);
+            Arrays.fill(distances, ShortestPaths.UNREACHABLE);
+        }
+
+        /**
+         * Marks the vertices reached by the last search as unreachable again, in time proportional to their number.
+         *
+         * @param reached The number of vertices reached by the last search
+         */
+        void reset(int reached) {
+            for (int i = 0; i < reached; i++) {
+                distances[order[i]] = ShortestPaths.UNREACHABLE;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Iterative breadth first search over a {@link CsrGraph}. The discovery order doubles as the FIFO queue, so the
+ * traversal runs in O(V + E) without any allocation per level or per step.
+ */
+public class BreadthFirstTraversal implements TraversalEngine {
+    private final CsrGraph graph;
+    private final BitSet visited;
+    private final int[] order;
+    private final int[] parents;
+    private final int[] edges;
+
+    /**
+     * Creates a new breadth first search engine for the given graph.
+     *
+     * @param graph The graph to traverse
+     */
+    public BreadthFirstTraversal(CsrGraph graph) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.visited = new BitSet(vertices);
+        this.order = new int[vertices];
+        this.parents = new int[vertices];
+        this.edges = new int[vertices];
+    }
+
+    /**
+     * Performs a breadth first search from the given source. Neighbors are discovered in arc order.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The traversal result
+     */
+    @Override
+    public Traversal run(int source, StepLog log) {
+        visited.clear();
+        visited.set(source);
+        order[0] = source;
+        parents[0] = -1;
+        edges[0] = -1;
+        int tail = 1;
+        if (log != null) {
+            log.record(StepType.ENQUEUE, source, -1, 0);
+        }
+        for (int head = 0; head < tail; head++) {
+            int vertex = order[head];
+            if (log != null) {
+                log.record(StepType.VISIT, vertex, -1, 0);
+            }
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    order[tail] = neighbor;
+                    parents[tail] = vertex;
+                    edges[tail] = graph.edgeId(arc);
+                    tail++;
+                    if (log != null) {
+                        log.record(StepType.TREE_EDGE, neighbor, graph.edgeId(arc), 0);
+                        log.record(StepType.ENQUEUE, neighbor, graph.edgeId(arc), 0);
+                    }
+                }
+            }
+            if (log != null) {
+                log.record(StepType.FINALIZE, vertex, -1, 0);
+            }
+        }
+        return new Traversal(source, Arrays.copyOf(order, tail), Arrays.copyOf(parents, tail),
+                Arrays.copyOf(edges, tail));
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * A contraction hierarchy of an undirected graph, built by {@link ContractionHierarchyBuilder} and queried by
+ * {@link ContractionHierarchyQuery}. Every vertex has a rank, its position in the contraction order, and a list of
+ * upward arcs to neighbors of a higher rank in CSR layout. An upward arc is either an original edge of the graph or a
+ * shortcut which stands for the two arcs through the lower ranked middle vertex it has replaced, so every shortest
+ * path of the graph has a counterpart which first climbs and then descends the ranks.
+ * <p>
+ * The hierarchy is immutable and can be shared between threads.
+ */
+public final class ContractionHierarchy {
+    private final int[] ranks;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] middles;
+    private final int[] edgeIds;
+
+    /**
+     * Creates a hierarchy from its arrays without copying them.
+     *
+     * @param ranks   The rank of every vertex
+     * @param offsets The index of the first upward arc of every vertex, followed by the number of arcs
+     * @param targets The higher ranked vertex of every upward arc
+     * @param weights The weight of every upward arc
+     * @param middles The middle vertex of every shortcut, or {@code -1} for original edges
+     * @param edgeIds The id of the original edge of every upward arc, or {@code -1} for shortcuts
+     */
+    public ContractionHierarchy(int[] ranks, int[] offsets, int[] targets, int[] weights, int[] middles,
+                                int[] edgeIds) {
+        int arcs = targets.length;
+        if (offsets.length != ranks.length + 1 || offsets[0] != 0 || offsets[ranks.length] != arcs) {
+            throw new IllegalArgumentException("Offsets do not match %d vertices and %d arcs"
+                    .formatted(ranks.length, arcs));
+        }
+        if (weights.length != arcs || middles.length != arcs || edgeIds.length != arcs) {
+            throw new IllegalArgumentException("Expected weights, middles and edge ids for all %d arcs"
+                    .formatted(arcs));
+        }
+        for (int vertex = 0; vertex < ranks.length; vertex++) {
+            if (offsets[vertex] > offsets[vertex + 1]) {
+                throw new IllegalArgumentException("Offsets are not ascending at vertex " + vertex);
+            }
+        }
+        for (int arc = 0; arc < arcs; arc++) {
+            if (targets[arc] < 0 || targets[arc] >= ranks.length || middles[arc] < -1
+                    || middles[arc] >= ranks.length) {
+                throw new IllegalArgumentException("Arc %d points outside of %d vertices".formatted(arc, ranks.length));
+            }
+        }
+        this.ranks = ranks;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+        this.edgeIds = edgeIds;
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return The number of vertices
+     */
+    public int vertexCount() {
+        return ranks.length;
+    }
+
+    /**
+     * Returns the number of upward arcs, i.e. of original edges without parallel edges and self loops plus shortcuts.
+     *
+     * @return The number of upward arcs
+     */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the number of shortcuts.
+     *
+     * @return The number of upward arcs which are not original edges
+     */
+    public int shortcutCount() {
+        int shortcuts = 0;
+        for (int edgeId : edgeIds) {
+            if (edgeId < 0) {
+                shortcuts++;
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Returns the position of a vertex in the contraction order.
+     *
+     * @param vertex The vertex
+     * @return The rank of the vertex
+     */
+    public int rank(int vertex) {
+        return ranks[vertex];
+    }
+
+    /**
+     * Returns the index of the first upward arc of a vertex.
+     *
+     * @param vertex The vertex
+     * @return The first arc index
+     */
+    public int firstArc(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the index after the last upward arc of a vertex.
+     *
+     * @param vertex The vertex
+     * @return The end arc index (exclusive)
+     */
+    public int endArc(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the higher ranked endpoint of an upward arc.
+     *
+     * @param arc The arc index
+     * @return The target vertex
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the weight of an upward arc.
+     *
+     * @param arc The arc index
+     * @return The weight
+     */
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Returns the vertex a shortcut passes through. Both endpoints of the shortcut are upward neighbors of it.
+     *
+     * @param arc The arc index
+     * @return The middle vertex, or {@code -1} if the arc is an original edge
+     */
+    public int middle(int arc) {
+        return middles[arc];
+    }
+
+    /**
+     * Returns the original edge of an upward arc.
+     *
+     * @param arc The arc index
+     * @return The edge id, or {@code -1} if the arc is a shortcut
+     */
+    public int edgeId(int arc) {
+        return edgeIds[arc];
+    }
+
+    /**
+     * Finds the upward arc from a vertex to a higher ranked neighbor. There is at most one such arc.
+     *
+     * @param vertex   The lower ranked vertex
+     * @param neighbor The higher ranked neighbor
+     * @return The arc index, or {@code -1} if the vertices are not adjacent
+     */
+    public int findArc(int vertex, int neighbor) {
+        for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+            if (targets[arc] == neighbor) {
+                return arc;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,390 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Preprocesses a {@link CsrGraph} into a {@link ContractionHierarchy}. The vertices are contracted one by one in the
+ * order of their priority, twice the edge difference (the number of shortcuts their contraction adds minus their
+ * degree) plus the number of their neighbors contracted so far, so vertices which hardly change the remaining graph go
+ * first and contractions spread evenly over the graph. Contracting a vertex removes it from the remaining graph and
+ * connects every pair of its neighbors by a shortcut unless a witness search finds a path between them which is not
+ * longer and avoids the vertex.
+ * The priorities are kept in an {@link IndexedMinHeap}; the neighbors of a contracted vertex are updated at once and a
+ * vertex whose priority has grown in the meantime is put back when it is polled.
+ * <p>
+ * Witness searches are limited to a number of settled vertices, so a missed witness only adds a superfluous shortcut.
+ * Preprocessing works best on sparse graphs with a small separator, such as grids and road networks; on random graphs
+ * the remaining graph becomes dense towards the end. Parallel edges are reduced to the lightest one and self loops are
+ * dropped. Edge weights must be non-negative.
+ */
+public class ContractionHierarchyBuilder {
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+    private static final int CONTRACTION_SETTLE_LIMIT = 500;
+    private static final int CANCELLATION_INTERVAL = 1024;
+    private final CsrGraph graph;
+    private final int[] degrees;
+    private final int[][] neighbors;
+    private final int[][] weights;
+    private final int[][] middles;
+    private final int[][] edgeIds;
+    private final int[] contractedNeighbors;
+    private final int[] witnessDistances;
+    private final IndexedMinHeap witnessHeap;
+    private final int[] witnessReached;
+    private int witnessReachedCount;
+    private final int[] witnessTargets;
+    private int witnessSearches;
+
+    /**
+     * Creates a new builder for the given graph.
+     *
+     * @param graph The graph to preprocess
+     */
+    public ContractionHierarchyBuilder(CsrGraph graph) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.degrees = new int[vertices];
+        this.neighbors = new int[vertices][];
+        this.weights = new int[vertices][];
+        this.middles = new int[vertices][];
+        this.edgeIds = new int[vertices][];
+        this.contractedNeighbors = new int[vertices];
+        this.witnessDistances = new int[vertices];
+        this.witnessHeap = new IndexedMinHeap(vertices);
+        this.witnessReached = new int[vertices];
+        this.witnessTargets = new int[vertices];
+        Arrays.fill(witnessDistances, ShortestPaths.UNREACHABLE);
+    }
+
+    /**
+     * Contracts all vertices.
+     *
+     * @return The contraction hierarchy
+     */
+    public ContractionHierarchy build() {
+        return build(null);
+    }
+
+    /**
+     * Contracts all vertices. The builder can only be used once.
+     *
+     * @param log The log whose cancellation aborts the preprocessing, or {@code null}
+     * @return The contraction hierarchy
+     * @throws CancellationException If the log has been cancelled
+     */
+    public ContractionHierarchy build(StepLog log) {
+        int vertices = graph.vertexCount();
+        loadRemainingGraph();
+        IndexedMinHeap queue = new IndexedMinHeap(vertices);
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            queue.insertOrDecrease(vertex, priority(vertex));
+        }
+        int[] ranks = new int[vertices];
+        int[] counts = new int[vertices];
+        int[] starts = new int[vertices];
+        UpwardArcs arcs = new UpwardArcs(graph.arcCount() / 2 + 16);
+        int rank = 0;
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            long priority = priority(vertex);
+            if (!queue.isEmpty() && priority > queue.peekPriority()) {
+                queue.insertOrDecrease(vertex, priority);
+                continue;
+            }
+            if (log != null && rank % CANCELLATION_INTERVAL == 0 && log.isCancelled()) {
+                throw new CancellationException("Preprocessing cancelled after %d vertices".formatted(rank));
+            }
+            countShortcuts(vertex, CONTRACTION_SETTLE_LIMIT, true);
+            ranks[vertex] = rank++;
+            starts[vertex] = arcs.size;
+            counts[vertex] = degrees[vertex];
+            for (int i = 0; i < degrees[vertex]; i++) {
+                int neighbor = neighbors[vertex][i];
+                arcs.add(neighbor, weights[vertex][i], middles[vertex][i], edgeIds[vertex][i]);
+                remove(neighbor, vertex);
+                contractedNeighbors[neighbor]++;
+            }
+            int[] former = Arrays.copyOf(neighbors[vertex], degrees[vertex]);
+            degrees[vertex] = 0;
+            neighbors[vertex] = null;
+            weights[vertex] = null;
+            middles[vertex] = null;
+            edgeIds[vertex] = null;
+            for (int neighbor : former) {
+                queue.insertOrDecrease(neighbor, priority(neighbor));
+            }
+        }
+        return arcs.toHierarchy(ranks, starts, counts);
+    }
+
+    /**
+     * Copies the graph into growable adjacency lists, keeping only the lightest of parallel edges.
+     */
+    private void loadRemainingGraph() {
+        int[] positions = new int[graph.vertexCount()];
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            int capacity = Math.max(graph.degree(vertex), 1);
+            neighbors[vertex] = new int[capacity];
+            weights[vertex] = new int[capacity];
+            middles[vertex] = new int[capacity];
+            edgeIds[vertex] = new int[capacity];
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                int weight = graph.weight(arc);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative edge weight: " + weight);
+                }
+                if (neighbor == vertex) {
+                    continue;
+                }
+                int position = positions[neighbor] - 1;
+                if (position >= 0 && position < degrees[vertex] && neighbors[vertex][position] == neighbor) {
+                    if (weight < weights[vertex][position]) {
+                        weights[vertex][position] = weight;
+                        edgeIds[vertex][position] = graph.edgeId(arc);
+                    }
+                    continue;
+                }
+                positions[neighbor] = degrees[vertex] + 1;
+                append(vertex, neighbor, weight, -1, graph.edgeId(arc));
+            }
+        }
+    }
+
+    /**
+     * Computes the priority of a vertex by simulating its contraction.
+     *
+     * @param vertex The vertex
+     * @return Twice the number of shortcuts minus the degree plus the number of contracted neighbors
+     */
+    private long priority(int vertex) {
+        return 2L * (countShortcuts(vertex, SIMULATION_SETTLE_LIMIT, false) - degrees[vertex])
+                + contractedNeighbors[vertex];
+    }
+
+    /**
+     * Counts, and optionally adds, the shortcuts needed to contract a vertex. For every neighbor, one witness search
+     * covers all pairs with the neighbors after it.
+     *
+     * @param vertex      The vertex to contract
+     * @param settleLimit The maximum number of vertices a witness search settles
+     * @param add         Whether to add the shortcuts to the remaining graph
+     * @return The number of shortcuts
+     */
+    private int countShortcuts(int vertex, int settleLimit, boolean add) {
+        int degree = degrees[vertex];
+        int[] around = neighbors[vertex];
+        int[] distances = weights[vertex];
+        int shortcuts = 0;
+        for (int i = 0; i < degree - 1; i++) {
+            int maxWeight = 0;
+            witnessSearches++;
+            for (int j = i + 1; j < degree; j++) {
+                maxWeight = Math.max(maxWeight, distances[j]);
+                witnessTargets[around[j]] = witnessSearches;
+            }
+            witnessSearch(around[i], vertex, (long) distances[i] + maxWeight, degree - i - 1, settleLimit);
+            for (int j = i + 1; j < degree; j++) {
+                long via = (long) distances[i] + distances[j];
+                if (witnessDistances[around[j]] > via) {
+                    shortcuts++;
+                    if (add) {
+                        addOrDecrease(around[i], around[j], Math.toIntExact(via), vertex);
+                        addOrDecrease(around[j], around[i], Math.toIntExact(via), vertex);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on the remaining graph without the given vertex until all targets are settled, the
+     * distance limit is exceeded or the settle limit is reached. The targets are marked with the number of the current
+     * search in {@link #witnessTargets}; the distances are left in {@link #witnessDistances} until the next search.
+     *
+     * @param source      The vertex to start from
+     * @param excluded    The vertex being contracted
+     * @param limit       The longest distance of interest
+     * @param targets     The number of targets
+     * @param settleLimit The maximum number of vertices to settle
+     */
+    private void witnessSearch(int source, int excluded, long limit, int targets, int settleLimit) {
+        for (int i = 0; i < witnessReachedCount; i++) {
+            witnessDistances[witnessReached[i]] = ShortestPaths.UNREACHABLE;
+        }
+        witnessHeap.clear();
+        witnessReachedCount = 0;
+        witnessDistances[source] = 0;
+        witnessReached[witnessReachedCount++] = source;
+        witnessHeap.insertOrDecrease(source, 0);
+        for (int settled = 0; settled < settleLimit && !witnessHeap.isEmpty(); settled++) {
+            if (witnessHeap.peekPriority() > limit) {
+                break;
+            }
+            int vertex = witnessHeap.poll();
+            if (witnessTargets[vertex] == witnessSearches && --targets == 0) {
+                break;
+            }
+            long distance = witnessDistances[vertex];
+            for (int i = 0; i < degrees[vertex]; i++) {
+                int neighbor = neighbors[vertex][i];
+                long candidate = distance + weights[vertex][i];
+                if (neighbor == excluded || candidate > limit || candidate >= witnessDistances[neighbor]) {
+                    continue;
+                }
+                if (witnessDistances[neighbor] == ShortestPaths.UNREACHABLE) {
+                    witnessReached[witnessReachedCount++] = neighbor;
+                } else if (!witnessHeap.contains(neighbor)) {
+                    continue;
+                }
+                witnessDistances[neighbor] = (int) candidate;
+                witnessHeap.insertOrDecrease(neighbor, candidate);
+            }
+        }
+    }
+
+    /**
+     * Adds a shortcut to the adjacency list of a vertex or lowers the weight of the existing arc to the neighbor.
+     *
+     * @param vertex   The vertex
+     * @param neighbor The other endpoint of the shortcut
+     * @param weight   The weight of the shortcut
+     * @param middle   The vertex the shortcut passes through
+     */
+    private void addOrDecrease(int vertex, int neighbor, int weight, int middle) {
+        for (int i = 0; i < degrees[vertex]; i++) {
+            if (neighbors[vertex][i] == neighbor) {
+                if (weight < weights[vertex][i]) {
+                    weights[vertex][i] = weight;
+                    middles[vertex][i] = middle;
+                    edgeIds[vertex][i] = -1;
+                }
+                return;
+            }
+        }
+        append(vertex, neighbor, weight, middle, -1);
+    }
+
+    /**
+     * Appends an arc to the adjacency list of a vertex, growing the list if needed.
+     *
+     * @param vertex   The vertex
+     * @param neighbor The other endpoint
+     * @param weight   The weight
+     * @param middle   The middle vertex of a shortcut, or {@code -1}
+     * @param edgeId   The id of an original edge, or {@code -1}
+     */
+    private void append(int vertex, int neighbor, int weight, int middle, int edgeId) {
+        int degree = degrees[vertex];
+        if (degree == neighbors[vertex].length) {
+            int capacity = degree * 2;
+            neighbors[vertex] = Arrays.copyOf(neighbors[vertex], capacity);
+            weights[vertex] = Arrays.copyOf(weights[vertex], capacity);
+            middles[vertex] = Arrays.copyOf(middles[vertex], capacity);
+            edgeIds[vertex] = Arrays.copyOf(edgeIds[vertex], capacity);
+        }
+        neighbors[vertex][degree] = neighbor;
+        weights[vertex][degree] = weight;
+        middles[vertex][degree] = middle;
+        edgeIds[vertex][degree] = edgeId;
+        degrees[vertex]++;
+    }
+
+    /**
+     * Removes the arc to a contracted neighbor from the adjacency list of a vertex by moving the last arc into its
+     * place.
+     *
+     * @param vertex   The vertex
+     * @param neighbor The contracted neighbor
+     */
+    private void remove(int vertex, int neighbor) {
+        for (int i = 0; i < degrees[vertex]; i++) {
+            if (neighbors[vertex][i] == neighbor) {
+                int last = --degrees[vertex];
+                neighbors[vertex][i] = neighbors[vertex][last];
+                weights[vertex][i] = weights[vertex][last];
+                middles[vertex][i] = middles[vertex][last];
+                edgeIds[vertex][i] = edgeIds[vertex][last];
+                return;
+            }
+        }
+    }
+
+    /**
+     * The upward arcs in the order the vertices have been contracted.
+     */
+    private static final class UpwardArcs {
+        private int[] targets;
+        private int[] weights;
+        private int[] middles;
+        private int[] edgeIds;
+        private int size;
+
+        /**
+         * Creates an empty list.
+         *
+         * @param capacity The initial capacity
+         */
+        UpwardArcs(int capacity) {
+            targets = new int[capacity];
+            weights = new int[capacity];
+            middles = new int[capacity];
+            edgeIds = new int[capacity];
+        }
+
+        /**
+         * Appends an arc.
+         *
+         * @param target The higher ranked endpoint
+         * @param weight The weight
+         * @param middle The middle vertex of a shortcut, or {@code -1}
+         * @param edgeId The id of an original edge, or {@code -1}
+         */
+        void add(int target, int weight, int middle, int edgeId) {
+            if (size == targets.length) {
+                int capacity = size * 2;
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                middles = Arrays.copyOf(middles, capacity);
+                edgeIds = Arrays.copyOf(edgeIds, capacity);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            edgeIds[size] = edgeId;
+            size++;
+        }
+
+        /**
+         * Reorders the arcs by vertex id into the CSR layout of the hierarchy.
+         *
+         * @param ranks  The rank of every vertex
+         * @param starts The index of the first arc of every vertex in this list
+         * @param counts The number of arcs of every vertex
+         * @return The contraction hierarchy
+         */
+        ContractionHierarchy toHierarchy(int[] ranks, int[] starts, int[] counts) {
+            int vertices = ranks.length;
+            int[] offsets = new int[vertices + 1];
+            for (int vertex = 0; vertex < vertices; vertex++) {
+                offsets[vertex + 1] = offsets[vertex] + counts[vertex];
+            }
+            int[] orderedTargets = new int[size];
+            int[] orderedWeights = new int[size];
+            int[] orderedMiddles = new int[size];
+            int[] orderedEdgeIds = new int[size];
+            for (int vertex = 0; vertex < vertices; vertex++) {
+                System.arraycopy(targets, starts[vertex], orderedTargets, offsets[vertex], counts[vertex]);
+                System.arraycopy(weights, starts[vertex], orderedWeights, offsets[vertex], counts[vertex]);
+                System.arraycopy(middles, starts[vertex], orderedMiddles, offsets[vertex], counts[vertex]);
+                System.arraycopy(edgeIds, starts[vertex], orderedEdgeIds, offsets[vertex], counts[vertex]);
+            }
+            return new ContractionHierarchy(ranks, offsets, orderedTargets, orderedWeights, orderedMiddles,
+                    orderedEdgeIds);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package io.github.dankoller.graph.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point shortest path queries on a {@link ContractionHierarchy}. A bidirectional Dijkstra search only follows
+ * upward arcs from both the source and the target; each search stops once its lowest distance reaches the length of
+ * the best route through a vertex settled by both. The route over shortcuts is then unpacked into the original edges.
+ * The searches settle only a few hundred vertices on road-like graphs with millions of vertices.
+ * <p>
+ * Like {@link PointToPointShortestPath}, the query keeps its arrays between queries and only resets the vertices it
+ * has reached. It is not thread safe, but any number of queries can share a hierarchy.
+ */
+public class ContractionHierarchyQuery {
+    private static final long NO_ROUTE = Long.MAX_VALUE;
+    private final ContractionHierarchy hierarchy;
+    private final int[] forwardDistances;
+    private final int[] forwardPredecessors;
+    private final int[] forwardArcs;
+    private final int[] backwardDistances;
+    private final int[] backwardPredecessors;
+    private final int[] backwardArcs;
+    private final IndexedMinHeap forwardHeap;
+    private final IndexedMinHeap backwardHeap;
+    private final int[] reached;
+    private int reachedCount;
+    private int settledCount;
+    private long bestDistance;
+    private int meeting;
+    private int[] stack = new int[48];
+    private int[] routeVertices = new int[16];
+    private int[] routeEdges = new int[16];
+    private int routeLength;
+
+    /**
+     * Creates a new query for the given hierarchy.
+     *
+     * @param hierarchy The contraction hierarchy to search
+     */
+    public ContractionHierarchyQuery(ContractionHierarchy hierarchy) {
+        int vertices = hierarchy.vertexCount();
+        this.hierarchy = hierarchy;
+        this.forwardDistances = new int[vertices];
+        this.forwardPredecessors = new int[vertices];
+        this.forwardArcs = new int[vertices];
+        this.backwardDistances = new int[vertices];
+        this.backwardPredecessors = new int[vertices];
+        this.backwardArcs = new int[vertices];
+        this.forwardHeap = new IndexedMinHeap(vertices);
+        this.backwardHeap = new IndexedMinHeap(vertices);
+        this.reached = new int[vertices];
+        Arrays.fill(forwardDistances, ShortestPaths.UNREACHABLE);
+        Arrays.fill(backwardDistances, ShortestPaths.UNREACHABLE);
+    }
+
+    /**
+     * Finds a shortest route between two vertices.
+     *
+     * @param source The vertex to start from
+     * @param target The vertex to find the route to
+     * @return The shortest route
+     */
+    public ShortestRoute route(int source, int target) {
+        return route(source, target, null);
+    }
+
+    /**
+     * Finds a shortest route between two vertices and records the settled vertices followed by the original edges of
+     * the route.
+     *
+     * @param source The vertex to start from
+     * @param target The vertex to find the route to
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The shortest route
+     */
+    public ShortestRoute route(int source, int target, StepLog log) {
+        reset();
+        label(forwardDistances, forwardPredecessors, forwardArcs, source, 0, -1, -1);
+        label(backwardDistances, backwardPredecessors, backwardArcs, target, 0, -1, -1);
+        forwardHeap.insertOrDecrease(source, 0);
+        backwardHeap.insertOrDecrease(target, 0);
+        if (source == target) {
+            bestDistance = 0;
+            meeting = source;
+        }
+        while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty()) {
+            boolean forward = backwardHeap.isEmpty()
+                    || !forwardHeap.isEmpty() && forwardHeap.peekPriority() <= backwardHeap.peekPriority();
+            if (forward) {
+                scan(forwardHeap, forwardDistances, forwardPredecessors, forwardArcs, backwardDistances, log);
+            } else {
+                scan(backwardHeap, backwardDistances, backwardPredecessors, backwardArcs, forwardDistances, log);
+            }
+        }
+        if (bestDistance == NO_ROUTE) {
+            return new ShortestRoute(source, target, ShortestPaths.UNREACHABLE, new int[0], new int[0], settledCount);
+        }
+        unpackRoute(source, target, log);
+        return new ShortestRoute(source, target, (int) bestDistance, Arrays.copyOf(routeVertices, routeLength + 1),
+                Arrays.copyOf(routeEdges, routeLength), settledCount);
+    }
+
+    /**
+     * Settles the vertex with the lowest distance of one search and relaxes its upward arcs, or stops the search if
+     * it can not improve the best route anymore.
+     *
+     * @param heap           The heap of the search
+     * @param distances      The distances of the search
+     * @param predecessors   The predecessors of the search
+     * @param arcs           The upward arcs from the predecessors
+     * @param otherDistances The distances of the other search
+     * @param log            The log to record the settled vertex to, or {@code null} to skip recording
+     */
+    private void scan(IndexedMinHeap heap, int[] distances, int[] predecessors, int[] arcs, int[] otherDistances,
+                      StepLog log) {
+        if (heap.peekPriority() >= bestDistance) {
+            heap.clear();
+            return;
+        }
+        int vertex = heap.poll();
+        settledCount++;
+        if (log != null) {
+            log.record(StepType.FINALIZE, vertex, -1, distances[vertex]);
+        }
+        long distance = distances[vertex];
+        if (otherDistances[vertex] != ShortestPaths.UNREACHABLE && distance + otherDistances[vertex] < bestDistance) {
+            bestDistance = distance + otherDistances[vertex];
+            meeting = vertex;
+        }
+        for (int arc = hierarchy.firstArc(vertex), end = hierarchy.endArc(vertex); arc < end; arc++) {
+            int neighbor = hierarchy.target(arc);
+            long candidate = distance + hierarchy.weight(arc);
+            if (candidate < distances[neighbor] && (distances[neighbor] == ShortestPaths.UNREACHABLE
+                    || heap.contains(neighbor))) {
+                label(distances, predecessors, arcs, neighbor, (int) candidate, vertex, arc);
+                heap.insertOrDecrease(neighbor, candidate);
+            }
+        }
+    }
+
+    /**
+     * Assigns a distance and a predecessor to a vertex and remembers the vertex for the reset of the next query.
+     *
+     * @param distances    The distances of the search
+     * @param predecessors The predecessors of the search
+     * @param arcs         The upward arcs from the predecessors
+     * @param vertex       The vertex
+     * @param distance     The new distance
+     * @param predecessor  The predecessor, or {@code -1} for the start vertex
+     * @param arc          The upward arc from the predecessor, or {@code -1} for the start vertex
+     */
+    private void label(int[] distances, int[] predecessors, int[] arcs, int vertex, int distance, int predecessor,
+                       int arc) {
+        if (forwardDistances[vertex] == ShortestPaths.UNREACHABLE
+                && backwardDistances[vertex] == ShortestPaths.UNREACHABLE) {
+            reached[reachedCount++] = vertex;
+        }
+        distances[vertex] = distance;
+        predecessors[vertex] = predecessor;
+        arcs[vertex] = arc;
+    }
+
+    /**
+     * Forgets the labels of the previous query.
+     */
+    private void reset() {
+        for (int i = 0; i < reachedCount; i++) {
+            forwardDistances[reached[i]] = ShortestPaths.UNREACHABLE;
+            backwardDistances[reached[i]] = ShortestPaths.UNREACHABLE;
+        }
+        reachedCount = 0;
+        settledCount = 0;
+        forwardHeap.clear();
+        backwardHeap.clear();
+        bestDistance = NO_ROUTE;
+    }
+
+    /**
+     * Unpacks the arcs of the forward search from the source up to the meeting vertex and of the backward search down
+     * to the target into {@link #routeVertices} and {@link #routeEdges}, and records the original edges.
+     *
+     * @param source The vertex the route starts at
+     * @param target The vertex the route ends at
+     * @param log    The log to record the route to, or {@code null} to skip recording
+     */
+    private void unpackRoute(int source, int target, StepLog log) {
+        int climbs = 0;
+        for (int vertex = meeting; vertex != source; vertex = forwardPredecessors[vertex]) {
+            climbs++;
+        }
+        int[] climb = new int[climbs];
+        for (int vertex = meeting, i = climbs - 1; vertex != source; vertex = forwardPredecessors[vertex], i--) {
+            climb[i] = vertex;
+        }
+        routeLength = 0;
+        routeVertices[0] = source;
+        long distance = 0;
+        for (int vertex : climb) {
+            distance = unpack(forwardPredecessors[vertex], vertex, forwardArcs[vertex], distance, log);
+        }
+        for (int vertex = meeting; vertex != target; vertex = backwardPredecessors[vertex]) {
+            distance = unpack(vertex, backwardPredecessors[vertex], backwardArcs[vertex], distance, log);
+        }
+    }
+
+    /**
+     * Replaces an upward arc traversed in the given direction by its original edges. A shortcut is replaced by its two
+     * halves through the middle vertex, which are both upward arcs of the middle vertex; the halves are unpacked in
+     * turn with an explicit stack.
+     *
+     * @param from     The vertex the arc is traversed from
+     * @param to       The vertex the arc is traversed to
+     * @param arc      The upward arc
+     * @param distance The length of the route so far
+     * @param log      The log to record the original edges to, or {@code null} to skip recording
+     * @return The length of the route including the arc
+     */
+    private long unpack(int from, int to, int arc, long distance, StepLog log) {
+        int top = push(0, from, to, arc);
+        while (top > 0) {
+            top -= 3;
+            int first = stack[top];
+            int second = stack[top + 1];
+            int current = stack[top + 2];
+            int middle = hierarchy.middle(current);
+            if (middle >= 0) {
+                top = push(top, middle, second, hierarchy.findArc(middle, second));
+                top = push(top, first, middle, hierarchy.findArc(middle, first));
+                continue;
+            }
+            distance += hierarchy.weight(current);
+            if (routeLength + 1 == routeEdges.length) {
+                routeEdges = Arrays.copyOf(routeEdges, routeEdges.length * 2);
+                routeVertices = Arrays.copyOf(routeVertices, routeVertices.length * 2);
+            }
+            routeEdges[routeLength++] = hierarchy.edgeId(current);
+            routeVertices[routeLength] = second;
+            if (log != null) {
+                log.record(StepType.TREE_EDGE, second, hierarchy.edgeId(current), (int) distance);
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Pushes an arc with its direction of traversal onto the unpacking stack.
+     *
+     * @param top    The size of the stack
+     * @param from   The vertex the arc is traversed from
+     * @param to     The vertex the arc is traversed to
+     * @param arc    The upward arc
+     * @return The new size of the stack
+     */
+    private int push(int top, int from, int to, int arc) {
+        if (top + 3 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = from;
+        stack[top + 1] = to;
+        stack[top + 2] = arc;
+        return top + 3;
+    }
+}
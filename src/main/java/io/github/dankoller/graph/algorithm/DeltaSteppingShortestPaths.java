@@ -0,0 +1,427 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel single source shortest paths by delta-stepping (Meyer and Sanders). Tentative distances are grouped into
+ * buckets of width delta, which are settled in increasing order. The light edges (weight at most delta) of a bucket are
+ * relaxed in parallel until the bucket stays empty, then its heavy edges are relaxed once. A small delta approaches
+ * Dijkstra's algorithm, a large one approaches Bellman-Ford with more work but fewer, larger phases.
+ * <p>
+ * The tentative distance and the predecessor of a vertex are packed into one atomic long and only replaced by a
+ * strictly shorter distance, so the distances are the same as those of {@link DijkstraShortestPaths}. Among several
+ * shortest paths, the one found first wins, so the predecessors may differ between runs. Edge weights must be
+ * non-negative.
+ */
+public class DeltaSteppingShortestPaths {
+    private static final int CHUNK_SIZE = 1024;
+    private static final int MAX_BUCKETS = 1 << 22;
+    private static final long UNREACHED = (long) ShortestPaths.UNREACHABLE << 32 | 0xFFFFFFFFL;
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final int delta;
+    private final AtomicLongArray tentative;
+    private final AtomicLongArray touched;
+    private final int[] predecessorEdges;
+    private final int[] bucketOf;
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private final BitSet inSettled;
+    private final int[] frontier;
+    private final int[] updated;
+    private final AtomicInteger updatedCount = new AtomicInteger();
+    private final int[] settled;
+    private final long[] keys;
+
+    /**
+     * Creates a new delta-stepping engine for the given graph with the {@link #defaultDelta(CsrGraph) default delta}
+     * running on the common pool.
+     *
+     * @param graph The graph to search
+     */
+    public DeltaSteppingShortestPaths(CsrGraph graph) {
+        this(graph, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new delta-stepping engine for the given graph.
+     *
+     * @param graph The graph to search
+     * @param delta The width of a bucket
+     * @param pool  The pool to relax the edges on
+     */
+    public DeltaSteppingShortestPaths(CsrGraph graph, int delta, ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be positive: " + delta);
+        }
+        int maxWeight = maxWeight(graph);
+        long slots = maxWeight / delta + 2L;
+        if (slots > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Delta %d is too small for the maximum edge weight %d"
+                    .formatted(delta, maxWeight));
+        }
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.pool = pool;
+        this.delta = delta;
+        this.tentative = new AtomicLongArray(vertices);
+        this.touched = new AtomicLongArray((vertices + 63) >>> 6);
+        this.predecessorEdges = new int[vertices];
+        this.bucketOf = new int[vertices];
+        this.buckets = new int[(int) slots][];
+        this.bucketSizes = new int[(int) slots];
+        this.inSettled = new BitSet(vertices);
+        this.frontier = new int[vertices];
+        this.updated = new int[vertices];
+        this.settled = new int[vertices];
+        this.keys = new long[vertices];
+    }
+
+    /**
+     * Returns a bucket width which suits the graph: the maximum edge weight divided by the average degree, so a vertex
+     * has about one light edge per unit of the maximum weight.
+     *
+     * @param graph The graph
+     * @return The suggested delta
+     */
+    public static int defaultDelta(CsrGraph graph) {
+        int averageDegree = Math.max(1, graph.arcCount() / Math.max(1, graph.vertexCount()));
+        return Math.max(1, maxWeight(graph) / averageDegree);
+    }
+
+    /**
+     * Returns the width of a bucket.
+     *
+     * @return The delta of this engine
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Computes the shortest paths from the given source to all reachable vertices.
+     *
+     * @param source The vertex to start from
+     * @return The distances and the shortest path tree
+     */
+    public ShortestPaths run(int source) {
+        return run(source, null);
+    }
+
+    /**
+     * Computes the shortest paths from the given source to all reachable vertices. The vertices of a bucket are
+     * recorded after it has been settled, ordered by distance: every vertex is reached through its tree edge and
+     * finalized.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The distances and the shortest path tree
+     */
+    public ShortestPaths run(int source, StepLog log) {
+        int vertices = graph.vertexCount();
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            tentative.set(vertex, UNREACHED);
+        }
+        Arrays.fill(predecessorEdges, -1);
+        Arrays.fill(bucketOf, -1);
+        Arrays.fill(bucketSizes, 0);
+        inSettled.clear();
+        tentative.set(source, UNREACHED & 0xFFFFFFFFL);
+        int pending = push(source, 0);
+        int count = 0;
+        for (int bucket = 0; pending > 0; bucket++) {
+            int bucketStart = count;
+            while (bucketSizes[bucket % buckets.length] > 0) {
+                pending -= bucketSizes[bucket % buckets.length];
+                int size = extract(bucket);
+                for (int i = 0; i < size; i++) {
+                    if (!inSettled.get(frontier[i])) {
+                        inSettled.set(frontier[i]);
+                        settled[count++] = frontier[i];
+                    }
+                }
+                relax(new Relaxation(frontier, 0, size, true));
+                pending += pushUpdated();
+            }
+            relax(new Relaxation(settled, bucketStart, count, false));
+            pending += pushUpdated();
+            sortByDistance(bucketStart, count);
+            if (log != null) {
+                record(log, source, bucketStart, count);
+            }
+        }
+        int[] distances = new int[vertices];
+        int[] predecessors = new int[vertices];
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            long packed = tentative.get(vertex);
+            distances[vertex] = distance(packed);
+            predecessors[vertex] = (int) packed;
+        }
+        return new ShortestPaths(source, distances, predecessors, Arrays.copyOf(predecessorEdges, vertices),
+                Arrays.copyOf(settled, count));
+    }
+
+    /**
+     * Runs a relaxation on the pool, or directly on the current thread if it is too small to be split.
+     *
+     * @param task The relaxation
+     */
+    private void relax(Relaxation task) {
+        if (task.to - task.from <= CHUNK_SIZE) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Moves the vertices of a bucket which still belong to it to the frontier and empties the bucket.
+     *
+     * @param bucket The index of the bucket
+     * @return The number of vertices in the frontier
+     */
+    private int extract(int bucket) {
+        int slot = bucket % buckets.length;
+        int size = 0;
+        for (int i = 0; i < bucketSizes[slot]; i++) {
+            int vertex = buckets[slot][i];
+            if (bucketOf[vertex] == bucket) {
+                bucketOf[vertex] = -1;
+                frontier[size++] = vertex;
+            }
+        }
+        bucketSizes[slot] = 0;
+        return size;
+    }
+
+    /**
+     * Moves the vertices whose distance has been shortened by the last relaxation to the buckets of their new
+     * distance. Their entries in older buckets are skipped when those are extracted.
+     *
+     * @return The number of added bucket entries
+     */
+    private int pushUpdated() {
+        int added = 0;
+        for (int i = 0, size = updatedCount.getAndSet(0); i < size; i++) {
+            int vertex = updated[i];
+            touched.set(vertex >>> 6, 0);
+            int bucket = distance(tentative.get(vertex)) / delta;
+            if (bucketOf[vertex] != bucket) {
+                added += push(vertex, bucket);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds a vertex to a bucket.
+     *
+     * @param vertex The vertex
+     * @param bucket The index of the bucket
+     * @return The number of added bucket entries
+     */
+    private int push(int vertex, int bucket) {
+        int slot = bucket % buckets.length;
+        int[] entries = buckets[slot];
+        if (entries == null || bucketSizes[slot] == entries.length) {
+            entries = entries == null ? new int[16] : Arrays.copyOf(entries, entries.length * 2);
+            buckets[slot] = entries;
+        }
+        entries[bucketSizes[slot]++] = vertex;
+        bucketOf[vertex] = bucket;
+        return 1;
+    }
+
+    /**
+     * Sorts the settled vertices of a bucket by distance and id.
+     *
+     * @param from The position of the first vertex of the bucket (inclusive)
+     * @param to   The position of the last vertex of the bucket (exclusive)
+     */
+    private void sortByDistance(int from, int to) {
+        for (int i = from; i < to; i++) {
+            keys[i] = (long) distance(tentative.get(settled[i])) << 32 | settled[i];
+        }
+        Arrays.sort(keys, from, to);
+        for (int i = from; i < to; i++) {
+            settled[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Records the steps of a settled bucket.
+     *
+     * @param log    The log to record the steps to
+     * @param source The vertex the search started from
+     * @param from   The position of the first vertex of the bucket (inclusive)
+     * @param to     The position of the last vertex of the bucket (exclusive)
+     */
+    private void record(StepLog log, int source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int vertex = settled[i];
+            int distance = distance(tentative.get(vertex));
+            if (vertex != source) {
+                log.record(StepType.TREE_EDGE, vertex, predecessorEdges[vertex], distance);
+            }
+            log.record(StepType.FINALIZE, vertex, -1, distance);
+        }
+    }
+
+    /**
+     * Extracts the distance of a packed tentative distance and predecessor.
+     *
+     * @param packed The packed value
+     * @return The distance
+     */
+    private static int distance(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * Returns the largest edge weight of a graph and verifies that no weight is negative.
+     *
+     * @param graph The graph
+     * @return The maximum weight, or {@code 0} if the graph has no edges
+     */
+    private static int maxWeight(CsrGraph graph) {
+        int max = 0;
+        for (int arc = 0; arc < graph.arcCount(); arc++) {
+            if (graph.weight(arc) < 0) {
+                throw new IllegalArgumentException("Negative weight on edge " + graph.edgeId(arc));
+            }
+            max = Math.max(max, graph.weight(arc));
+        }
+        return max;
+    }
+
+    /**
+     * Relaxes the light or the heavy edges of a range of vertices. The range is split in halves until it has at most
+     * {@link #CHUNK_SIZE} vertices; every chunk collects the vertices it has updated first and appends them to the
+     * shared list at once. A vertex is listed once per relaxation, no matter how often its distance is shortened.
+     */
+    private final class Relaxation extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final boolean light;
+
+        /**
+         * Creates a relaxation of the given vertices.
+         *
+         * @param vertices The array holding the vertices
+         * @param from     The position of the first vertex (inclusive)
+         * @param to       The position of the last vertex (exclusive)
+         * @param light    True to relax the edges of weight at most delta, false to relax the heavier ones
+         */
+        Relaxation(int[] vertices, int from, int to, boolean light) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        /**
+         * Relaxes the edges of the chunk or splits it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Relaxation(vertices, from, middle, light), new Relaxation(vertices, middle, to, light));
+                return;
+            }
+            int[] changed = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int vertex = vertices[i];
+                long distance = distance(tentative.get(vertex));
+                if (!light) {
+                    predecessorEdges[vertex] = predecessorEdge(vertex);
+                }
+                for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                    if ((graph.weight(arc) <= delta) == light && shorten(graph.target(arc), vertex,
+                            distance + graph.weight(arc))) {
+                        if (count == changed.length) {
+                            changed = Arrays.copyOf(changed, count * 2);
+                        }
+                        changed[count++] = graph.target(arc);
+                    }
+                }
+            }
+            System.arraycopy(changed, 0, updated, updatedCount.getAndAdd(count), count);
+        }
+
+        /**
+         * Replaces the tentative distance of a vertex if the candidate is strictly shorter.
+         *
+         * @param vertex      The vertex
+         * @param predecessor The vertex the candidate path comes from
+         * @param candidate   The length of the candidate path
+         * @return True if the vertex has been updated and was not listed by this relaxation before
+         */
+        private boolean shorten(int vertex, int predecessor, long candidate) {
+            if (candidate >= ShortestPaths.UNREACHABLE) {
+                return false;
+            }
+            long current = tentative.get(vertex);
+            while (candidate < distance(current)) {
+                if (tentative.compareAndSet(vertex, current, candidate << 32 | predecessor & 0xFFFFFFFFL)) {
+                    return touch(vertex);
+                }
+                current = tentative.get(vertex);
+            }
+            return false;
+        }
+
+        /**
+         * Marks a vertex as updated by this relaxation.
+         *
+         * @param vertex The vertex
+         * @return True if the vertex has not been marked before
+         */
+        private boolean touch(int vertex) {
+            int word = vertex >>> 6;
+            long bit = 1L << vertex;
+            long current = touched.get(word);
+            while ((current & bit) == 0) {
+                if (touched.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+                current = touched.get(word);
+            }
+            return false;
+        }
+
+        /**
+         * Finds the edge from the predecessor of a settled vertex. Among parallel edges, the first one with the right
+         * weight is chosen.
+         *
+         * @param vertex The settled vertex
+         * @return The id of the edge, or {@code -1} for the source
+         */
+        private int predecessorEdge(int vertex) {
+            long packed = tentative.get(vertex);
+            int predecessor = (int) packed;
+            if (predecessor < 0) {
+                return -1;
+            }
+            long weight = (long) distance(packed) - distance(tentative.get(predecessor));
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                if (graph.target(arc) == predecessor && graph.weight(arc) == weight) {
+                    return graph.edgeId(arc);
+                }
+            }
+            return -1;
+        }
+    }
+}
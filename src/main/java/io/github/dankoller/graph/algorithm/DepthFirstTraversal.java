@@ -0,0 +1,88 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Iterative depth first search over a {@link CsrGraph}. The explicit vertex stack and the per-vertex arc cursor replace
+ * the call stack of a recursive implementation, so the discovery order is the same while the traversal runs in
+ * O(V + E) without any stack growth or allocation per step.
+ */
+public class DepthFirstTraversal implements TraversalEngine {
+    private final CsrGraph graph;
+    private final BitSet visited;
+    private final int[] stack;
+    private final int[] cursor;
+    private final int[] order;
+    private final int[] parents;
+    private final int[] edges;
+
+    /**
+     * Creates a new depth first search engine for the given graph.
+     *
+     * @param graph The graph to traverse
+     */
+    public DepthFirstTraversal(CsrGraph graph) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.visited = new BitSet(vertices);
+        this.stack = new int[vertices];
+        this.cursor = new int[vertices];
+        this.order = new int[vertices];
+        this.parents = new int[vertices];
+        this.edges = new int[vertices];
+    }
+
+    /**
+     * Performs a depth first search from the given source. Neighbors are visited in arc order.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The traversal result
+     */
+    @Override
+    public Traversal run(int source, StepLog log) {
+        visited.clear();
+        visited.set(source);
+        order[0] = source;
+        parents[0] = -1;
+        edges[0] = -1;
+        int count = 1;
+        stack[0] = source;
+        cursor[source] = graph.firstArc(source);
+        int top = 1;
+        if (log != null) {
+            log.record(StepType.VISIT, source, -1, 0);
+        }
+        while (top > 0) {
+            int vertex = stack[top - 1];
+            int arc = cursor[vertex];
+            if (arc == graph.endArc(vertex)) {
+                top--;
+                if (log != null) {
+                    log.record(StepType.FINALIZE, vertex, -1, 0);
+                }
+                continue;
+            }
+            cursor[vertex] = arc + 1;
+            int neighbor = graph.target(arc);
+            if (!visited.get(neighbor)) {
+                visited.set(neighbor);
+                order[count] = neighbor;
+                parents[count] = vertex;
+                edges[count] = graph.edgeId(arc);
+                count++;
+                cursor[neighbor] = graph.firstArc(neighbor);
+                stack[top++] = neighbor;
+                if (log != null) {
+                    log.record(StepType.TREE_EDGE, neighbor, edges[count - 1], 0);
+                    log.record(StepType.VISIT, neighbor, -1, 0);
+                }
+            }
+        }
+        return new Traversal(source, Arrays.copyOf(order, count), Arrays.copyOf(parents, count),
+                Arrays.copyOf(edges, count));
+    }
+}
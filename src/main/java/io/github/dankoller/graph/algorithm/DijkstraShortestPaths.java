@@ -0,0 +1,84 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's single source shortest path algorithm over a {@link CsrGraph} with primitive distance arrays and an
+ * {@link IndexedMinHeap}, so every vertex is in the heap at most once and relaxations use decrease-key. Runs in
+ * O((V + E) log V). Edge weights are expected to be non-negative.
+ */
+public class DijkstraShortestPaths {
+    private final CsrGraph graph;
+    private final IndexedMinHeap heap;
+    private final int[] settled;
+
+    /**
+     * Creates a new Dijkstra engine for the given graph.
+     *
+     * @param graph The graph to search
+     */
+    public DijkstraShortestPaths(CsrGraph graph) {
+        this.graph = graph;
+        this.heap = new IndexedMinHeap(graph.vertexCount());
+        this.settled = new int[graph.vertexCount()];
+    }
+
+    /**
+     * Computes the shortest paths from the given source to all reachable vertices.
+     *
+     * @param source The vertex to start from
+     * @return The distances and the shortest path tree
+     */
+    public ShortestPaths run(int source) {
+        return run(source, null);
+    }
+
+    /**
+     * Computes the shortest paths from the given source to all reachable vertices and records every step.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The distances and the shortest path tree
+     */
+    public ShortestPaths run(int source, StepLog log) {
+        int vertices = graph.vertexCount();
+        int[] distances = new int[vertices];
+        int[] predecessors = new int[vertices];
+        int[] predecessorEdges = new int[vertices];
+        Arrays.fill(distances, ShortestPaths.UNREACHABLE);
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(predecessorEdges, -1);
+        distances[source] = 0;
+        heap.clear();
+        heap.insertOrDecrease(source, 0);
+        int count = 0;
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            settled[count++] = vertex;
+            long distance = distances[vertex];
+            if (log != null) {
+                if (vertex != source) {
+                    log.record(StepType.TREE_EDGE, vertex, predecessorEdges[vertex], distances[vertex]);
+                }
+                log.record(StepType.FINALIZE, vertex, -1, distances[vertex]);
+            }
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                long candidate = distance + graph.weight(arc);
+                if (candidate < distances[neighbor] && (distances[neighbor] == ShortestPaths.UNREACHABLE
+                        || heap.contains(neighbor))) {
+                    distances[neighbor] = (int) candidate;
+                    predecessors[neighbor] = vertex;
+                    predecessorEdges[neighbor] = graph.edgeId(arc);
+                    heap.insertOrDecrease(neighbor, candidate);
+                    if (log != null) {
+                        log.record(StepType.RELAX, neighbor, graph.edgeId(arc), (int) candidate);
+                    }
+                }
+            }
+        }
+        return new ShortestPaths(source, distances, predecessors, predecessorEdges, Arrays.copyOf(settled, count));
+    }
+}
@@ -0,0 +1,334 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level synchronous breadth first search which chooses the direction of every level by the size of the frontier
+ * (Beamer et al., "Direction-Optimizing Breadth-First Search"). A top-down level expands the arcs of the frontier; a
+ * bottom-up level lets every unvisited vertex look for a parent in the frontier and stops at the first one found,
+ * which avoids scanning the arcs of already visited vertices once the frontier covers a large part of a low diameter
+ * graph. Both directions are split into chunks on a {@link ForkJoinPool}; vertices are claimed in an atomic visited
+ * bitmap, so every vertex is discovered exactly once.
+ * <p>
+ * The vertices of every level are sorted by id, so the discovery order does not depend on the scheduling. The parent
+ * of a vertex with several neighbors in the previous level may differ between runs.
+ */
+public class DirectionOptimizingTraversal implements TraversalEngine {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int CHUNK_SIZE = 1024;
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final AtomicLongArray visited;
+    private final long[] frontier;
+    private final int[] order;
+    private final int[] parents;
+    private final int[] parentEdges;
+    private final AtomicInteger tail = new AtomicInteger();
+
+    /**
+     * Creates a new direction optimizing search engine for the given graph running on the common pool.
+     *
+     * @param graph The graph to traverse
+     */
+    public DirectionOptimizingTraversal(CsrGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new direction optimizing search engine for the given graph.
+     *
+     * @param graph The graph to traverse
+     * @param pool  The pool to expand the levels on
+     */
+    public DirectionOptimizingTraversal(CsrGraph graph, ForkJoinPool pool) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.pool = pool;
+        this.visited = new AtomicLongArray((vertices + 63) >>> 6);
+        this.frontier = new long[(vertices + 63) >>> 6];
+        this.order = new int[vertices];
+        this.parents = new int[vertices];
+        this.parentEdges = new int[vertices];
+    }
+
+    /**
+     * Performs a direction optimizing breadth first search from the given source. The steps of a level are recorded
+     * after the level has been expanded: every vertex of the frontier is visited, every vertex of the next level is
+     * reached through its tree edge and enqueued, and the frontier is finalized.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The traversal result
+     */
+    @Override
+    public Traversal run(int source, StepLog log) {
+        for (int word = 0; word < visited.length(); word++) {
+            visited.set(word, 0);
+        }
+        claim(source);
+        order[0] = source;
+        parents[source] = -1;
+        parentEdges[source] = -1;
+        if (log != null) {
+            log.record(StepType.ENQUEUE, source, -1, 0);
+        }
+        long frontierArcs = graph.degree(source);
+        long unexploredArcs = graph.arcCount() - frontierArcs;
+        boolean bottomUp = false;
+        int head = 0;
+        int end = 1;
+        while (head < end) {
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && end - head < graph.vertexCount() / BETA) {
+                bottomUp = false;
+            }
+            tail.set(end);
+            if (bottomUp) {
+                Arrays.fill(frontier, 0);
+                for (int i = head; i < end; i++) {
+                    frontier[order[i] >>> 6] |= 1L << order[i];
+                }
+                level(new BottomUp(0, graph.vertexCount()));
+            } else {
+                level(new TopDown(head, end));
+            }
+            int next = tail.get();
+            Arrays.sort(order, end, next);
+            frontierArcs = 0;
+            for (int i = end; i < next; i++) {
+                frontierArcs += graph.degree(order[i]);
+            }
+            unexploredArcs -= frontierArcs;
+            if (log != null) {
+                recordLevel(log, head, end, next);
+            }
+            head = end;
+            end = next;
+        }
+        int[] treeParents = new int[end];
+        int[] treeEdges = new int[end];
+        for (int i = 0; i < end; i++) {
+            treeParents[i] = parents[order[i]];
+            treeEdges[i] = parentEdges[order[i]];
+        }
+        return new Traversal(source, Arrays.copyOf(order, end), treeParents, treeEdges);
+    }
+
+    /**
+     * Runs a level expansion on the pool, or directly on the current thread if it is too small to be split.
+     *
+     * @param task The expansion
+     */
+    private void level(Expansion task) {
+        if (task.to - task.from <= CHUNK_SIZE) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Records the steps of a level.
+     *
+     * @param log  The log to record the steps to
+     * @param head The position of the first vertex of the frontier in the discovery order
+     * @param end  The position of the first vertex of the next level
+     * @param next The position after the last vertex of the next level
+     */
+    private void recordLevel(StepLog log, int head, int end, int next) {
+        for (int i = head; i < end; i++) {
+            log.record(StepType.VISIT, order[i], -1, 0);
+        }
+        for (int i = end; i < next; i++) {
+            log.record(StepType.TREE_EDGE, order[i], parentEdges[order[i]], 0);
+            log.record(StepType.ENQUEUE, order[i], parentEdges[order[i]], 0);
+        }
+        for (int i = head; i < end; i++) {
+            log.record(StepType.FINALIZE, order[i], -1, 0);
+        }
+    }
+
+    /**
+     * Marks a vertex as visited unless another thread has done so before.
+     *
+     * @param vertex The vertex
+     * @return True if the vertex has been claimed by this call
+     */
+    private boolean claim(int vertex) {
+        int word = vertex >>> 6;
+        long bit = 1L << vertex;
+        long current = visited.get(word);
+        while ((current & bit) == 0) {
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+            current = visited.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a vertex has been visited.
+     *
+     * @param vertex The vertex
+     * @return True if the vertex has been visited
+     */
+    private boolean isVisited(int vertex) {
+        return (visited.get(vertex >>> 6) & 1L << vertex) != 0;
+    }
+
+    /**
+     * A part of a level expansion which is split in halves until it has at most {@link #CHUNK_SIZE} elements. Every
+     * chunk collects the vertices it discovers and appends them to the next level at once.
+     */
+    private abstract class Expansion extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        final int from;
+        final int to;
+        private int[] discovered;
+        private int count;
+
+        /**
+         * Creates an expansion of the given range.
+         *
+         * @param from The first element (inclusive)
+         * @param to   The last element (exclusive)
+         */
+        Expansion(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Expands the chunk or splits it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(split(from, middle), split(middle, to));
+                return;
+            }
+            discovered = new int[16];
+            for (int i = from; i < to; i++) {
+                expand(i);
+            }
+            System.arraycopy(discovered, 0, order, tail.getAndAdd(count), count);
+        }
+
+        /**
+         * Adds a vertex to the vertices discovered by this chunk.
+         *
+         * @param vertex The discovered vertex
+         */
+        void discover(int vertex) {
+            if (count == discovered.length) {
+                discovered = Arrays.copyOf(discovered, count * 2);
+            }
+            discovered[count++] = vertex;
+        }
+
+        /**
+         * Creates an expansion of a part of the range.
+         *
+         * @param from The first element (inclusive)
+         * @param to   The last element (exclusive)
+         * @return The expansion
+         */
+        abstract Expansion split(int from, int to);
+
+        /**
+         * Expands a single element of the range.
+         *
+         * @param index The element
+         */
+        abstract void expand(int index);
+    }
+
+    /**
+     * Top-down expansion of a range of the frontier: every unvisited neighbor is claimed and added to the next level.
+     */
+    private final class TopDown extends Expansion {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a top-down expansion of the frontier at the given positions of the discovery order.
+         *
+         * @param from The first position (inclusive)
+         * @param to   The last position (exclusive)
+         */
+        TopDown(int from, int to) {
+            super(from, to);
+        }
+
+        @Override
+        Expansion split(int from, int to) {
+            return new TopDown(from, to);
+        }
+
+        @Override
+        void expand(int index) {
+            int vertex = order[index];
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                if (!isVisited(neighbor) && claim(neighbor)) {
+                    parents[neighbor] = vertex;
+                    parentEdges[neighbor] = graph.edgeId(arc);
+                    discover(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bottom-up expansion of a range of vertex ids: every unvisited vertex with a neighbor in the frontier is added to
+     * the next level with the first such neighbor as its parent.
+     */
+    private final class BottomUp extends Expansion {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a bottom-up expansion of the given vertices.
+         *
+         * @param from The first vertex (inclusive)
+         * @param to   The last vertex (exclusive)
+         */
+        BottomUp(int from, int to) {
+            super(from, to);
+        }
+
+        @Override
+        Expansion split(int from, int to) {
+            return new BottomUp(from, to);
+        }
+
+        @Override
+        void expand(int vertex) {
+            if (isVisited(vertex)) {
+                return;
+            }
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                if ((frontier[neighbor >>> 6] & 1L << neighbor) != 0) {
+                    claim(vertex);
+                    parents[vertex] = neighbor;
+                    parentEdges[vertex] = graph.edgeId(arc);
+                    discover(vertex);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The distances from several sources to all vertices. The rows are stored one after another in a single array, so
+ * row {@code i} holds the distances from {@code sources[i]}.
+ *
+ * @param sources     The source vertex of every row
+ * @param vertexCount The number of vertices, i.e. the length of every row
+ * @param distances   The distances of all rows ({@link ShortestPaths#UNREACHABLE} if not reachable)
+ */
+public record DistanceMatrix(int[] sources, int vertexCount, int[] distances) {
+    /**
+     * Returns the number of rows.
+     *
+     * @return The number of sources
+     */
+    public int rows() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the distance from the source of the given row to a vertex.
+     *
+     * @param row    The index of the row
+     * @param vertex The target vertex
+     * @return The distance or {@link ShortestPaths#UNREACHABLE}
+     */
+    public int distance(int row, int vertex) {
+        return distances[row * vertexCount + vertex];
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.GraphCore;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Shortest paths from a fixed source which are kept up to date while the {@link GraphCore} is edited, in the spirit of
+ * Ramalingam and Reps. Instead of searching the whole graph again, every change repairs only the part of the shortest
+ * path tree it affects:
+ * <ul>
+ *     <li>An added edge or a decreased weight can only shorten paths. The endpoint it improves is updated and the
+ *     improvement is propagated with Dijkstra's algorithm, which stops at the first vertices that do not improve.</li>
+ *     <li>A removed tree edge or an increased tree edge weight can only lengthen the paths of the subtree below it. The
+ *     distances of the subtree are reset, every vertex of it is seeded with its best path through a vertex outside of
+ *     the subtree, and Dijkstra's algorithm settles the subtree again. Changes of other edges do nothing.</li>
+ * </ul>
+ * Each repair takes time proportional to the degrees of the changed vertices times the logarithm of their number.
+ * Vertices added to the graph are unreachable until an edge connects them. The engine must be told about every change
+ * of an edge, but not about added vertices, and it can not follow the removal of its source. Edge weights must be
+ * non-negative.
+ */
+public class DynamicShortestPaths {
+    private final GraphCore graph;
+    private final int source;
+    private int[] distances;
+    private int[] predecessors;
+    private int[] predecessorEdges;
+    private IndexedMinHeap heap;
+    private final BitSet affected = new BitSet();
+    private int[] queue;
+
+    /**
+     * Computes the shortest paths from the given source of the graph.
+     *
+     * @param graph  The graph to search and follow
+     * @param source The vertex to start from
+     */
+    public DynamicShortestPaths(GraphCore graph, int source) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = new int[0];
+        this.predecessors = new int[0];
+        this.predecessorEdges = new int[0];
+        ensureCapacity();
+        distances[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        propagate();
+    }
+
+    /**
+     * Takes over shortest paths which have been computed on a snapshot of the current graph, e.g. by
+     * {@link DijkstraShortestPaths}.
+     *
+     * @param graph The graph the paths have been computed on and which is followed from now on
+     * @param paths The shortest paths
+     */
+    public DynamicShortestPaths(GraphCore graph, ShortestPaths paths) {
+        this.graph = graph;
+        this.source = paths.source();
+        this.distances = paths.distances().clone();
+        this.predecessors = paths.predecessors().clone();
+        this.predecessorEdges = paths.predecessorEdges().clone();
+        ensureCapacity();
+    }
+
+    /**
+     * Returns the vertex the paths start from.
+     *
+     * @return The source vertex
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the current distance of the given vertex from the source.
+     *
+     * @param vertex The vertex
+     * @return The distance or {@link ShortestPaths#UNREACHABLE}
+     */
+    public int distance(int vertex) {
+        return vertex < distances.length ? distances[vertex] : ShortestPaths.UNREACHABLE;
+    }
+
+    /**
+     * Updates the paths after an edge has been added to the graph.
+     *
+     * @param edge The id of the added edge
+     * @throws IllegalArgumentException If the weight of the edge is negative
+     */
+    public void edgeAdded(int edge) {
+        checkWeight(edge);
+        ensureCapacity();
+        improve(edge, graph.source(edge), graph.target(edge));
+        improve(edge, graph.target(edge), graph.source(edge));
+        propagate();
+    }
+
+    /**
+     * Updates the paths after edges have been removed from the graph, e.g. all edges of a removed vertex at once.
+     *
+     * @param edges The ids of the removed edges
+     */
+    public void edgesRemoved(int... edges) {
+        ensureCapacity();
+        int roots = 0;
+        for (int edge : edges) {
+            roots = addTreeChild(edge, roots);
+        }
+        repair(roots);
+    }
+
+    /**
+     * Updates the paths after the weight of an edge has been changed.
+     *
+     * @param edge      The id of the changed edge
+     * @param oldWeight The weight of the edge before the change
+     * @throws IllegalArgumentException If the new weight of the edge is negative
+     */
+    public void weightChanged(int edge, int oldWeight) {
+        checkWeight(edge);
+        ensureCapacity();
+        if (graph.weight(edge) < oldWeight) {
+            edgeAdded(edge);
+        } else if (graph.weight(edge) > oldWeight) {
+            repair(addTreeChild(edge, 0));
+        }
+    }
+
+    /**
+     * Returns the current shortest paths. The vertices are settled in order of distance; vertices at the same
+     * distance are ordered parents first.
+     *
+     * @return A copy of the current shortest paths
+     */
+    public ShortestPaths toShortestPaths() {
+        int vertices = graph.vertexIdBound();
+        ensureCapacity();
+        int[] childOffsets = new int[vertices + 1];
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            if (predecessors[vertex] >= 0) {
+                childOffsets[predecessors[vertex] + 1]++;
+            }
+        }
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            childOffsets[vertex + 1] += childOffsets[vertex];
+        }
+        int[] children = new int[childOffsets[vertices]];
+        int[] next = Arrays.copyOf(childOffsets, vertices);
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            if (predecessors[vertex] >= 0) {
+                children[next[predecessors[vertex]]++] = vertex;
+            }
+        }
+        int[] treeOrder = new int[children.length + 1];
+        treeOrder[0] = source;
+        int count = 1;
+        for (int head = 0; head < count; head++) {
+            int parent = treeOrder[head];
+            for (int i = childOffsets[parent]; i < childOffsets[parent + 1]; i++) {
+                treeOrder[count++] = children[i];
+            }
+        }
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (long) distances[treeOrder[i]] << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] settled = new int[count];
+        for (int i = 0; i < count; i++) {
+            settled[i] = treeOrder[(int) keys[i]];
+        }
+        return new ShortestPaths(source, Arrays.copyOf(distances, vertices), Arrays.copyOf(predecessors, vertices),
+                Arrays.copyOf(predecessorEdges, vertices), settled);
+    }
+
+    /**
+     * Verifies that an edge has a non-negative weight. An undirected edge with a negative weight is a negative cycle,
+     * which would make the propagation run forever.
+     *
+     * @param edge The id of the edge
+     */
+    private void checkWeight(int edge) {
+        if (graph.weight(edge) < 0) {
+            throw new IllegalArgumentException("Negative weight on edge " + edge);
+        }
+    }
+
+    /**
+     * Shortens the path of a vertex if an edge offers a shorter one and queues the vertex for propagation.
+     *
+     * @param edge The edge
+     * @param from The endpoint the path comes from
+     * @param to   The endpoint to improve
+     */
+    private void improve(int edge, int from, int to) {
+        if (distances[from] == ShortestPaths.UNREACHABLE) {
+            return;
+        }
+        long candidate = (long) distances[from] + graph.weight(edge);
+        if (candidate < distances[to]) {
+            distances[to] = (int) candidate;
+            predecessors[to] = from;
+            predecessorEdges[to] = edge;
+            heap.insertOrDecrease(to, candidate);
+        }
+    }
+
+    /**
+     * Settles the queued vertices with Dijkstra's algorithm. Only vertices whose distance improves are queued, so the
+     * search does not leave the region affected by the last change.
+     */
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            for (int i = 0; i < graph.degree(vertex); i++) {
+                int edge = graph.incidentEdge(vertex, i);
+                improve(edge, vertex, graph.opposite(edge, vertex));
+            }
+        }
+    }
+
+    /**
+     * Adds the endpoint of an edge which is reached through it in the shortest path tree to the roots of the subtrees
+     * to repair.
+     *
+     * @param edge  The changed edge
+     * @param roots The number of roots so far
+     * @return The new number of roots
+     */
+    private int addTreeChild(int edge, int roots) {
+        for (int child : new int[]{graph.source(edge), graph.target(edge)}) {
+            if (child < predecessorEdges.length && predecessorEdges[child] == edge && !affected.get(child)) {
+                affected.set(child);
+                queue[roots++] = child;
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Recomputes the subtrees below the given roots. The roots are at the start of the queue and marked as affected.
+     *
+     * @param roots The number of roots
+     */
+    private void repair(int roots) {
+        int tail = roots;
+        for (int head = 0; head < tail; head++) {
+            int parent = queue[head];
+            for (int i = 0; i < graph.degree(parent); i++) {
+                int edge = graph.incidentEdge(parent, i);
+                int child = graph.opposite(edge, parent);
+                if (predecessorEdges[child] == edge && predecessors[child] == parent && !affected.get(child)) {
+                    affected.set(child);
+                    queue[tail++] = child;
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            int vertex = queue[i];
+            distances[vertex] = ShortestPaths.UNREACHABLE;
+            predecessors[vertex] = -1;
+            predecessorEdges[vertex] = -1;
+        }
+        for (int i = 0; i < tail; i++) {
+            int vertex = queue[i];
+            for (int j = 0; j < graph.degree(vertex); j++) {
+                int edge = graph.incidentEdge(vertex, j);
+                int neighbor = graph.opposite(edge, vertex);
+                if (!affected.get(neighbor)) {
+                    improve(edge, neighbor, vertex);
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            affected.clear(queue[i]);
+        }
+        propagate();
+    }
+
+    /**
+     * Grows the arrays to at least the vertex id bound of the graph. New vertices are unreachable.
+     */
+    private void ensureCapacity() {
+        int bound = graph.vertexIdBound();
+        if (distances.length < bound) {
+            int length = distances.length;
+            int capacity = Math.max(bound, length * 2);
+            distances = Arrays.copyOf(distances, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            predecessorEdges = Arrays.copyOf(predecessorEdges, capacity);
+            Arrays.fill(distances, length, capacity, ShortestPaths.UNREACHABLE);
+            Arrays.fill(predecessors, length, capacity, -1);
+            Arrays.fill(predecessorEdges, length, capacity, -1);
+        }
+        if (heap == null || queue.length < distances.length) {
+            heap = new IndexedMinHeap(distances.length);
+            queue = new int[distances.length];
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.GraphCore;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A minimum spanning forest which is kept up to date while the {@link GraphCore} is edited. The trees of the forest are
+ * stored in a link-cut tree (Sleator and Tarjan) in which every forest edge is a node between the nodes of its two
+ * vertices, so the heaviest edge on the path between two vertices is found in amortized O(log V):
+ * <ul>
+ *     <li>An added edge (or a lighter non-forest edge) joins two trees, or replaces the heaviest edge on the cycle it
+ *     closes if that edge is heavier.</li>
+ *     <li>A removed forest edge (or a heavier forest edge) splits its tree. Both halves are searched alternately, so
+ *     only the smaller half is searched completely, and its lightest leaving edge reconnects the tree. Removing a
+ *     vertex splits its tree into more pieces, which are joined pairwise in the same way.</li>
+ * </ul>
+ * The reconnecting edge is found in time proportional to the edges of the smaller half rather than in polylogarithmic
+ * time, which would need the layered structure of Holm, de Lichtenberg and Thorup; insertions and all other changes
+ * take logarithmic time. The engine must be told about every change of an edge, but not about added vertices.
+ */
+public class DynamicSpanningForest {
+    private static final int NONE = -1;
+    private final GraphCore graph;
+    private final BitSet inForest = new BitSet();
+    private long totalWeight;
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] parent = new int[0];
+    private boolean[] flipped = new boolean[0];
+    private long[] values = new long[0];
+    private int[] maxNodes = new int[0];
+    private int[] path = new int[0];
+    private int[] marks = new int[0];
+    private int[][] queues = {new int[0], new int[0]};
+    private final int[] queueSizes = new int[2];
+    private int stamp;
+
+    /**
+     * Computes a minimum spanning forest of the graph by adding its edges one by one.
+     *
+     * @param graph The graph to span and follow
+     */
+    public DynamicSpanningForest(GraphCore graph) {
+        this.graph = graph;
+        ensureCapacity();
+        for (int edge = 0; edge < graph.edgeIdBound(); edge++) {
+            if (graph.containsEdge(edge)) {
+                edgeAdded(edge);
+            }
+        }
+    }
+
+    /**
+     * Takes over a minimum spanning forest which has been computed on a snapshot of the current graph, e.g. by
+     * {@link PrimMinimumSpanningTree} or {@link KruskalMinimumSpanningTree}. Every tree is hung from one of its
+     * vertices with path parent pointers only, so this takes linear time.
+     *
+     * @param graph  The graph the forest has been computed on and which is followed from now on
+     * @param forest The minimum spanning forest
+     */
+    public DynamicSpanningForest(GraphCore graph, SpanningForest forest) {
+        this.graph = graph;
+        ensureCapacity();
+        for (int edge : forest.edges()) {
+            inForest.set(edge);
+            values[edgeNode(edge)] = graph.weight(edge);
+            totalWeight += graph.weight(edge);
+        }
+        int[] order = queues[0];
+        BitSet visited = new BitSet(graph.vertexIdBound());
+        for (int root = 0; root < graph.vertexIdBound(); root = visited.nextClearBit(root + 1)) {
+            visited.set(root);
+            order[0] = root;
+            for (int head = 0, tail = 1; head < tail; head++) {
+                int vertex = order[head];
+                for (int i = 0; i < graph.degree(vertex); i++) {
+                    int edge = graph.incidentEdge(vertex, i);
+                    int child = graph.opposite(edge, vertex);
+                    if (inForest.get(edge) && !visited.get(child)) {
+                        visited.set(child);
+                        order[tail++] = child;
+                        parent[vertexNode(child)] = edgeNode(edge);
+                        parent[edgeNode(edge)] = vertexNode(vertex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the total weight of the forest.
+     *
+     * @return The sum of the weights of all forest edges
+     */
+    public long totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Checks whether an edge is part of the forest.
+     *
+     * @param edge The id of the edge
+     * @return True if the edge is a forest edge
+     */
+    public boolean contains(int edge) {
+        return inForest.get(edge);
+    }
+
+    /**
+     * Updates the forest after an edge has been added to the graph.
+     *
+     * @param edge The id of the added edge
+     */
+    public void edgeAdded(int edge) {
+        ensureCapacity();
+        int from = graph.source(edge);
+        int to = graph.target(edge);
+        if (from == to) {
+            return;
+        }
+        if (findRoot(vertexNode(from)) != findRoot(vertexNode(to))) {
+            link(edge);
+            return;
+        }
+        makeRoot(vertexNode(from));
+        access(vertexNode(to));
+        int heaviest = maxNodes[vertexNode(to)];
+        if (values[heaviest] > graph.weight(edge)) {
+            cut(heaviest >>> 1);
+            link(edge);
+        }
+    }
+
+    /**
+     * Updates the forest after edges have been removed from the graph, e.g. all edges of a removed vertex at once.
+     *
+     * @param edges The ids of the removed edges
+     */
+    public void edgesRemoved(int... edges) {
+        int[] pieces = new int[2 * edges.length];
+        int count = 0;
+        for (int edge : edges) {
+            if (inForest.get(edge)) {
+                cut(edge);
+                pieces[count++] = graph.source(edge);
+                pieces[count++] = graph.target(edge);
+            }
+        }
+        reconnect(pieces, count);
+    }
+
+    /**
+     * Updates the forest after the weight of an edge has been changed.
+     *
+     * @param edge      The id of the changed edge
+     * @param oldWeight The weight of the edge before the change
+     */
+    public void weightChanged(int edge, int oldWeight) {
+        int weight = graph.weight(edge);
+        if (!inForest.get(edge)) {
+            if (weight < oldWeight) {
+                edgeAdded(edge);
+            }
+        } else if (weight < oldWeight) {
+            int node = edgeNode(edge);
+            access(node);
+            values[node] = weight;
+            update(node);
+            totalWeight += weight - oldWeight;
+        } else if (weight > oldWeight) {
+            values[edgeNode(edge)] = oldWeight;
+            cut(edge);
+            reconnect(new int[]{graph.source(edge), graph.target(edge)}, 2);
+        }
+    }
+
+    /**
+     * Lists the forest starting with the tree of the given vertex, each tree in breadth first order from its root, and
+     * records the growth of every tree like {@link PrimMinimumSpanningTree} does, without the relaxations.
+     *
+     * @param source The vertex whose tree is listed first
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return A copy of the current forest
+     */
+    public SpanningForest toSpanningForest(int source, StepLog log) {
+        int vertices = graph.vertexIdBound();
+        int size = inForest.cardinality();
+        int[] sources = new int[size];
+        int[] targets = new int[size];
+        int[] edges = new int[size];
+        int[] order = new int[vertices];
+        BitSet visited = new BitSet(vertices);
+        int count = 0;
+        for (int root = source; root >= 0 && root < vertices; root = nextRoot(visited)) {
+            visited.set(root);
+            order[0] = root;
+            if (log != null) {
+                log.record(StepType.VISIT, root, NONE, 0);
+            }
+            for (int head = 0, tail = 1; head < tail; head++) {
+                int vertex = order[head];
+                for (int i = 0; i < graph.degree(vertex); i++) {
+                    int edge = graph.incidentEdge(vertex, i);
+                    int neighbor = graph.opposite(edge, vertex);
+                    if (inForest.get(edge) && !visited.get(neighbor)) {
+                        visited.set(neighbor);
+                        order[tail++] = neighbor;
+                        sources[count] = vertex;
+                        targets[count] = neighbor;
+                        edges[count++] = edge;
+                        if (log != null) {
+                            log.record(StepType.TREE_EDGE, neighbor, edge, graph.weight(edge));
+                        }
+                    }
+                }
+            }
+        }
+        return new SpanningForest(sources, targets, edges, totalWeight);
+    }
+
+    /**
+     * Returns the next vertex of the graph which has not been listed yet.
+     *
+     * @param visited The listed vertices
+     * @return The next root, or {@code -1} if all vertices have been listed
+     */
+    private int nextRoot(BitSet visited) {
+        for (int vertex = visited.nextClearBit(0); vertex < graph.vertexIdBound();
+             vertex = visited.nextClearBit(vertex + 1)) {
+            if (graph.containsVertex(vertex)) {
+                return vertex;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Reconnects the trees which have been split by cutting forest edges. Each cut tree falls into pieces which all
+     * contain an endpoint of a cut edge, and every edge of the graph leaving a piece leads to another piece of the same
+     * tree. Two pieces are searched in turns until the smaller one has been searched completely; by the cut property,
+     * its lightest leaving edge belongs to a minimum spanning forest and is linked. If it has no leaving edge, it is a
+     * complete tree of the new forest and its pieces are dropped.
+     *
+     * @param pieces A vertex of every piece, with duplicates
+     * @param count  The number of vertices
+     */
+    private void reconnect(int[] pieces, int count) {
+        ensureCapacity();
+        while (count > 1) {
+            int first = pieces[0];
+            int second = pieces[count - 1];
+            if (findRoot(vertexNode(first)) == findRoot(vertexNode(second))) {
+                count--;
+                continue;
+            }
+            int side = searchSmallerPiece(first, second);
+            int best = lightestLeavingEdge(side);
+            if (best != NONE) {
+                link(best);
+                continue;
+            }
+            int root = findRoot(vertexNode(queues[side][0]));
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (findRoot(vertexNode(pieces[i])) != root) {
+                    pieces[kept++] = pieces[i];
+                }
+            }
+            count = kept;
+        }
+    }
+
+    /**
+     * Searches the pieces of two vertices in turns, one vertex at a time, until one of them has been searched
+     * completely. The vertices of that piece are at the start of its queue and marked with the current stamp plus its
+     * side.
+     *
+     * @param first  A vertex of the first piece
+     * @param second A vertex of the second piece
+     * @return The side of the completely searched piece (0 for the first, 1 for the second)
+     */
+    private int searchSmallerPiece(int first, int second) {
+        stamp += 2;
+        int[] heads = new int[2];
+        queueSizes[0] = 1;
+        queueSizes[1] = 1;
+        queues[0][0] = first;
+        queues[1][0] = second;
+        marks[first] = stamp;
+        marks[second] = stamp + 1;
+        int side = 0;
+        while (heads[0] < queueSizes[0] && heads[1] < queueSizes[1]) {
+            int vertex = queues[side][heads[side]++];
+            for (int i = 0; i < graph.degree(vertex); i++) {
+                int edge = graph.incidentEdge(vertex, i);
+                int neighbor = graph.opposite(edge, vertex);
+                if (inForest.get(edge) && marks[neighbor] != stamp + side) {
+                    marks[neighbor] = stamp + side;
+                    queues[side][queueSizes[side]++] = neighbor;
+                }
+            }
+            side = 1 - side;
+        }
+        return heads[0] < queueSizes[0] ? 1 : 0;
+    }
+
+    /**
+     * Finds the lightest edge leaving a completely searched piece.
+     *
+     * @param side The side of the piece
+     * @return The id of the edge, or {@code -1} if no edge leaves the piece
+     */
+    private int lightestLeavingEdge(int side) {
+        int best = NONE;
+        for (int i = 0; i < queueSizes[side]; i++) {
+            int vertex = queues[side][i];
+            for (int j = 0; j < graph.degree(vertex); j++) {
+                int edge = graph.incidentEdge(vertex, j);
+                if (marks[graph.opposite(edge, vertex)] != stamp + side
+                        && (best == NONE || graph.weight(edge) < graph.weight(best))) {
+                    best = edge;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds an edge to the forest. Its endpoints must be in different trees.
+     *
+     * @param edge The id of the edge
+     */
+    private void link(int edge) {
+        int node = edgeNode(edge);
+        left[node] = NONE;
+        right[node] = NONE;
+        flipped[node] = false;
+        values[node] = graph.weight(edge);
+        maxNodes[node] = node;
+        makeRoot(vertexNode(graph.source(edge)));
+        parent[vertexNode(graph.source(edge))] = node;
+        parent[node] = vertexNode(graph.target(edge));
+        inForest.set(edge);
+        totalWeight += graph.weight(edge);
+    }
+
+    /**
+     * Removes an edge from the forest.
+     *
+     * @param edge The id of the edge
+     */
+    private void cut(int edge) {
+        int node = edgeNode(edge);
+        for (int vertex : new int[]{graph.source(edge), graph.target(edge)}) {
+            makeRoot(node);
+            access(vertexNode(vertex));
+            left[vertexNode(vertex)] = NONE;
+            parent[node] = NONE;
+            update(vertexNode(vertex));
+        }
+        inForest.clear(edge);
+        totalWeight -= values[node];
+    }
+
+    /**
+     * Makes the given node the root of its tree by reversing the path from the old root.
+     *
+     * @param node The node
+     */
+    private void makeRoot(int node) {
+        access(node);
+        flipped[node] ^= true;
+    }
+
+    /**
+     * Finds the root of the tree of the given node.
+     *
+     * @param node The node
+     * @return The root node
+     */
+    private int findRoot(int node) {
+        access(node);
+        int root = node;
+        push(root);
+        while (left[root] != NONE) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    /**
+     * Makes the path from the root of the tree to the given node preferred and splays the node to the root of its
+     * auxiliary tree.
+     *
+     * @param node The node
+     */
+    private void access(int node) {
+        for (int last = NONE, current = node; current != NONE; last = current, current = parent[current]) {
+            splay(current);
+            right[current] = last;
+            update(current);
+        }
+        splay(node);
+    }
+
+    /**
+     * Moves a node to the root of its auxiliary tree.
+     *
+     * @param node The node
+     */
+    private void splay(int node) {
+        int depth = 0;
+        path[depth++] = node;
+        for (int current = node; !isAuxiliaryRoot(current); current = parent[current]) {
+            path[depth++] = parent[current];
+        }
+        while (depth > 0) {
+            push(path[--depth]);
+        }
+        while (!isAuxiliaryRoot(node)) {
+            int up = parent[node];
+            if (!isAuxiliaryRoot(up)) {
+                int grandparent = parent[up];
+                boolean zigZig = (left[grandparent] == up) == (left[up] == node);
+                rotate(zigZig ? up : node);
+            }
+            rotate(node);
+        }
+    }
+
+    /**
+     * Rotates a node above its parent.
+     *
+     * @param node The node
+     */
+    private void rotate(int node) {
+        int up = parent[node];
+        int grandparent = parent[up];
+        if (!isAuxiliaryRoot(up)) {
+            if (left[grandparent] == up) {
+                left[grandparent] = node;
+            } else {
+                right[grandparent] = node;
+            }
+        }
+        parent[node] = grandparent;
+        if (left[up] == node) {
+            left[up] = right[node];
+            if (right[node] != NONE) {
+                parent[right[node]] = up;
+            }
+            right[node] = up;
+        } else {
+            right[up] = left[node];
+            if (left[node] != NONE) {
+                parent[left[node]] = up;
+            }
+            left[node] = up;
+        }
+        parent[up] = node;
+        update(up);
+        update(node);
+    }
+
+    /**
+     * Checks whether a node is the root of its auxiliary tree, i.e. its parent pointer is a path parent pointer.
+     *
+     * @param node The node
+     * @return True if the node is the root of its auxiliary tree
+     */
+    private boolean isAuxiliaryRoot(int node) {
+        int up = parent[node];
+        return up == NONE || (left[up] != node && right[up] != node);
+    }
+
+    /**
+     * Pushes a pending reversal of a node down to its children.
+     *
+     * @param node The node
+     */
+    private void push(int node) {
+        if (flipped[node]) {
+            int child = left[node];
+            left[node] = right[node];
+            right[node] = child;
+            if (left[node] != NONE) {
+                flipped[left[node]] ^= true;
+            }
+            if (right[node] != NONE) {
+                flipped[right[node]] ^= true;
+            }
+            flipped[node] = false;
+        }
+    }
+
+    /**
+     * Recomputes the heaviest node of the auxiliary subtree of a node.
+     *
+     * @param node The node
+     */
+    private void update(int node) {
+        int heaviest = node;
+        if (left[node] != NONE && values[maxNodes[left[node]]] > values[heaviest]) {
+            heaviest = maxNodes[left[node]];
+        }
+        if (right[node] != NONE && values[maxNodes[right[node]]] > values[heaviest]) {
+            heaviest = maxNodes[right[node]];
+        }
+        maxNodes[node] = heaviest;
+    }
+
+    /**
+     * Returns the link-cut tree node of a vertex.
+     *
+     * @param vertex The id of the vertex
+     * @return The node
+     */
+    private static int vertexNode(int vertex) {
+        return vertex << 1;
+    }
+
+    /**
+     * Returns the link-cut tree node of an edge.
+     *
+     * @param edge The id of the edge
+     * @return The node
+     */
+    private static int edgeNode(int edge) {
+        return edge << 1 | 1;
+    }
+
+    /**
+     * Grows the arrays to the vertex and edge id bounds of the graph. New nodes are single node trees.
+     */
+    private void ensureCapacity() {
+        int nodes = 2 * Math.max(graph.vertexIdBound(), graph.edgeIdBound());
+        if (nodes > left.length) {
+            int length = left.length;
+            int capacity = Math.max(nodes, length * 2);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            flipped = Arrays.copyOf(flipped, capacity);
+            values = Arrays.copyOf(values, capacity);
+            maxNodes = Arrays.copyOf(maxNodes, capacity);
+            path = new int[capacity];
+            for (int node = length; node < capacity; node++) {
+                left[node] = NONE;
+                right[node] = NONE;
+                parent[node] = NONE;
+                values[node] = Long.MIN_VALUE;
+                maxNodes[node] = node;
+            }
+        }
+        if (marks.length < graph.vertexIdBound()) {
+            int capacity = Math.max(graph.vertexIdBound(), marks.length * 2);
+            marks = Arrays.copyOf(marks, capacity);
+            queues = new int[][]{new int[capacity], new int[capacity]};
+        }
+    }
+}
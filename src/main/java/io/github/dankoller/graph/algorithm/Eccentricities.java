@@ -0,0 +1,39 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The eccentricity of several sources, i.e. the largest distance from every source to a vertex it can reach. Vertices
+ * which cannot be reached are ignored, so on a disconnected graph the values describe the component of each source.
+ *
+ * @param sources        The source vertices
+ * @param eccentricities The eccentricity of every source
+ * @param reachable      The number of vertices reachable from every source, including the source itself
+ */
+public record Eccentricities(int[] sources, int[] eccentricities, int[] reachable) {
+    /**
+     * Returns the largest eccentricity of all sources. If the sources are all vertices of a connected graph, this is
+     * the diameter of the graph.
+     *
+     * @return The largest eccentricity, or 0 if there are no sources
+     */
+    public int diameter() {
+        int diameter = 0;
+        for (int eccentricity : eccentricities) {
+            diameter = Math.max(diameter, eccentricity);
+        }
+        return diameter;
+    }
+
+    /**
+     * Returns the smallest eccentricity of all sources. If the sources are all vertices of a connected graph, this is
+     * the radius of the graph.
+     *
+     * @return The smallest eccentricity, or 0 if there are no sources
+     */
+    public int radius() {
+        int radius = eccentricities.length == 0 ? 0 : Integer.MAX_VALUE;
+        for (int eccentricity : eccentricities) {
+            radius = Math.min(radius, eccentricity);
+        }
+        return radius;
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.dankoller.graph.algorithm;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap over the integer keys {@code 0..capacity-1} with an index from key to heap position, so the priority
+ * of a key already in the heap can be decreased in O(log n) instead of inserting a duplicate entry.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] priorities;
+    private int size;
+
+    /**
+     * Creates an empty heap for the keys {@code 0..capacity-1}.
+     *
+     * @param capacity The number of distinct keys
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.priorities = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Inserts a key or lowers its priority if it is already in the heap with a higher priority.
+     *
+     * @param key      The key
+     * @param priority The new priority
+     * @return True if the key has been inserted or its priority has been decreased, false otherwise
+     */
+    public boolean insertOrDecrease(int key, long priority) {
+        int position = positions[key];
+        if (position < 0) {
+            position = size++;
+            heap[position] = key;
+            positions[key] = position;
+        } else if (priority >= priorities[key]) {
+            return false;
+        }
+        priorities[key] = priority;
+        siftUp(position);
+        return true;
+    }
+
+    /**
+     * Removes the key with the lowest priority.
+     *
+     * @return The removed key
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the lowest priority in the heap without removing its key.
+     *
+     * @return The lowest priority
+     */
+    public long peekPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return priorities[heap[0]];
+    }
+
+    /**
+     * Returns the priority a key has been inserted with. Only meaningful while the key is in the heap.
+     *
+     * @param key The key
+     * @return The priority of the key
+     */
+    public long priority(int key) {
+        return priorities[key];
+    }
+
+    /**
+     * Checks whether the given key is in the heap.
+     *
+     * @param key The key
+     * @return True if the key is in the heap, false otherwise
+     */
+    public boolean contains(int key) {
+        return positions[key] >= 0;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return True if the heap is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     *
+     * @return The number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all keys from the heap in O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the key at the given position up until the heap property holds.
+     *
+     * @param position The heap position
+     */
+    private void siftUp(int position) {
+        int key = heap[position];
+        long priority = priorities[key];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentKey = heap[parent];
+            if (priorities[parentKey] <= priority) {
+                break;
+            }
+            heap[position] = parentKey;
+            positions[parentKey] = position;
+            position = parent;
+        }
+        heap[position] = key;
+        positions[key] = position;
+    }
+
+    /**
+     * Moves the key at the given position down until the heap property holds.
+     *
+     * @param position The heap position
+     */
+    private void siftDown(int position) {
+        int key = heap[position];
+        long priority = priorities[key];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && priorities[heap[child + 1]] < priorities[heap[child]]) {
+                child++;
+            }
+            int childKey = heap[child];
+            if (priority <= priorities[childKey]) {
+                break;
+            }
+            heap[position] = childKey;
+            positions[childKey] = position;
+            position = child;
+        }
+        heap[position] = key;
+        positions[key] = position;
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Kruskal's algorithm over a {@link CsrGraph}. The edges are packed into a primitive {@code long[]} of
+ * {@code (weight, index)} pairs, sorted once and then added in ascending weight order whenever a {@link UnionFind}
+ * shows that they connect two different trees. Runs in O(E log E) and always yields a minimum spanning forest.
+ */
+public class KruskalMinimumSpanningTree {
+    private final CsrGraph graph;
+
+    /**
+     * Creates a new Kruskal engine for the given graph.
+     *
+     * @param graph The graph to span
+     */
+    public KruskalMinimumSpanningTree(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Computes a minimum spanning forest of the whole graph.
+     *
+     * @return The minimum spanning forest
+     */
+    public SpanningForest run() {
+        return run(null);
+    }
+
+    /**
+     * Computes a minimum spanning forest of the whole graph and records every edge added to it.
+     *
+     * @param log The log to record the steps to, or {@code null} to skip recording
+     * @return The minimum spanning forest
+     */
+    public SpanningForest run(StepLog log) {
+        int edgeCount = graph.edgeCount();
+        int[] us = new int[edgeCount];
+        int[] vs = new int[edgeCount];
+        int[] ids = new int[edgeCount];
+        long[] keys = new long[edgeCount];
+        int size = 0;
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                if (vertex < graph.target(arc)) {
+                    us[size] = vertex;
+                    vs[size] = graph.target(arc);
+                    ids[size] = graph.edgeId(arc);
+                    keys[size] = (long) graph.weight(arc) << 32 | size;
+                    size++;
+                }
+            }
+        }
+        Arrays.sort(keys, 0, size);
+        UnionFind components = new UnionFind(graph.vertexCount());
+        int capacity = Math.min(size, Math.max(graph.vertexCount() - 1, 0));
+        int[] sources = new int[capacity];
+        int[] targets = new int[capacity];
+        int[] edges = new int[capacity];
+        int count = 0;
+        long totalWeight = 0;
+        for (int i = 0; i < size && count < capacity; i++) {
+            int index = (int) keys[i];
+            if (components.union(us[index], vs[index])) {
+                sources[count] = us[index];
+                targets[count] = vs[index];
+                edges[count] = ids[index];
+                count++;
+                totalWeight += keys[i] >> 32;
+                if (log != null) {
+                    log.record(StepType.VISIT, us[index], -1, 0);
+                    log.record(StepType.TREE_EDGE, vs[index], ids[index], (int) (keys[i] >> 32));
+                }
+            }
+        }
+        return new SpanningForest(Arrays.copyOf(sources, count), Arrays.copyOf(targets, count),
+                Arrays.copyOf(edges, count), totalWeight);
+    }
+}
@@ -0,0 +1,382 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point shortest path queries over a {@link CsrGraph} which stop as soon as the route to the target is known,
+ * so they usually settle only a small part of the graph:
+ * <ul>
+ *     <li>{@link #aStar(int, int, StepLog) A*} orders the search by the distance from the source plus a lower bound
+ *     of the remaining distance to the target.</li>
+ *     <li>{@link #bidirectionalDijkstra(int, int, StepLog) Bidirectional Dijkstra} searches from the source and from
+ *     the target at the same time and stops once the two searches can not find a shorter route than the best one
+ *     through a vertex reached by both.</li>
+ *     <li>{@link #bidirectionalAStar(int, int, StepLog) Bidirectional A*} combines both, with the average of the
+ *     forward and backward lower bounds as potential, so the stopping rule of bidirectional Dijkstra stays valid.</li>
+ * </ul>
+ * The lower bound is the Euclidean distance between the vertex positions times the smallest ratio of edge weight to
+ * edge length in the graph, rounded down. It never overestimates and is consistent whatever the weights mean, but it
+ * only guides the search when the weights grow with the edge lengths; without positions, or with an edge of weight 0,
+ * it is 0 and A* settles the same vertices as Dijkstra's algorithm. Edge weights must be non-negative.
+ * <p>
+ * The engine keeps its arrays between queries and only resets the vertices a query has reached, so a query takes time
+ * proportional to the part of the graph it searches. The engine is not thread safe.
+ */
+public class PointToPointShortestPath {
+    private static final long NO_ROUTE = Long.MAX_VALUE / 4;
+    private static final double ROUNDING_MARGIN = 1 - 1e-9;
+    private final CsrGraph graph;
+    private final float[] xs;
+    private final float[] ys;
+    private final double scale;
+    private final int[] forwardDistances;
+    private final int[] forwardPredecessors;
+    private final int[] forwardEdges;
+    private final int[] backwardDistances;
+    private final int[] backwardPredecessors;
+    private final int[] backwardEdges;
+    private final IndexedMinHeap forwardHeap;
+    private final IndexedMinHeap backwardHeap;
+    private final int[] reached;
+    private int reachedCount;
+    private int settledCount;
+    private long bestDistance;
+    private int meetingForward;
+    private int meetingEdge;
+    private int meetingBackward;
+
+    /**
+     * Creates a new engine without vertex positions, so A* behaves like Dijkstra's algorithm.
+     *
+     * @param graph The graph to search
+     */
+    public PointToPointShortestPath(CsrGraph graph) {
+        this(graph, null, null);
+    }
+
+    /**
+     * Creates a new engine which guides A* by the positions of the vertices. Computing the lower bound takes one pass
+     * over all edges.
+     *
+     * @param graph The graph to search
+     * @param xs    The x coordinate of every vertex, or {@code null} if there are no positions
+     * @param ys    The y coordinate of every vertex, or {@code null} if there are no positions
+     */
+    public PointToPointShortestPath(CsrGraph graph, float[] xs, float[] ys) {
+        int vertices = graph.vertexCount();
+        if ((xs == null) != (ys == null) || xs != null && (xs.length < vertices || ys.length < vertices)) {
+            throw new IllegalArgumentException("Expected x and y coordinates for all %d vertices".formatted(vertices));
+        }
+        this.graph = graph;
+        this.xs = xs;
+        this.ys = ys;
+        this.scale = xs == null ? 0 : lowerBoundScale(graph, xs, ys);
+        this.forwardDistances = new int[vertices];
+        this.forwardPredecessors = new int[vertices];
+        this.forwardEdges = new int[vertices];
+        this.backwardDistances = new int[vertices];
+        this.backwardPredecessors = new int[vertices];
+        this.backwardEdges = new int[vertices];
+        this.forwardHeap = new IndexedMinHeap(vertices);
+        this.backwardHeap = new IndexedMinHeap(vertices);
+        this.reached = new int[vertices];
+        Arrays.fill(forwardDistances, ShortestPaths.UNREACHABLE);
+        Arrays.fill(backwardDistances, ShortestPaths.UNREACHABLE);
+    }
+
+    /**
+     * Returns the factor from Euclidean distance to the lower bound of the route length.
+     *
+     * @return The smallest ratio of edge weight to edge length, or 0 if the search is not guided
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Finds a shortest route with A*.
+     *
+     * @param source The vertex to start from
+     * @param target The vertex to find the route to
+     * @param log    The log to record the settled vertices and the route to, or {@code null} to skip recording
+     * @return The shortest route
+     */
+    public ShortestRoute aStar(int source, int target, StepLog log) {
+        reset();
+        label(forwardDistances, forwardPredecessors, forwardEdges, source, 0, -1, -1);
+        forwardHeap.insertOrDecrease(source, lowerBound(source, target));
+        while (!forwardHeap.isEmpty()) {
+            int vertex = forwardHeap.poll();
+            settledCount++;
+            if (log != null) {
+                log.record(StepType.FINALIZE, vertex, -1, forwardDistances[vertex]);
+            }
+            if (vertex == target) {
+                bestDistance = forwardDistances[target];
+                meetingForward = target;
+                meetingBackward = target;
+                break;
+            }
+            long distance = forwardDistances[vertex];
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                int neighbor = graph.target(arc);
+                long candidate = distance + graph.weight(arc);
+                if (candidate < forwardDistances[neighbor] && (forwardDistances[neighbor] == ShortestPaths.UNREACHABLE
+                        || forwardHeap.contains(neighbor))) {
+                    label(forwardDistances, forwardPredecessors, forwardEdges, neighbor, (int) candidate, vertex,
+                            graph.edgeId(arc));
+                    forwardHeap.insertOrDecrease(neighbor, candidate + lowerBound(neighbor, target));
+                    if (log != null) {
+                        log.record(StepType.RELAX, neighbor, graph.edgeId(arc), (int) candidate);
+                    }
+                }
+            }
+        }
+        return route(source, target, log);
+    }
+
+    /**
+     * Finds a shortest route with bidirectional Dijkstra.
+     *
+     * @param source The vertex to start from
+     * @param target The vertex to find the route to
+     * @param log    The log to record the settled vertices and the route to, or {@code null} to skip recording
+     * @return The shortest route
+     */
+    public ShortestRoute bidirectionalDijkstra(int source, int target, StepLog log) {
+        return bidirectional(source, target, log, false);
+    }
+
+    /**
+     * Finds a shortest route with bidirectional A*.
+     *
+     * @param source The vertex to start from
+     * @param target The vertex to find the route to
+     * @param log    The log to record the settled vertices and the route to, or {@code null} to skip recording
+     * @return The shortest route
+     */
+    public ShortestRoute bidirectionalAStar(int source, int target, StepLog log) {
+        return bidirectional(source, target, log, true);
+    }
+
+    /**
+     * Searches from both ends and always advances the search with the lower key. The keys are doubled, so the
+     * average potential {@code (lowerBound(v, target) - lowerBound(v, source)) / 2} of the forward search and its
+     * negation for the backward search stay integral. Both searches then run on the same non-negative reduced
+     * weights, and the best route is final once the two lowest keys add up to at least twice its length.
+     *
+     * @param source  The vertex to start from
+     * @param target  The vertex to find the route to
+     * @param log     The log to record the settled vertices and the route to, or {@code null} to skip recording
+     * @param guided  Whether to use the lower bounds as potentials
+     * @return The shortest route
+     */
+    private ShortestRoute bidirectional(int source, int target, StepLog log, boolean guided) {
+        reset();
+        label(forwardDistances, forwardPredecessors, forwardEdges, source, 0, -1, -1);
+        label(backwardDistances, backwardPredecessors, backwardEdges, target, 0, -1, -1);
+        forwardHeap.insertOrDecrease(source, guided ? potential(source, source, target) : 0);
+        backwardHeap.insertOrDecrease(target, guided ? potential(target, target, source) : 0);
+        if (source == target) {
+            bestDistance = 0;
+            meetingForward = source;
+            meetingBackward = target;
+        }
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.peekPriority() + backwardHeap.peekPriority() < 2 * bestDistance) {
+            if (forwardHeap.peekPriority() <= backwardHeap.peekPriority()) {
+                scan(forwardHeap, forwardDistances, forwardPredecessors, forwardEdges, backwardDistances, source,
+                        target, log, guided);
+            } else {
+                scan(backwardHeap, backwardDistances, backwardPredecessors, backwardEdges, forwardDistances, target,
+                        source, log, guided);
+            }
+        }
+        return route(source, target, log);
+    }
+
+    /**
+     * Settles the vertex with the lowest key of one search, relaxes its arcs and updates the best route through every
+     * neighbor the other search has reached.
+     *
+     * @param heap           The heap of the search
+     * @param distances      The distances of the search
+     * @param predecessors   The predecessors of the search
+     * @param edges          The predecessor edges of the search
+     * @param otherDistances The distances of the other search
+     * @param from           The vertex the search started from
+     * @param to             The vertex the other search started from
+     * @param log            The log to record the settled vertex to, or {@code null} to skip recording
+     * @param guided         Whether to use the lower bounds as potentials
+     */
+    private void scan(IndexedMinHeap heap, int[] distances, int[] predecessors, int[] edges, int[] otherDistances,
+                      int from, int to, StepLog log, boolean guided) {
+        int vertex = heap.poll();
+        settledCount++;
+        if (log != null) {
+            log.record(StepType.FINALIZE, vertex, -1, distances[vertex]);
+        }
+        long distance = distances[vertex];
+        for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+            int neighbor = graph.target(arc);
+            long candidate = distance + graph.weight(arc);
+            if (candidate < distances[neighbor] && (distances[neighbor] == ShortestPaths.UNREACHABLE
+                    || heap.contains(neighbor))) {
+                label(distances, predecessors, edges, neighbor, (int) candidate, vertex, graph.edgeId(arc));
+                heap.insertOrDecrease(neighbor, 2 * candidate + (guided ? potential(neighbor, from, to) : 0));
+                if (log != null) {
+                    log.record(StepType.RELAX, neighbor, graph.edgeId(arc), (int) candidate);
+                }
+            }
+            if (otherDistances[neighbor] != ShortestPaths.UNREACHABLE
+                    && candidate + otherDistances[neighbor] < bestDistance) {
+                bestDistance = candidate + otherDistances[neighbor];
+                boolean forward = distances == forwardDistances;
+                meetingForward = forward ? vertex : neighbor;
+                meetingBackward = forward ? neighbor : vertex;
+                meetingEdge = graph.edgeId(arc);
+            }
+        }
+    }
+
+    /**
+     * Assigns a distance and a predecessor to a vertex and remembers the vertex for the reset of the next query.
+     *
+     * @param distances    The distances of the search
+     * @param predecessors The predecessors of the search
+     * @param edges        The predecessor edges of the search
+     * @param vertex       The vertex
+     * @param distance     The new distance
+     * @param predecessor  The predecessor, or {@code -1} for the start vertex
+     * @param edge         The edge from the predecessor, or {@code -1} for the start vertex
+     */
+    private void label(int[] distances, int[] predecessors, int[] edges, int vertex, int distance, int predecessor,
+                       int edge) {
+        if (forwardDistances[vertex] == ShortestPaths.UNREACHABLE
+                && backwardDistances[vertex] == ShortestPaths.UNREACHABLE) {
+            reached[reachedCount++] = vertex;
+        }
+        distances[vertex] = distance;
+        predecessors[vertex] = predecessor;
+        edges[vertex] = edge;
+    }
+
+    /**
+     * Forgets the labels of the previous query.
+     */
+    private void reset() {
+        for (int i = 0; i < reachedCount; i++) {
+            forwardDistances[reached[i]] = ShortestPaths.UNREACHABLE;
+            backwardDistances[reached[i]] = ShortestPaths.UNREACHABLE;
+        }
+        reachedCount = 0;
+        settledCount = 0;
+        forwardHeap.clear();
+        backwardHeap.clear();
+        bestDistance = NO_ROUTE;
+        meetingEdge = -1;
+    }
+
+    /**
+     * Builds the route through the best meeting point and records its edges.
+     *
+     * @param source The vertex the route starts at
+     * @param target The vertex the route ends at
+     * @param log    The log to record the route to, or {@code null} to skip recording
+     * @return The shortest route
+     */
+    private ShortestRoute route(int source, int target, StepLog log) {
+        if (bestDistance == NO_ROUTE) {
+            return new ShortestRoute(source, target, ShortestPaths.UNREACHABLE, new int[0], new int[0], settledCount);
+        }
+        int forward = 0;
+        for (int vertex = meetingForward; vertex != source; vertex = forwardPredecessors[vertex]) {
+            forward++;
+        }
+        int length = forward + (meetingEdge >= 0 ? 1 : 0);
+        for (int vertex = meetingBackward; vertex != target; vertex = backwardPredecessors[vertex]) {
+            length++;
+        }
+        int[] vertices = new int[length + 1];
+        int[] edges = new int[length];
+        for (int vertex = meetingForward, i = forward; i >= 0; vertex = forwardPredecessors[vertex], i--) {
+            vertices[i] = vertex;
+            if (i > 0) {
+                edges[i - 1] = forwardEdges[vertex];
+            }
+        }
+        int position = forward;
+        if (meetingEdge >= 0) {
+            edges[position++] = meetingEdge;
+            vertices[position] = meetingBackward;
+        }
+        for (int vertex = meetingBackward; vertex != target; vertex = backwardPredecessors[vertex]) {
+            edges[position++] = backwardEdges[vertex];
+            vertices[position] = backwardPredecessors[vertex];
+        }
+        if (log != null) {
+            for (int i = 1; i <= length; i++) {
+                int distance = i <= forward ? forwardDistances[vertices[i]]
+                        : (int) (bestDistance - backwardDistances[vertices[i]]);
+                log.record(StepType.TREE_EDGE, vertices[i], edges[i - 1], distance);
+            }
+        }
+        return new ShortestRoute(source, target, (int) bestDistance, vertices, edges, settledCount);
+    }
+
+    /**
+     * Returns the potential of a vertex in a search from one end towards the other end, doubled.
+     *
+     * @param vertex The vertex
+     * @param from   The vertex the search started from
+     * @param to     The vertex the search is heading to
+     * @return The difference of the lower bounds to the end and from the start
+     */
+    private long potential(int vertex, int from, int to) {
+        return lowerBound(vertex, to) - lowerBound(vertex, from);
+    }
+
+    /**
+     * Returns a lower bound of the distance between two vertices.
+     *
+     * @param vertex The vertex
+     * @param target The other vertex
+     * @return The scaled Euclidean distance, rounded down
+     */
+    private long lowerBound(int vertex, int target) {
+        if (scale == 0) {
+            return 0;
+        }
+        double distance = Math.hypot(xs[vertex] - xs[target], ys[vertex] - ys[target]);
+        return (long) Math.min(scale * distance, ShortestPaths.UNREACHABLE);
+    }
+
+    /**
+     * Computes the smallest ratio of edge weight to Euclidean edge length, so the scaled Euclidean distance between
+     * the endpoints never exceeds the weight of an edge. The ratio is reduced by a tiny margin to absorb rounding
+     * errors. Edges between vertices at the same position do not limit the ratio.
+     *
+     * @param graph The graph
+     * @param xs    The x coordinate of every vertex
+     * @param ys    The y coordinate of every vertex
+     * @return The ratio, or 0 if no edge limits it
+     */
+    private static double lowerBoundScale(CsrGraph graph, float[] xs, float[] ys) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+                if (graph.weight(arc) < 0) {
+                    throw new IllegalArgumentException("Negative edge weight: " + graph.weight(arc));
+                }
+                int neighbor = graph.target(arc);
+                double length = Math.hypot(xs[vertex] - xs[neighbor], ys[vertex] - ys[neighbor]);
+                if (length > 0) {
+                    scale = Math.min(scale, graph.weight(arc) / length);
+                }
+            }
+        }
+        return scale == Double.POSITIVE_INFINITY ? 0 : scale * ROUNDING_MARGIN;
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Eager variant of Prim's algorithm over a {@link CsrGraph}. Every vertex outside the tree is kept in an
+ * {@link IndexedMinHeap} at most once, keyed by the lightest edge connecting it to the tree, so the algorithm runs in
+ * O(E log V). Once the component of the start vertex is spanned, the search continues from the next vertex which is
+ * not in the forest yet, which yields a minimum spanning forest for disconnected graphs.
+ */
+public class PrimMinimumSpanningTree {
+    private final CsrGraph graph;
+    private final IndexedMinHeap heap;
+    private final BitSet inForest;
+    private final int[] bestSources;
+    private final int[] bestEdges;
+    private final int[] bestWeights;
+    private int[] sources;
+    private int[] targets;
+    private int[] edges;
+    private int count;
+    private long totalWeight;
+    private StepLog log;
+
+    /**
+     * Creates a new Prim engine for the given graph.
+     *
+     * @param graph The graph to span
+     */
+    public PrimMinimumSpanningTree(CsrGraph graph) {
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.heap = new IndexedMinHeap(vertices);
+        this.inForest = new BitSet(vertices);
+        this.bestSources = new int[vertices];
+        this.bestEdges = new int[vertices];
+        this.bestWeights = new int[vertices];
+    }
+
+    /**
+     * Computes a minimum spanning forest, starting with the tree of the given vertex.
+     *
+     * @param source The vertex to start from
+     * @return The minimum spanning forest
+     */
+    public SpanningForest run(int source) {
+        return run(source, null);
+    }
+
+    /**
+     * Computes a minimum spanning forest, starting with the tree of the given vertex, and records every step.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The minimum spanning forest
+     */
+    public SpanningForest run(int source, StepLog log) {
+        this.log = log;
+        int vertices = graph.vertexCount();
+        int capacity = Math.max(vertices - 1, 0);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        edges = new int[capacity];
+        count = 0;
+        totalWeight = 0;
+        inForest.clear();
+        grow(source);
+        for (int root = inForest.nextClearBit(0); root < vertices; root = inForest.nextClearBit(root + 1)) {
+            grow(root);
+        }
+        return new SpanningForest(trim(sources), trim(targets), trim(edges), totalWeight);
+    }
+
+    /**
+     * Grows the tree of the given root until its whole component is spanned.
+     *
+     * @param root The root of the tree
+     */
+    private void grow(int root) {
+        inForest.set(root);
+        if (log != null) {
+            log.record(StepType.VISIT, root, -1, 0);
+        }
+        relax(root);
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            inForest.set(vertex);
+            sources[count] = bestSources[vertex];
+            targets[count] = vertex;
+            edges[count] = bestEdges[vertex];
+            count++;
+            totalWeight += bestWeights[vertex];
+            if (log != null) {
+                log.record(StepType.TREE_EDGE, vertex, bestEdges[vertex], bestWeights[vertex]);
+            }
+            relax(vertex);
+        }
+    }
+
+    /**
+     * Updates the lightest connecting edge of all neighbors outside the forest.
+     *
+     * @param vertex The vertex that has just been added to the forest
+     */
+    private void relax(int vertex) {
+        for (int arc = graph.firstArc(vertex), end = graph.endArc(vertex); arc < end; arc++) {
+            int neighbor = graph.target(arc);
+            if (!inForest.get(neighbor) && heap.insertOrDecrease(neighbor, graph.weight(arc))) {
+                bestSources[neighbor] = vertex;
+                bestEdges[neighbor] = graph.edgeId(arc);
+                bestWeights[neighbor] = graph.weight(arc);
+                if (log != null) {
+                    log.record(StepType.RELAX, neighbor, graph.edgeId(arc), graph.weight(arc));
+                }
+            }
+        }
+    }
+
+    /**
+     * Trims a result array to the number of forest edges.
+     *
+     * @param array The array to trim
+     * @return The trimmed array
+     */
+    private int[] trim(int[] array) {
+        return Arrays.copyOf(array, count);
+    }
+}
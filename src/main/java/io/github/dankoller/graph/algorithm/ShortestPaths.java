@@ -0,0 +1,73 @@
+package io.github.dankoller.graph.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * The result of a single source shortest path search.
+ *
+ * @param source           The vertex the search started from
+ * @param distances        The distance of every vertex from the source ({@link #UNREACHABLE} if not reachable)
+ * @param predecessors     The predecessor of every vertex on its shortest path ({@code -1} for the source and
+ *                         unreachable vertices)
+ * @param predecessorEdges The id of the edge from the predecessor of every vertex ({@code -1} if there is none)
+ * @param settled          The reachable vertices in the order their distance became final
+ */
+public record ShortestPaths(int source, int[] distances, int[] predecessors, int[] predecessorEdges, int[] settled) {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Checks whether the given vertex is reachable from the source.
+     *
+     * @param vertex The vertex
+     * @return True if the vertex is reachable, false otherwise
+     */
+    public boolean isReachable(int vertex) {
+        return distances[vertex] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the distance of the given vertex from the source.
+     *
+     * @param vertex The vertex
+     * @return The distance or {@link #UNREACHABLE}
+     */
+    public int distance(int vertex) {
+        return distances[vertex];
+    }
+
+    /**
+     * Returns the vertices on the shortest path from the source to the given target.
+     *
+     * @param target The target vertex
+     * @return The vertices of the path starting with the source, or an empty array if the target is not reachable
+     */
+    public int[] path(int target) {
+        if (!isReachable(target)) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int vertex = target; vertex != source; vertex = predecessors[vertex]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int vertex = target, i = length - 1; i >= 0; vertex = predecessors[vertex], i--) {
+            path[i] = vertex;
+        }
+        return path;
+    }
+
+    /**
+     * Returns the shortest path tree as a traversal in settle order.
+     *
+     * @return The shortest path tree
+     */
+    public Traversal tree() {
+        int[] parents = new int[settled.length];
+        int[] edges = new int[settled.length];
+        for (int i = 0; i < settled.length; i++) {
+            parents[i] = predecessors[settled[i]];
+            edges[i] = predecessorEdges[settled[i]];
+        }
+        return new Traversal(source, Arrays.copyOf(settled, settled.length), parents, edges);
+    }
+}
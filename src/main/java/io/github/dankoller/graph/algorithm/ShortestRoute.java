@@ -0,0 +1,23 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The result of a point-to-point shortest path query.
+ *
+ * @param source   The vertex the route starts at
+ * @param target   The vertex the route ends at
+ * @param distance The length of the route ({@link ShortestPaths#UNREACHABLE} if there is no route)
+ * @param vertices The vertices of the route from the source to the target, empty if there is no route
+ * @param edges    The ids of the edges of the route, one less than the vertices
+ * @param settled  The number of vertices the query has settled; a vertex settled by both searches of a bidirectional
+ *                 query counts twice
+ */
+public record ShortestRoute(int source, int target, int distance, int[] vertices, int[] edges, int settled) {
+    /**
+     * Checks whether the target is reachable from the source.
+     *
+     * @return True if there is a route, false otherwise
+     */
+    public boolean isReachable() {
+        return distance != ShortestPaths.UNREACHABLE;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The result of a minimum spanning forest computation. The forest edges are listed in the order they have been added;
+ * edge {@code edges[i]} connects {@code sources[i]} (already in the forest) with {@code targets[i]}.
+ *
+ * @param sources     The vertex every forest edge has been added from
+ * @param targets     The vertex every forest edge has been added to
+ * @param edges       The ids of the forest edges
+ * @param totalWeight The sum of the weights of all forest edges
+ */
+public record SpanningForest(int[] sources, int[] targets, int[] edges, long totalWeight) {
+    /**
+     * Returns the number of edges in the forest.
+     *
+     * @return The number of edges
+     */
+    public int size() {
+        return edges.length;
+    }
+}
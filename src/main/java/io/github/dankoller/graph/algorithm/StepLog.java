@@ -0,0 +1,172 @@
+package io.github.dankoller.graph.algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact, append-only log of the steps an algorithm has taken. Every step is stored in primitive parallel arrays (13
+ * bytes per step), so even traces of millions of steps can be replayed, seeked and stepped backwards without running
+ * the algorithm again or holding any objects per step.
+ * <p>
+ * The log is also the checkpoint of a running algorithm: every 4096 steps it reports the number of recorded steps to
+ * the progress listener and aborts the algorithm with a {@link CancellationException} if {@link #cancel()} has been
+ * called from another thread.
+ */
+public class StepLog {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int CHECKPOINT_INTERVAL = 4096;
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] vertices = new int[INITIAL_CAPACITY];
+    private int[] edges = new int[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+    private IntConsumer progressListener;
+    private volatile boolean cancelled;
+
+    /**
+     * Appends a step to the log.
+     *
+     * @param type   The type of the step
+     * @param vertex The vertex of the step
+     * @param edge   The id of the edge of the step, or {@code -1} if there is none
+     * @param value  The distance or weight of the step, or {@code 0} if there is none
+     */
+    public void record(StepType type, int vertex, int edge, int value) {
+        if (size % CHECKPOINT_INTERVAL == 0 && size > 0) {
+            checkpoint();
+        }
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            vertices = Arrays.copyOf(vertices, capacity);
+            edges = Arrays.copyOf(edges, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        types[size] = (byte) type.ordinal();
+        vertices[size] = vertex;
+        edges[size] = edge;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Returns the number of recorded steps.
+     *
+     * @return The number of steps
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of the given step.
+     *
+     * @param step The index of the step
+     * @return The type of the step
+     */
+    public StepType type(int step) {
+        return StepType.ofOrdinal(types[step]);
+    }
+
+    /**
+     * Returns the vertex of the given step.
+     *
+     * @param step The index of the step
+     * @return The vertex
+     */
+    public int vertex(int step) {
+        return vertices[step];
+    }
+
+    /**
+     * Returns the edge id of the given step.
+     *
+     * @param step The index of the step
+     * @return The edge id, or {@code -1} if the step has no edge
+     */
+    public int edge(int step) {
+        return edges[step];
+    }
+
+    /**
+     * Returns the value of the given step.
+     *
+     * @param step The index of the step
+     * @return The distance or weight of the step
+     */
+    public int value(int step) {
+        return values[step];
+    }
+
+    /**
+     * Returns the highest vertex id in the log.
+     *
+     * @return The highest vertex id, or {@code -1} if the log is empty
+     */
+    public int maxVertex() {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, vertices[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the highest edge id in the log.
+     *
+     * @return The highest edge id, or {@code -1} if no step has an edge
+     */
+    public int maxEdge() {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, edges[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Removes all steps while keeping the allocated memory.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the listener which is called with the number of recorded steps at every checkpoint. The listener is called
+     * on the thread running the algorithm.
+     *
+     * @param progressListener The progress listener, or {@code null} to remove it
+     */
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Requests the algorithm recording to this log to stop at its next checkpoint. May be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the recording has been cancelled.
+     *
+     * @return True if {@link #cancel()} has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Reports the progress and aborts the algorithm if the recording has been cancelled.
+     */
+    private void checkpoint() {
+        if (cancelled) {
+            throw new CancellationException("Algorithm cancelled after " + size + " steps");
+        }
+        if (progressListener != null) {
+            progressListener.accept(size);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The kinds of steps recorded in a {@link StepLog}.
+ */
+public enum StepType {
+    /**
+     * A vertex is visited, i.e. it is entered (depth first search), dequeued (breadth first search) or starts a new
+     * tree (spanning forests).
+     */
+    VISIT,
+    /**
+     * A vertex is added to the frontier of a traversal.
+     */
+    ENQUEUE,
+    /**
+     * The tentative distance or connection weight of a vertex improves; the step value holds the new value.
+     */
+    RELAX,
+    /**
+     * An edge becomes part of the traversal tree, shortest path tree or spanning forest; the step vertex is the vertex
+     * which has been reached through it.
+     */
+    TREE_EDGE,
+    /**
+     * A vertex is done, i.e. all of its neighbors have been explored or its distance is final; the step value holds
+     * the final distance where applicable.
+     */
+    FINALIZE;
+
+    private static final StepType[] VALUES = values();
+
+    /**
+     * Get the step type of the given ordinal without copying the values array.
+     *
+     * @param ordinal The ordinal of the step type
+     * @return The step type
+     */
+    static StepType ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Check whether a step of this type changes what is highlighted during playback.
+     *
+     * @return True for visits, tree edges and finalized vertices
+     */
+    public boolean isHighlighted() {
+        return this == VISIT || this == TREE_EDGE || this == FINALIZE;
+    }
+}
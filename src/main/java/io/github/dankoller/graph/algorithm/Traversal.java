@@ -0,0 +1,21 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * The result of a graph traversal. The vertices are listed in the order they have been discovered; every vertex except
+ * the source was discovered through the edge {@code edges[i]} from the vertex {@code parents[i]}.
+ *
+ * @param source  The vertex the traversal started from
+ * @param order   The discovered vertices in discovery order, starting with the source
+ * @param parents The vertex each discovered vertex was reached from ({@code -1} for the source)
+ * @param edges   The id of the edge each discovered vertex was reached through ({@code -1} for the source)
+ */
+public record Traversal(int source, int[] order, int[] parents, int[] edges) {
+    /**
+     * Returns the number of discovered vertices including the source.
+     *
+     * @return The number of discovered vertices
+     */
+    public int size() {
+        return order.length;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * A reusable traversal over a fixed graph. Implementations keep their scratch arrays between runs, so an instance must
+ * not be shared between threads.
+ */
+public interface TraversalEngine {
+    /**
+     * Traverses all vertices reachable from the given source.
+     *
+     * @param source The vertex to start from
+     * @return The traversal result
+     */
+    default Traversal run(int source) {
+        return run(source, null);
+    }
+
+    /**
+     * Traverses all vertices reachable from the given source and records every step.
+     *
+     * @param source The vertex to start from
+     * @param log    The log to record the steps to, or {@code null} to skip recording
+     * @return The traversal result
+     */
+    Traversal run(int source, StepLog log);
+}
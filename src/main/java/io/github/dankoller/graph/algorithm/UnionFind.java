@@ -0,0 +1,73 @@
+package io.github.dankoller.graph.algorithm;
+
+/**
+ * Disjoint set forest over the elements {@code 0..size-1} with union by size and path halving, so every operation runs
+ * in amortized near-constant time.
+ */
+public class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+    private int sets;
+
+    /**
+     * Creates a disjoint set forest where every element is in its own set.
+     *
+     * @param size The number of elements
+     */
+    public UnionFind(int size) {
+        this.parents = new int[size];
+        this.sizes = new int[size];
+        this.sets = size;
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+    }
+
+    /**
+     * Returns the representative of the set containing the given element.
+     *
+     * @param element The element
+     * @return The representative of its set
+     */
+    public int find(int element) {
+        while (parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets containing the two given elements.
+     *
+     * @param first  The first element
+     * @param second The second element
+     * @return True if the elements were in different sets, false otherwise
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        if (sizes[firstRoot] < sizes[secondRoot]) {
+            int swap = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = swap;
+        }
+        parents[secondRoot] = firstRoot;
+        sizes[firstRoot] += sizes[secondRoot];
+        sets--;
+        return true;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return The number of sets
+     */
+    public int sets() {
+        return sets;
+    }
+}
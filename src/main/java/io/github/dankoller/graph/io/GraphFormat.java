@@ -0,0 +1,98 @@
+package io.github.dankoller.graph.io;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The graph file formats. The text formats are read by the {@link MappedGraphReader} and describe one undirected edge
+ * per line with integer vertex ids and an optional integer weight (default 1). Binary snapshots are read by the
+ * {@link GraphSnapshotReader}.
+ */
+public enum GraphFormat {
+    /**
+     * {@code source target [weight]} separated by whitespace, with {@code #} or {@code %} comment lines.
+     */
+    EDGE_LIST("edges", 0),
+    /**
+     * {@code source,target[,weight]} with an optional header line.
+     */
+    CSV("csv", 0),
+    /**
+     * DIMACS shortest path format with {@code c} comment lines, a {@code p sp <vertices> <arcs>} problem line and
+     * {@code a <source> <target> <weight>} arc lines using 1-based vertex ids.
+     */
+    DIMACS("dimacs", 1),
+    /**
+     * Binary snapshot as described by {@link SnapshotLayout}.
+     */
+    SNAPSHOT("snapshot", 0);
+
+    public static final String SNAPSHOT_EXTENSION = ".gsnap";
+
+    private final String name;
+    private final int firstVertexId;
+
+    /**
+     * Create a new graph format.
+     *
+     * @param name          The name of the format used on the command line
+     * @param firstVertexId The id of the first vertex in the file
+     */
+    GraphFormat(String name, int firstVertexId) {
+        this.name = name;
+        this.firstVertexId = firstVertexId;
+    }
+
+    /**
+     * Guess the format from the file extension: {@code .csv} is CSV, {@code .gr} and {@code .dimacs} are DIMACS,
+     * {@code .gsnap} is a binary snapshot and everything else is an edge list.
+     *
+     * @param file The graph file
+     * @return The guessed format
+     */
+    public static GraphFormat fromFileName(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(SNAPSHOT_EXTENSION)) {
+            return SNAPSHOT;
+        }
+        if (fileName.endsWith(".gr") || fileName.endsWith(".dimacs")) {
+            return DIMACS;
+        }
+        return EDGE_LIST;
+    }
+
+    /**
+     * Find a format by its name, ignoring case.
+     *
+     * @param name The name of the format
+     * @return The format
+     */
+    public static GraphFormat fromName(String name) {
+        return Arrays.stream(values())
+                .filter(format -> format.name.equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph format: " + name));
+    }
+
+    /**
+     * Get the name of the format used on the command line.
+     *
+     * @return The name of the format
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the id of the first vertex in the file, which is subtracted from every vertex id.
+     *
+     * @return The id of the first vertex
+     */
+    public int getFirstVertexId() {
+        return firstVertexId;
+    }
+}
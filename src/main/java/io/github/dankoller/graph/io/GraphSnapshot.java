@@ -0,0 +1,101 @@
+package io.github.dankoller.graph.io;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+
+/**
+ * A graph together with the optional vertex labels, canvas positions and contraction hierarchy, as stored in a binary
+ * snapshot file.
+ *
+ * @param graph     The graph
+ * @param labels    The label of every vertex, or {@code null} if the vertices are only identified by their ids
+ * @param xs        The x coordinate of the center of every vertex, or {@code null} if there are no positions
+ * @param ys        The y coordinate of the center of every vertex, or {@code null} if there are no positions
+ * @param hierarchy The contraction hierarchy of the graph for route queries, or {@code null} if it has not been built
+ */
+public record GraphSnapshot(CsrGraph graph, String[] labels, float[] xs, float[] ys, ContractionHierarchy hierarchy) {
+    /**
+     * Creates a snapshot and checks that the labels, positions and hierarchy match the vertices of the graph.
+     */
+    public GraphSnapshot {
+        int vertices = graph.vertexCount();
+        if (labels != null && labels.length != vertices) {
+            throw new IllegalArgumentException("Expected %d labels but got %d".formatted(vertices, labels.length));
+        }
+        if ((xs == null) != (ys == null) || xs != null && (xs.length != vertices || ys.length != vertices)) {
+            throw new IllegalArgumentException("Expected x and y coordinates for all %d vertices".formatted(vertices));
+        }
+        if (hierarchy != null && hierarchy.vertexCount() != vertices) {
+            throw new IllegalArgumentException("Expected a hierarchy of %d vertices but got %d"
+                    .formatted(vertices, hierarchy.vertexCount()));
+        }
+    }
+
+    /**
+     * Creates a snapshot without a contraction hierarchy.
+     *
+     * @param graph  The graph
+     * @param labels The label of every vertex, or {@code null} if the vertices are only identified by their ids
+     * @param xs     The x coordinate of the center of every vertex, or {@code null} if there are no positions
+     * @param ys     The y coordinate of the center of every vertex, or {@code null} if there are no positions
+     */
+    public GraphSnapshot(CsrGraph graph, String[] labels, float[] xs, float[] ys) {
+        this(graph, labels, xs, ys, null);
+    }
+
+    /**
+     * Creates a snapshot of a graph without labels and positions.
+     *
+     * @param graph The graph
+     */
+    public GraphSnapshot(CsrGraph graph) {
+        this(graph, null, null, null, null);
+    }
+
+    /**
+     * Checks whether the snapshot contains vertex labels.
+     *
+     * @return True if there are labels
+     */
+    public boolean hasLabels() {
+        return labels != null;
+    }
+
+    /**
+     * Checks whether the snapshot contains vertex positions.
+     *
+     * @return True if there are positions
+     */
+    public boolean hasPositions() {
+        return xs != null;
+    }
+
+    /**
+     * Checks whether the snapshot contains a contraction hierarchy.
+     *
+     * @return True if there is a hierarchy
+     */
+    public boolean hasHierarchy() {
+        return hierarchy != null;
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given contraction hierarchy.
+     *
+     * @param hierarchy The contraction hierarchy of the graph
+     * @return The new snapshot
+     */
+    public GraphSnapshot withHierarchy(ContractionHierarchy hierarchy) {
+        return new GraphSnapshot(graph, labels, xs, ys, hierarchy);
+    }
+
+    /**
+     * Returns the label of a vertex, falling back to its id.
+     *
+     * @param vertex The vertex
+     * @return The label of the vertex
+     */
+    public String label(int vertex) {
+        return labels != null && labels[vertex] != null ? labels[vertex] : Integer.toString(vertex);
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.dankoller.graph.io;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import static io.github.dankoller.graph.io.SnapshotLayout.*;
+
+/**
+ * Reads a {@link GraphSnapshot} from the binary snapshot format described by {@link SnapshotLayout}. The sections are
+ * memory-mapped and bulk-copied into the arrays of the graph, so there is no per-element parsing apart from decoding
+ * the vertex labels. A single pass over the arrays then checks that they only refer to existing vertices, arcs and
+ * edges.
+ */
+public class GraphSnapshotReader {
+    private static final int REGION_BYTES = 1 << 30;
+
+    /**
+     * Reads the snapshot from the given file.
+     *
+     * @param file The snapshot file
+     * @return The snapshot
+     * @throws IOException If the file cannot be read or is not a valid snapshot
+     */
+    public GraphSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(BYTE_ORDER);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version < FIRST_VERSION || version > VERSION) {
+                throw new IOException("Unsupported snapshot version %d (expected %d to %d)"
+                        .formatted(version, FIRST_VERSION, VERSION));
+            }
+            int flags = header.getInt();
+            int vertices = header.getInt();
+            int edges = header.getInt();
+            int arcs = header.getInt();
+            long position = HEADER_BYTES;
+            long expected = position + ((long) vertices + 1 + 3L * arcs) * Integer.BYTES;
+            if ((flags & HAS_POSITIONS) != 0) {
+                expected += 2L * vertices * Float.BYTES;
+            }
+            if ((flags & HAS_HIERARCHY) != 0) {
+                expected += (2L * vertices + 2) * Integer.BYTES;
+            }
+            if ((flags & HAS_LABELS) != 0) {
+                expected += ((long) vertices + 1) * Integer.BYTES;
+            }
+            if (version == FIRST_VERSION && (flags & HAS_HIERARCHY) != 0) {
+                throw new IOException("Corrupt graph snapshot: version %d has no hierarchy".formatted(version));
+            }
+            if (vertices < 0 || arcs < 0 || channel.size() < expected) {
+                throw new IOException("Truncated graph snapshot: " + file);
+            }
+            int[] offsets = new int[vertices + 1];
+            int[] targets = new int[arcs];
+            int[] weights = new int[arcs];
+            int[] edgeIds = new int[arcs];
+            position = readInts(channel, position, offsets);
+            position = readInts(channel, position, targets);
+            position = readInts(channel, position, weights);
+            position = readInts(channel, position, edgeIds);
+            validateGraph(offsets, targets, edgeIds, edges);
+            float[] xs = null;
+            float[] ys = null;
+            if ((flags & HAS_POSITIONS) != 0) {
+                xs = new float[vertices];
+                ys = new float[vertices];
+                position = readFloats(channel, position, xs);
+                position = readFloats(channel, position, ys);
+            }
+            ContractionHierarchy hierarchy = null;
+            if ((flags & HAS_HIERARCHY) != 0) {
+                int upwardArcs = readInt(channel, position);
+                position += Integer.BYTES;
+                if (upwardArcs < 0 || channel.size() < expected + 4L * upwardArcs * Integer.BYTES) {
+                    throw new IOException("Truncated hierarchy section in graph snapshot");
+                }
+                int[] ranks = new int[vertices];
+                int[] arcOffsets = new int[vertices + 1];
+                int[] upwardTargets = new int[upwardArcs];
+                int[] upwardWeights = new int[upwardArcs];
+                int[] middles = new int[upwardArcs];
+                int[] upwardEdgeIds = new int[upwardArcs];
+                position = readInts(channel, position, ranks);
+                position = readInts(channel, position, arcOffsets);
+                position = readInts(channel, position, upwardTargets);
+                position = readInts(channel, position, upwardWeights);
+                position = readInts(channel, position, middles);
+                position = readInts(channel, position, upwardEdgeIds);
+                validateHierarchy(ranks, arcOffsets, upwardTargets, middles, upwardEdgeIds, edges);
+                try {
+                    hierarchy = new ContractionHierarchy(ranks, arcOffsets, upwardTargets, upwardWeights, middles,
+                            upwardEdgeIds);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Corrupt graph snapshot: " + e.getMessage(), e);
+                }
+            }
+            String[] labels = null;
+            if ((flags & HAS_LABELS) != 0) {
+                labels = readLabels(channel, position, vertices);
+            }
+            try {
+                return new GraphSnapshot(new CsrGraph(offsets, targets, weights, edgeIds, edges), labels, xs, ys,
+                        hierarchy);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt graph snapshot: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Verifies in a single pass that the CSR arrays of the graph only refer to existing arcs, vertices and edges, so a
+     * corrupt file is rejected here instead of failing inside an algorithm.
+     *
+     * @param offsets The index of the first arc of every vertex, followed by the number of arcs
+     * @param targets The target vertex of every arc
+     * @param edgeIds The edge id of every arc
+     * @param edges   The number of edges
+     * @throws IOException If an array is out of range
+     */
+    private static void validateGraph(int[] offsets, int[] targets, int[] edgeIds, int edges) throws IOException {
+        int vertices = offsets.length - 1;
+        if (edges < 0) {
+            throw new IOException("Corrupt graph snapshot: negative edge count " + edges);
+        }
+        validateOffsets(offsets, targets.length);
+        for (int arc = 0; arc < targets.length; arc++) {
+            if (targets[arc] < 0 || targets[arc] >= vertices) {
+                throw new IOException("Corrupt graph snapshot: arc %d points to vertex %d of %d"
+                        .formatted(arc, targets[arc], vertices));
+            }
+            if (edgeIds[arc] < 0 || edgeIds[arc] >= edges) {
+                throw new IOException("Corrupt graph snapshot: arc %d has edge id %d of %d"
+                        .formatted(arc, edgeIds[arc], edges));
+            }
+        }
+    }
+
+    /**
+     * Verifies in a single pass that the ranks of the contraction hierarchy are a permutation of the vertices and that
+     * its upward arcs only refer to existing arcs, vertices and edges.
+     *
+     * @param ranks   The rank of every vertex
+     * @param offsets The index of the first upward arc of every vertex, followed by the number of arcs
+     * @param targets The higher ranked vertex of every upward arc
+     * @param middles The middle vertex of every shortcut, or {@code -1} for original edges
+     * @param edgeIds The id of the original edge of every upward arc, or {@code -1} for shortcuts
+     * @param edges   The number of edges of the graph
+     * @throws IOException If an array is out of range
+     */
+    private static void validateHierarchy(int[] ranks, int[] offsets, int[] targets, int[] middles, int[] edgeIds,
+                                          int edges) throws IOException {
+        int vertices = ranks.length;
+        BitSet usedRanks = new BitSet(vertices);
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            if (ranks[vertex] < 0 || ranks[vertex] >= vertices || usedRanks.get(ranks[vertex])) {
+                throw new IOException("Corrupt graph snapshot: vertex %d has rank %d of %d"
+                        .formatted(vertex, ranks[vertex], vertices));
+            }
+            usedRanks.set(ranks[vertex]);
+        }
+        validateOffsets(offsets, targets.length);
+        for (int arc = 0; arc < targets.length; arc++) {
+            boolean shortcut = edgeIds[arc] == -1;
+            if (targets[arc] < 0 || targets[arc] >= vertices || edgeIds[arc] < -1 || edgeIds[arc] >= edges
+                    || (shortcut ? middles[arc] < 0 || middles[arc] >= vertices : middles[arc] != -1)) {
+                throw new IOException("Corrupt graph snapshot: upward arc %d points outside of the graph"
+                        .formatted(arc));
+            }
+        }
+    }
+
+    /**
+     * Verifies that CSR offsets start at 0, never decrease and end at the number of arcs.
+     *
+     * @param offsets The offsets
+     * @param arcs    The number of arcs
+     * @throws IOException If the offsets are out of order
+     */
+    private static void validateOffsets(int[] offsets, int arcs) throws IOException {
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != arcs) {
+            throw new IOException("Corrupt graph snapshot: offsets do not span %d arcs".formatted(arcs));
+        }
+        for (int vertex = 1; vertex < offsets.length; vertex++) {
+            if (offsets[vertex] < offsets[vertex - 1]) {
+                throw new IOException("Corrupt graph snapshot: offsets decrease at vertex " + vertex);
+            }
+        }
+    }
+
+    /**
+     * Reads a single int.
+     *
+     * @param channel  The file channel
+     * @param position The file position of the int
+     * @return The value
+     * @throws IOException If the file cannot be read
+     */
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Integer.BYTES).order(BYTE_ORDER).getInt();
+    }
+
+    /**
+     * Bulk-copies a section of ints into the given array.
+     *
+     * @param channel  The file channel
+     * @param position The file position of the section
+     * @param target   The array to fill
+     * @return The file position after the section
+     * @throws IOException If the file cannot be read
+     */
+    private static long readInts(FileChannel channel, long position, int[] target) throws IOException {
+        int perRegion = REGION_BYTES / Integer.BYTES;
+        for (int offset = 0; offset < target.length; offset += perRegion) {
+            int length = Math.min(perRegion, target.length - offset);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) length * Integer.BYTES);
+            region.order(BYTE_ORDER).asIntBuffer().get(target, offset, length);
+            position += (long) length * Integer.BYTES;
+        }
+        return position;
+    }
+
+    /**
+     * Bulk-copies a section of floats into the given array.
+     *
+     * @param channel  The file channel
+     * @param position The file position of the section
+     * @param target   The array to fill
+     * @return The file position after the section
+     * @throws IOException If the file cannot be read
+     */
+    private static long readFloats(FileChannel channel, long position, float[] target) throws IOException {
+        int perRegion = REGION_BYTES / Float.BYTES;
+        for (int offset = 0; offset < target.length; offset += perRegion) {
+            int length = Math.min(perRegion, target.length - offset);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) length * Float.BYTES);
+            region.order(BYTE_ORDER).asFloatBuffer().get(target, offset, length);
+            position += (long) length * Float.BYTES;
+        }
+        return position;
+    }
+
+    /**
+     * Reads the label offsets and decodes the UTF-8 labels.
+     *
+     * @param channel  The file channel
+     * @param position The file position of the label offsets
+     * @param vertices The number of vertices
+     * @return The labels
+     * @throws IOException If the file cannot be read or the label section is corrupt
+     */
+    private static String[] readLabels(FileChannel channel, long position, int vertices) throws IOException {
+        int[] labelOffsets = new int[vertices + 1];
+        position = readInts(channel, position, labelOffsets);
+        int totalBytes = labelOffsets[vertices];
+        if (totalBytes < 0 || channel.size() < position + totalBytes) {
+            throw new IOException("Truncated label section in graph snapshot");
+        }
+        byte[] bytes = new byte[totalBytes];
+        for (int offset = 0; offset < totalBytes; offset += REGION_BYTES) {
+            int length = Math.min(REGION_BYTES, totalBytes - offset);
+            channel.map(FileChannel.MapMode.READ_ONLY, position + offset, length).get(bytes, offset, length);
+        }
+        String[] labels = new String[vertices];
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            int start = labelOffsets[vertex];
+            int end = labelOffsets[vertex + 1];
+            if (start < 0 || end < start || end > totalBytes) {
+                throw new IOException("Corrupt label section in graph snapshot");
+            }
+            labels[vertex] = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+        return labels;
+    }
+}
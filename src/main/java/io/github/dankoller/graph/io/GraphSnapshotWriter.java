@@ -0,0 +1,181 @@
+package io.github.dankoller.graph.io;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static io.github.dankoller.graph.io.SnapshotLayout.*;
+
+/**
+ * Writes a {@link GraphSnapshot} in the binary snapshot format described by {@link SnapshotLayout}.
+ */
+public class GraphSnapshotWriter {
+    private static final int BUFFER_BYTES = 1 << 20;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BYTE_ORDER);
+    private FileChannel channel;
+
+    /**
+     * Writes the snapshot to the given file, replacing any existing file.
+     *
+     * @param file     The snapshot file
+     * @param snapshot The snapshot to write
+     * @throws IOException If the file cannot be written
+     */
+    public void write(Path file, GraphSnapshot snapshot) throws IOException {
+        CsrGraph graph = snapshot.graph();
+        int vertices = graph.vertexCount();
+        try (FileChannel output = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel = output;
+            buffer.clear();
+            putInt(MAGIC);
+            putInt(VERSION);
+            putInt((snapshot.hasLabels() ? HAS_LABELS : 0) | (snapshot.hasPositions() ? HAS_POSITIONS : 0)
+                    | (snapshot.hasHierarchy() ? HAS_HIERARCHY : 0));
+            putInt(vertices);
+            putInt(graph.edgeCount());
+            putInt(graph.arcCount());
+            for (int vertex = 0; vertex < vertices; vertex++) {
+                putInt(graph.firstArc(vertex));
+            }
+            putInt(graph.arcCount());
+            for (int arc = 0; arc < graph.arcCount(); arc++) {
+                putInt(graph.target(arc));
+            }
+            for (int arc = 0; arc < graph.arcCount(); arc++) {
+                putInt(graph.weight(arc));
+            }
+            for (int arc = 0; arc < graph.arcCount(); arc++) {
+                putInt(graph.edgeId(arc));
+            }
+            if (snapshot.hasPositions()) {
+                writePositions(snapshot);
+            }
+            if (snapshot.hasHierarchy()) {
+                writeHierarchy(snapshot.hierarchy());
+            }
+            if (snapshot.hasLabels()) {
+                writeLabels(snapshot);
+            }
+            flush();
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Writes the x and y coordinates of all vertices.
+     *
+     * @param snapshot The snapshot to write
+     * @throws IOException If the file cannot be written
+     */
+    private void writePositions(GraphSnapshot snapshot) throws IOException {
+        for (float x : snapshot.xs()) {
+            ensureRemaining(Float.BYTES);
+            buffer.putFloat(x);
+        }
+        for (float y : snapshot.ys()) {
+            ensureRemaining(Float.BYTES);
+            buffer.putFloat(y);
+        }
+    }
+
+    /**
+     * Writes the number of upward arcs, the ranks and the upward arcs of the contraction hierarchy.
+     *
+     * @param hierarchy The hierarchy to write
+     * @throws IOException If the file cannot be written
+     */
+    private void writeHierarchy(ContractionHierarchy hierarchy) throws IOException {
+        int vertices = hierarchy.vertexCount();
+        int arcs = hierarchy.arcCount();
+        putInt(arcs);
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            putInt(hierarchy.rank(vertex));
+        }
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            putInt(hierarchy.firstArc(vertex));
+        }
+        putInt(arcs);
+        for (int arc = 0; arc < arcs; arc++) {
+            putInt(hierarchy.target(arc));
+        }
+        for (int arc = 0; arc < arcs; arc++) {
+            putInt(hierarchy.weight(arc));
+        }
+        for (int arc = 0; arc < arcs; arc++) {
+            putInt(hierarchy.middle(arc));
+        }
+        for (int arc = 0; arc < arcs; arc++) {
+            putInt(hierarchy.edgeId(arc));
+        }
+    }
+
+    /**
+     * Writes the label offsets followed by the UTF-8 encoded labels.
+     *
+     * @param snapshot The snapshot to write
+     * @throws IOException If the file cannot be written
+     */
+    private void writeLabels(GraphSnapshot snapshot) throws IOException {
+        byte[][] encoded = new byte[snapshot.labels().length][];
+        int offset = 0;
+        putInt(offset);
+        for (int vertex = 0; vertex < encoded.length; vertex++) {
+            String label = snapshot.labels()[vertex];
+            encoded[vertex] = label == null ? new byte[0] : label.getBytes(StandardCharsets.UTF_8);
+            offset = Math.addExact(offset, encoded[vertex].length);
+            putInt(offset);
+        }
+        for (byte[] label : encoded) {
+            for (int written = 0; written < label.length; ) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), label.length - written);
+                buffer.put(label, written, length);
+                written += length;
+            }
+        }
+    }
+
+    /**
+     * Appends an int to the buffer.
+     *
+     * @param value The value
+     * @throws IOException If the buffer cannot be flushed
+     */
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Flushes the buffer if it has less than the given number of bytes left.
+     *
+     * @param bytes The number of bytes needed
+     * @throws IOException If the buffer cannot be flushed
+     */
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,301 @@
+package io.github.dankoller.graph.io;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.GraphBuilder;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a graph from an edge list, CSV or DIMACS text file in a single pass. The file is memory-mapped in regions of up to
+ * 1 GB and the numbers are parsed directly from the mapped bytes into a {@link GraphBuilder}, so no String is created
+ * per line and files larger than 2 GB are supported. A line which crosses a region boundary is re-read at the start of
+ * the next region.
+ * <p>
+ * Every vertex id up to the highest one becomes a vertex. To keep a single stray line from allocating gigabytes, the
+ * ids are bounded by the vertex count of the DIMACS problem line if there is one, and the vertex count is bounded by a
+ * multiple of the number of edges.
+ */
+public class MappedGraphReader {
+    private static final int DEFAULT_REGION_SIZE = 1 << 30;
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final int MAX_FIELDS = 3;
+    private static final long BYTES_PER_EDGE_ESTIMATE = 24;
+    private static final long MAX_INITIAL_EDGES = 1 << 20;
+    private static final long MIN_BYTES_PER_EDGE = 4;
+    private static final long VERTICES_PER_EDGE_LIMIT = 16;
+    private static final long MIN_VERTEX_LIMIT = 1 << 20;
+
+    private final int regionSize;
+    private final long[] fields = new long[MAX_FIELDS];
+    private GraphFormat format;
+    private GraphBuilder builder;
+    private long lineNumber;
+    private boolean sawData;
+    private long fileSize;
+    private long vertexLimit;
+    private long highestVertexLine;
+
+    /**
+     * Creates a new reader which maps the file in 1 GB regions.
+     */
+    public MappedGraphReader() {
+        this(DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates a new reader which maps the file in regions of the given size.
+     *
+     * @param regionSize The maximum number of bytes mapped at once
+     */
+    MappedGraphReader(int regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Reads the graph from the given file, guessing the format from the file extension.
+     *
+     * @param file The graph file
+     * @return The graph
+     * @throws IOException If the file cannot be read or contains a malformed line
+     */
+    public CsrGraph read(Path file) throws IOException {
+        return read(file, GraphFormat.fromFileName(file));
+    }
+
+    /**
+     * Reads the graph from the given file in the given format.
+     *
+     * @param file   The graph file
+     * @param format The format of the file
+     * @return The graph
+     * @throws IOException If the file cannot be read or contains a malformed line
+     */
+    public CsrGraph read(Path file, GraphFormat format) throws IOException {
+        if (format == GraphFormat.SNAPSHOT) {
+            throw new IllegalArgumentException("Binary snapshots are read by the GraphSnapshotReader");
+        }
+        this.format = format;
+        this.lineNumber = 0;
+        this.sawData = false;
+        this.vertexLimit = Integer.MAX_VALUE;
+        this.highestVertexLine = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            fileSize = size;
+            builder = new GraphBuilder((int) Math.min(MAX_INITIAL_EDGES, size / BYTES_PER_EDGE_ESTIMATE + 16));
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(regionSize, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parseRegion(region, position + length == size);
+                if (consumed == 0) {
+                    throw new IOException("Line %d is longer than %d bytes".formatted(lineNumber + 1, regionSize));
+                }
+                position += consumed;
+            }
+            if (builder.vertexCount() > VERTICES_PER_EDGE_LIMIT * builder.edgeCount() + MIN_VERTEX_LIMIT) {
+                throw malformed(highestVertexLine);
+            }
+            return builder.build();
+        } finally {
+            builder = null;
+        }
+    }
+
+    /**
+     * Parses all complete lines of a mapped region.
+     *
+     * @param region The mapped region
+     * @param last   Whether the region ends at the end of the file
+     * @return The number of bytes consumed, up to the end of the last complete line
+     * @throws IOException If a line is malformed
+     */
+    private int parseRegion(MappedByteBuffer region, boolean last) throws IOException {
+        int limit = region.limit();
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && region.get(end) != '\n') {
+                end++;
+            }
+            if (end == limit && !last) {
+                return start;
+            }
+            lineNumber++;
+            parseLine(region, start, end);
+            start = end + 1;
+        }
+        return limit;
+    }
+
+    /**
+     * Parses a single line and adds its edge to the builder.
+     *
+     * @param buffer The mapped region
+     * @param start  The index of the first byte of the line
+     * @param end    The index after the last byte of the line
+     * @throws IOException If the line is malformed
+     */
+    private void parseLine(MappedByteBuffer buffer, int start, int end) throws IOException {
+        int position = skipSeparators(buffer, start, end);
+        if (position == end) {
+            return;
+        }
+        byte first = buffer.get(position);
+        if (first == '#' || first == '%' || format == GraphFormat.DIMACS && first == 'c') {
+            return;
+        }
+        if (format == GraphFormat.DIMACS && first == 'p') {
+            parseProblemLine(buffer, position + 1, end);
+            return;
+        }
+        if (format == GraphFormat.DIMACS && first == 'a') {
+            position++;
+        }
+        int count = parseFields(buffer, position, end);
+        if (count < 0 && format == GraphFormat.CSV && !sawData) {
+            sawData = true;
+            return;
+        }
+        if (count < 2) {
+            throw malformed();
+        }
+        sawData = true;
+        int offset = format.getFirstVertexId();
+        int weight = count == MAX_FIELDS ? (int) fields[2] : DEFAULT_WEIGHT;
+        if (weight < 0) {
+            throw malformed();
+        }
+        long source = fields[0] - offset;
+        long target = fields[1] - offset;
+        if (source >= vertexLimit || target >= vertexLimit) {
+            throw malformed();
+        }
+        int vertices = builder.vertexCount();
+        try {
+            builder.addEdge((int) source, (int) target, weight);
+        } catch (IllegalArgumentException e) {
+            throw malformed();
+        }
+        if (builder.vertexCount() > vertices) {
+            highestVertexLine = lineNumber;
+        }
+    }
+
+    /**
+     * Parses the DIMACS problem line {@code p sp <vertices> <arcs>} to size the graph and its edge arrays up front. The
+     * vertex count also bounds the vertex ids of the arcs, and the space reserved for the arcs is bounded by the number
+     * of lines the file can hold.
+     *
+     * @param buffer The mapped region
+     * @param start  The index after the {@code p}
+     * @param end    The index after the last byte of the line
+     * @throws IOException If the line is malformed
+     */
+    private void parseProblemLine(MappedByteBuffer buffer, int start, int end) throws IOException {
+        int position = skipSeparators(buffer, start, end);
+        while (position < end && !isSeparator(buffer.get(position))) {
+            position++;
+        }
+        if (parseFields(buffer, position, end) != 2) {
+            throw malformed();
+        }
+        if (fields[0] < 0 || fields[1] < 0) {
+            throw malformed();
+        }
+        vertexLimit = fields[0];
+        if (fields[0] > builder.vertexCount()) {
+            highestVertexLine = lineNumber;
+        }
+        builder.ensureVertices((int) fields[0])
+                .ensureEdges((int) Math.min(fields[1], fileSize / MIN_BYTES_PER_EDGE));
+    }
+
+    /**
+     * Parses up to three integer fields into {@link #fields}.
+     *
+     * @param buffer The mapped region
+     * @param start  The index of the first field
+     * @param end    The index after the last byte of the line
+     * @return The number of fields, or -1 if the line contains a token which is not an integer
+     * @throws IOException If a number is out of range or there are too many fields
+     */
+    private int parseFields(MappedByteBuffer buffer, int start, int end) throws IOException {
+        int count = 0;
+        int position = skipSeparators(buffer, start, end);
+        while (position < end) {
+            if (count == MAX_FIELDS) {
+                throw malformed();
+            }
+            boolean negative = false;
+            byte current = buffer.get(position);
+            if (current == '-' || current == '+') {
+                negative = current == '-';
+                position++;
+            }
+            int digitsStart = position;
+            long value = 0;
+            while (position < end && (current = buffer.get(position)) >= '0' && current <= '9') {
+                value = value * 10 + (current - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw malformed();
+                }
+                position++;
+            }
+            if (position == digitsStart || position < end && !isSeparator(buffer.get(position))) {
+                return -1;
+            }
+            fields[count++] = negative ? -value : value;
+            position = skipSeparators(buffer, position, end);
+        }
+        return count;
+    }
+
+    /**
+     * Skips whitespace and commas.
+     *
+     * @param buffer   The mapped region
+     * @param position The index to start at
+     * @param end      The index after the last byte of the line
+     * @return The index of the next non-separator byte or {@code end}
+     */
+    private static int skipSeparators(MappedByteBuffer buffer, int position, int end) {
+        while (position < end && isSeparator(buffer.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Checks whether a byte separates two fields.
+     *
+     * @param value The byte
+     * @return True for spaces, tabs, carriage returns, commas and semicolons
+     */
+    private static boolean isSeparator(byte value) {
+        return value == ' ' || value == '\t' || value == '\r' || value == ',' || value == ';';
+    }
+
+    /**
+     * Creates the exception for a malformed line.
+     *
+     * @return The exception
+     */
+    private IOException malformed() {
+        return malformed(lineNumber);
+    }
+
+    /**
+     * Creates the exception for a malformed line which has been read before.
+     *
+     * @param line The number of the line
+     * @return The exception
+     */
+    private IOException malformed(long line) {
+        return new IOException("Malformed %s edge in line %d".formatted(format.getName(), line));
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.dankoller.graph.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary graph snapshot format. All numbers are little-endian. The file starts with a fixed size header
+ * followed by the sections in this order:
+ * <ol>
+ *     <li>offsets: {@code int[vertexCount + 1]}</li>
+ *     <li>targets, weights and edge ids: {@code int[arcCount]} each</li>
+ *     <li>if {@link #HAS_POSITIONS}: x and y coordinates, {@code float[vertexCount]} each</li>
+ *     <li>if {@link #HAS_HIERARCHY} (since version 2): the number of upward arcs of the contraction hierarchy, the
+ *     ranks {@code int[vertexCount]}, the arc offsets {@code int[vertexCount + 1]}, followed by the targets, weights,
+ *     middle vertices and edge ids of the upward arcs, {@code int[upwardArcCount]} each</li>
+ *     <li>if {@link #HAS_LABELS}: label offsets {@code int[vertexCount + 1]} into the UTF-8 label bytes, followed by
+ *     the label bytes themselves</li>
+ * </ol>
+ * Every section is a plain array, so reading a snapshot is a bulk copy without any parsing.
+ */
+final class SnapshotLayout {
+    static final int MAGIC = 0x53564147; // "GAVS" in little-endian byte order
+    static final int VERSION = 2;
+    static final int FIRST_VERSION = 1;
+    static final int HAS_LABELS = 1;
+    static final int HAS_POSITIONS = 1 << 1;
+    static final int HAS_HIERARCHY = 1 << 2;
+    static final int HEADER_BYTES = 6 * Integer.BYTES;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private SnapshotLayout() {
+    }
+}
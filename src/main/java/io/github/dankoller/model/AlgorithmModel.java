@@ -6,6 +6,7 @@ import java.util.Map;
 public class AlgorithmModel {
     private final Map<State, String> stateTexts = new EnumMap<>(State.class);
     private State state;
+    private String cacheStatistics;
 
     /**
      * Upon creating a new instance, the state is set to SELECT_VERTEX and the corresponding message is set.
@@ -16,6 +17,24 @@ public class AlgorithmModel {
         stateTexts.put(State.RUNNING, "Please wait...");
     }
 
+    /**
+     * Display the prompt for the next vertex to choose.
+     *
+     * @param prompt The prompt, e.g. to choose a target vertex.
+     */
+    public void setPromptText(String prompt) {
+        stateTexts.put(State.SELECT_VERTEX, prompt);
+    }
+
+    /**
+     * Display the progress of the algorithm while it is running.
+     *
+     * @param steps The number of steps the algorithm has taken so far.
+     */
+    public void setProgress(int steps) {
+        stateTexts.put(State.RUNNING, "Please wait... (%,d steps)".formatted(steps));
+    }
+
     /**
      * Display the result of the algorithm when it has finished.
      *
@@ -25,6 +44,24 @@ public class AlgorithmModel {
         stateTexts.put(State.TERMINATED, result);
     }
 
+    /**
+     * Set the statistics of the result cache to display next to the result.
+     *
+     * @param cacheStatistics The statistics of the result cache.
+     */
+    public void setCacheStatistics(String cacheStatistics) {
+        this.cacheStatistics = cacheStatistics;
+    }
+
+    /**
+     * Get the statistics of the result cache.
+     *
+     * @return The statistics of the result cache, or null if no result has been shown yet.
+     */
+    public String getCacheStatistics() {
+        return cacheStatistics;
+    }
+
     /**
      * Get the message that is currently displayed.
      *
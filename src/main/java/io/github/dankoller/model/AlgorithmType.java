@@ -7,8 +7,15 @@ import java.util.function.Supplier;
 public enum AlgorithmType {
     DEPTH_FIRST("Depth-First Search", DepthFirstSearch::new),
     BREADTH_FIRST("Breadth-First Search", BreadthFirstSearch::new),
+    DIRECTION_OPTIMIZING_BFS("Direction-Optimizing BFS", DirectionOptimizingSearch::new),
     DIJKSTRA_ALGORITHM("Dijkstra's Algorithm", DijskstraAlgorithm::new),
-    PRIM_ALGORITHM("Prim's Algorithm", PrimAlgorithm::new);
+    DELTA_STEPPING("Delta-Stepping", DeltaSteppingAlgorithm::new),
+    A_STAR("A* Search", AStarAlgorithm::new),
+    BIDIRECTIONAL_DIJKSTRA("Bidirectional Dijkstra", BidirectionalDijkstraAlgorithm::new),
+    BIDIRECTIONAL_A_STAR("Bidirectional A*", BidirectionalAStarAlgorithm::new),
+    CONTRACTION_HIERARCHY("Contraction Hierarchy", ContractionHierarchyAlgorithm::new),
+    PRIM_ALGORITHM("Prim's Algorithm", PrimAlgorithm::new),
+    KRUSKAL_ALGORITHM("Kruskal's Algorithm", KruskalAlgorithm::new);
 
     private final String algorithmName;
     private final Supplier<Algorithm> algorithmSupplier;
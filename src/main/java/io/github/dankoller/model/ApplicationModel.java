@@ -1,6 +1,7 @@
 package io.github.dankoller.model;
 
 import io.github.dankoller.controller.algorithm.Algorithm;
+import io.github.dankoller.controller.algorithm.ResultCache;
 import io.github.dankoller.controller.listener.ApplicationModelListener;
 
 import java.io.Serial;
@@ -14,7 +15,9 @@ public class ApplicationModel implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     private final GraphModel model = new GraphModel();
+    private final transient ResultCache resultCache = new ResultCache();
     private transient AlgorithmModel algorithmModel = null;
+    private transient Algorithm algorithm = null;
     private final transient List<ApplicationModelListener> listeners = new ArrayList<>();
 
     /**
@@ -85,12 +88,36 @@ public class ApplicationModel implements Serializable {
     }
 
     /**
-     * Callback method to propagate the result of the algorithm.
+     * Callback method to propagate the progress of the running algorithm. Late progress updates of an algorithm which
+     * has already finished or been stopped are ignored.
+     *
+     * @param steps Number of steps the algorithm has taken so far
+     */
+    public void propagateAlgorithmProgress(int steps) {
+        if (algorithmModel != null && algorithmModel.getState() == State.RUNNING) {
+            algorithmModel.setProgress(steps);
+            notifyAlgorithmStateUpdate(algorithmModel);
+        }
+    }
+
+    /**
+     * Callback method to ask for another vertex before the algorithm can start, e.g. the target of a route.
+     *
+     * @param prompt Prompt for the vertex to choose
+     */
+    public void propagateVertexPrompt(String prompt) {
+        algorithmModel.setPromptText(prompt);
+        switchAlgorithmState(State.SELECT_VERTEX);
+    }
+
+    /**
+     * Callback method to propagate the result of the algorithm together with the statistics of the result cache.
      *
      * @param result Result of the algorithm
      */
     public void propagateAlgorithmResult(String result) {
         algorithmModel.setResultText(result);
+        algorithmModel.setCacheStatistics(resultCache.getStatistics());
         switchAlgorithmState(State.TERMINATED);
     }
 
@@ -101,11 +128,23 @@ public class ApplicationModel implements Serializable {
      */
     public void startAlgorithm(AlgorithmType algorithmType) {
         setMode(Mode.NONE);
-        notifyAlgorithmUpdate(algorithmType.getAlgorithmSupplier().get().setApplicationModel(this));
+        algorithm = algorithmType.getAlgorithmSupplier().get().setApplicationModel(this);
+        notifyAlgorithmUpdate(algorithm);
         algorithmModel = new AlgorithmModel();
         notifyAlgorithmStateUpdate(algorithmModel);
     }
 
+    /**
+     * Control the playback of the current algorithm. The command is ignored if no algorithm is active.
+     *
+     * @param command Playback command
+     */
+    public void controlPlayback(PlaybackCommand command) {
+        if (algorithmIsRunning()) {
+            algorithm.controlPlayback(command);
+        }
+    }
+
     /**
      * Request a reset of the graph.
      */
@@ -121,4 +160,13 @@ public class ApplicationModel implements Serializable {
     public GraphModel getModel() {
         return model;
     }
+
+    /**
+     * Get the cache of the algorithm results on the current graph.
+     *
+     * @return Result cache
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
 }
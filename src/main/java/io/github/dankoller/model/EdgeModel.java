@@ -2,17 +2,13 @@ package io.github.dankoller.model;
 
 import io.github.dankoller.view.Edge;
 
-import javax.swing.*;
-import java.awt.*;
-import java.util.Set;
-
-public record EdgeModel(Edge from, Edge to, JLabel weightLabel, VertexModel start, VertexModel end) {
-    /**
-     * Get the components of the edge. This includes the start and end vertices, and the weight label.
-     *
-     * @return The components of the edge
-     */
-    public Set<Component> getEdgeComponents() {
-        return Set.of(from, to, weightLabel);
-    }
+/**
+ * View-side mapping of an edge of the graph core to its drawn edge, oriented from {@code start} to {@code end}.
+ *
+ * @param id    The id of the edge in the graph core
+ * @param edge  The drawn edge pointing from start to end
+ * @param start The vertex the edge starts from
+ * @param end   The vertex the edge ends at
+ */
+public record EdgeModel(int id, Edge edge, VertexModel start, VertexModel end) {
 }
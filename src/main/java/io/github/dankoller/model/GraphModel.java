@@ -1,43 +1,162 @@
 package io.github.dankoller.model;
 
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.GraphBuilder;
+import io.github.dankoller.graph.GraphCore;
+import io.github.dankoller.graph.SpatialGrid;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+import io.github.dankoller.graph.algorithm.DynamicShortestPaths;
+import io.github.dankoller.graph.algorithm.DynamicSpanningForest;
+import io.github.dankoller.graph.algorithm.ShortestPaths;
+import io.github.dankoller.graph.algorithm.SpanningForest;
+import io.github.dankoller.graph.algorithm.StepLog;
+import io.github.dankoller.graph.io.GraphSnapshot;
+import io.github.dankoller.view.DirtyRegion;
 import io.github.dankoller.view.Edge;
 import io.github.dankoller.view.Vertex;
 
-import javax.swing.*;
 import java.awt.*;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * The graph as it is edited and displayed. Vertices and edges are identified by the dense integer ids of the graph
+ * core. The positions of the vertices are stored in primitive arrays and their labels in a table of distinct labels,
+ * both indexed by vertex id, so looking up a vertex never depends on its position.
+ */
 public class GraphModel implements Serializable {
     @Serial
-    private static final long serialVersionUID = 12L;
-    private final Map<Point, VertexModel> vertices = new HashMap<>();
+    private static final long serialVersionUID = 13L;
+    private static final float VERTEX_TOLERANCE = Vertex.getVertexRadius() / 2f;
+    private static final float EDGE_TOLERANCE = Vertex.getVertexRadius() / 5f;
+    private final GraphCore core = new GraphCore();
+    private final SpatialGrid vertexIndex = new SpatialGrid(Vertex.getVertexRadius() * 2f);
+    private final SpatialGrid edgeIndex = new SpatialGrid(Vertex.getVertexRadius() * 2f);
+    private final List<VertexModel> vertexModels = new ArrayList<>();
+    private final List<String> labelTable = new ArrayList<>();
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private int[] vertexLabels = new int[16];
+    private float[] vertexXs = new float[16];
+    private float[] vertexYs = new float[16];
+    private final List<EdgeModel> edgeModels = new ArrayList<>();
+    private final Map<Edge, EdgeModel> edgesByView = new HashMap<>();
     private final List<Edge> edges = new ArrayList<>();
+    private int[] edgePositions = new int[16];
+    private final BitSet selectedVertices = new BitSet();
+    private final BitSet selectedEdges = new BitSet();
+    private long modificationCount;
+    private transient DynamicShortestPaths trackedPaths;
+    private transient DynamicSpanningForest trackedForest;
+    private transient ContractionHierarchy hierarchy;
+    private transient long hierarchyModificationCount;
 
     /**
-     * Adds a vertex to the graph.
+     * Adds a vertex to the graph. Several vertices may have the same label and the same position.
      *
-     * @param vertex The vertex to add
+     * @param label       The label of the vertex
+     * @param x           The x coordinate of the center of the vertex
+     * @param y           The y coordinate of the center of the vertex
+     * @param dirtyRegion The dirty region of the component the vertex is drawn on
+     * @return The new vertex
      */
-    public void addVertex(Vertex vertex) {
-        vertices.put(vertex.getCenter(), new VertexModel(vertex));
+    public Vertex addVertex(String label, float x, float y, DirtyRegion dirtyRegion) {
+        int id = core.addVertex();
+        if (id == vertexXs.length) {
+            vertexLabels = Arrays.copyOf(vertexLabels, id * 2);
+            vertexXs = Arrays.copyOf(vertexXs, id * 2);
+            vertexYs = Arrays.copyOf(vertexYs, id * 2);
+        }
+        vertexLabels[id] = labelIds.computeIfAbsent(label, key -> {
+            labelTable.add(key);
+            return labelTable.size() - 1;
+        });
+        vertexXs[id] = x;
+        vertexYs[id] = y;
+        Vertex vertex = new Vertex(id, this, dirtyRegion);
+        vertexModels.add(new VertexModel(id, vertex));
+        vertexIndex.insert(id, x, y);
+        modificationCount++;
+        return vertex;
+    }
+
+    /**
+     * Returns the label of the vertex with the given id.
+     *
+     * @param id The id of the vertex
+     * @return The label of the vertex
+     */
+    public String getVertexLabel(int id) {
+        return labelTable.get(vertexLabels[id]);
     }
 
     /**
-     * Adds an edge to the graph.
+     * Returns the x coordinate of the center of the vertex with the given id.
      *
-     * @param edge         The edge to add
-     * @param oppositeEdge The opposite edge to add
-     * @param weightLabel  The label for the weight of the edge
+     * @param id The id of the vertex
+     * @return The x coordinate
      */
-    public void addEdge(Edge edge, Edge oppositeEdge, JLabel weightLabel) {
+    public float getVertexX(int id) {
+        return vertexXs[id];
+    }
+
+    /**
+     * Returns the y coordinate of the center of the vertex with the given id.
+     *
+     * @param id The id of the vertex
+     * @return The y coordinate
+     */
+    public float getVertexY(int id) {
+        return vertexYs[id];
+    }
+
+    /**
+     * Returns the x coordinates of the centers of all vertices, including removed ones, indexed by vertex id.
+     *
+     * @return A copy of the x coordinates
+     */
+    public float[] getVertexXs() {
+        return Arrays.copyOf(vertexXs, core.vertexIdBound());
+    }
+
+    /**
+     * Returns the y coordinates of the centers of all vertices, including removed ones, indexed by vertex id.
+     *
+     * @return A copy of the y coordinates
+     */
+    public float[] getVertexYs() {
+        return Arrays.copyOf(vertexYs, core.vertexIdBound());
+    }
+
+    /**
+     * Adds an edge to the graph. The weight is parsed once from the weight label and stored in the graph core.
+     *
+     * @param edge The edge to add
+     */
+    public void addEdge(Edge edge) {
+        VertexModel start = vertexModels.get(edge.getFrom().getId());
+        VertexModel end = vertexModels.get(edge.getTo().getId());
+        int id = core.addEdge(start.getId(), end.getId(), Integer.parseInt(edge.getWeight()));
+        EdgeModel edgeModel = new EdgeModel(id, edge, start, end);
+        edgeModels.add(edgeModel);
+        edgesByView.put(edge, edgeModel);
+        if (id == edgePositions.length) {
+            edgePositions = Arrays.copyOf(edgePositions, id * 2);
+        }
+        edgePositions[id] = edges.size();
         edges.add(edge);
-        VertexModel start = vertices.get(edge.getStart());
-        VertexModel end = vertices.get(edge.getEnd());
-        start.addTreeEdge(new EdgeModel(edge, oppositeEdge, weightLabel, start, end));
-        end.addTreeEdge(new EdgeModel(oppositeEdge, edge, weightLabel, end, start));
+        edgeIndex.insert(id, edge.getStart().x, edge.getStart().y, edge.getEnd().x, edge.getEnd().y);
+        if (trackedPaths != null && core.weight(id) < 0) {
+            trackedPaths = null;
+        } else if (trackedPaths != null) {
+            trackedPaths.edgeAdded(id);
+        }
+        if (trackedForest != null) {
+            trackedForest.edgeAdded(id);
+        }
+        modificationCount++;
     }
 
     /**
@@ -47,187 +166,423 @@ public class GraphModel implements Serializable {
      * @return The vertex model
      */
     public VertexModel getModelVertex(Vertex vertex) {
-        return vertices.get(vertex.getCenter());
+        return vertexModels.get(vertex.getId());
+    }
+
+    /**
+     * Returns the vertex model for the given vertex id of the graph core.
+     *
+     * @param id The id of the vertex
+     * @return The vertex model
+     */
+    public VertexModel getModelVertex(int id) {
+        return vertexModels.get(id);
+    }
+
+    /**
+     * Finds the vertex at the given point with the spatial index.
+     *
+     * @param point The point to be checked
+     * @return The vertex containing the point, or an empty optional if there is none
+     */
+    public Optional<Vertex> getVertexAt(Point point) {
+        int id = vertexIndex.nearest(point.x, point.y, VERTEX_TOLERANCE);
+        return id < 0 ? Optional.empty() : Optional.of(vertexModels.get(id).getVertex());
+    }
+
+    /**
+     * Finds the edge closest to the given point with the spatial index.
+     *
+     * @param point The point to be checked
+     * @return The closest edge within a few pixels of the point, or an empty optional if there is none
+     */
+    public Optional<Edge> getEdgeAt(Point point) {
+        int id = edgeIndex.nearest(point.x, point.y, EDGE_TOLERANCE);
+        return id < 0 ? Optional.empty() : Optional.of(edgeModels.get(id).edge());
+    }
+
+    /**
+     * Calls the action for every vertex intersecting the given area, found with the spatial index.
+     *
+     * @param area   The area in world coordinates
+     * @param action The action to call for each vertex
+     */
+    public void forEachVertexIn(Rectangle area, Consumer<Vertex> action) {
+        int margin = Vertex.getVertexRadius();
+        BitSet reported = new BitSet();
+        vertexIndex.query(area.x - margin, area.y - margin, area.x + area.width + margin,
+                area.y + area.height + margin, id -> {
+                    if (!reported.get(id)) {
+                        reported.set(id);
+                        Vertex vertex = vertexModels.get(id).getVertex();
+                        if (intersects(area, vertex)) {
+                            action.accept(vertex);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Calls the action for every edge whose line or weight label intersects the given area, found with the spatial
+     * index.
+     *
+     * @param area   The area in world coordinates
+     * @param action The action to call for each edge
+     */
+    public void forEachEdgeIn(Rectangle area, Consumer<Edge> action) {
+        int margin = Vertex.getVertexRadius();
+        BitSet reported = new BitSet();
+        edgeIndex.query(area.x - margin, area.y - margin, area.x + area.width + margin,
+                area.y + area.height + margin, id -> {
+                    if (!reported.get(id)) {
+                        reported.set(id);
+                        Edge edge = edgeModels.get(id).edge();
+                        if (area.intersects(edge.getBounds())) {
+                            action.accept(edge);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Calls the action for every selected vertex intersecting the given area. Only the selected vertices are checked,
+     * so this is cheap even if the area contains most of the graph.
+     *
+     * @param area   The area in world coordinates
+     * @param action The action to call for each selected vertex
+     */
+    public void forEachSelectedVertexIn(Rectangle area, Consumer<Vertex> action) {
+        for (int id = selectedVertices.nextSetBit(0); id >= 0; id = selectedVertices.nextSetBit(id + 1)) {
+            Vertex vertex = vertexModels.get(id).getVertex();
+            if (intersects(area, vertex)) {
+                action.accept(vertex);
+            }
+        }
+    }
+
+    /**
+     * Calls the action for every selected edge whose line or weight label intersects the given area.
+     *
+     * @param area   The area in world coordinates
+     * @param action The action to call for each selected edge
+     */
+    public void forEachSelectedEdgeIn(Rectangle area, Consumer<Edge> action) {
+        for (int id = selectedEdges.nextSetBit(0); id >= 0; id = selectedEdges.nextSetBit(id + 1)) {
+            Edge edge = edgeModels.get(id).edge();
+            if (area.intersects(edge.getBounds())) {
+                action.accept(edge);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a vertex intersects the given area without creating its bounds.
+     *
+     * @param area   The area in world coordinates
+     * @param vertex The vertex
+     * @return True if the vertex intersects the area
+     */
+    private static boolean intersects(Rectangle area, Vertex vertex) {
+        return area.intersects(vertex.getX(), vertex.getY(), Vertex.getVertexRadius(), Vertex.getVertexRadius());
+    }
+
+    /**
+     * Returns a CSR snapshot of the graph core for running algorithms without any Swing dependency.
+     *
+     * @return The CSR snapshot
+     */
+    public CsrGraph getSnapshot() {
+        return core.snapshot();
     }
 
     /**
      * Handles the removal of a vertex and its edges. This method is called when a vertex is removed from the graph.
-     * It returns a set of components to remove from the graph. The application panel will then remove these components
-     * and repaint the graph.
+     * It takes time proportional to the number of removed edges.
      *
      * @param vertex The vertex to remove
-     * @return A set of components to remove
      */
-    public Set<Component> removeVertexWithEdges(Vertex vertex) {
-        VertexModel vertexModel = vertices.get(vertex.getCenter());
-        Set<Component> componentsToRemove = new HashSet<>();
-        componentsToRemove.add(vertex);
-        vertexModel.getEdges().forEach(treeEdge -> removeEdgeFromModelAndUpdateComponents(componentsToRemove, treeEdge));
-        vertices.remove(vertex.getCenter());
-        return componentsToRemove;
+    public void removeVertexWithEdges(Vertex vertex) {
+        VertexModel vertexModel = vertexModels.get(vertex.getId());
+        int[] removed = core.removeVertex(vertexModel.getId());
+        for (int edge : removed) {
+            removeEdgeView(edge);
+        }
+        if (trackedPaths != null && trackedPaths.getSource() == vertexModel.getId()) {
+            trackedPaths = null;
+        } else if (trackedPaths != null) {
+            trackedPaths.edgesRemoved(removed);
+        }
+        if (trackedForest != null) {
+            trackedForest.edgesRemoved(removed);
+        }
+        vertexModels.set(vertexModel.getId(), null);
+        selectedVertices.clear(vertexModel.getId());
+        vertexIndex.remove(vertexModel.getId());
+        modificationCount++;
     }
 
     /**
-     * Handles the removal of an edge. This method is called when an edge is removed from the graph.
+     * Handles the removal of the view mapping of an edge which has already been removed from the graph core. The
+     * removed edge is replaced by the last edge of the edge list, so the removal takes constant time.
      *
-     * @param componentsToRemove A set of components to remove
-     * @param edgeModel          The edge model to remove
+     * @param edge The id of the removed edge
      */
-    private void removeEdgeFromModelAndUpdateComponents(Set<Component> componentsToRemove, EdgeModel edgeModel) {
-        componentsToRemove.addAll(edgeModel.getEdgeComponents());
-        edges.remove(edgeModel.to());
-        edges.remove(edgeModel.from());
-        Optional<EdgeModel> oppositeTreeEdge = edgeModel.end().getEdges().stream()
-                .filter(te -> te.to() == edgeModel.from()).findFirst();
-        oppositeTreeEdge.ifPresent(edgeModel.end().getEdges()::remove);
+    private void removeEdgeView(int edge) {
+        EdgeModel edgeModel = edgeModels.set(edge, null);
+        edgesByView.remove(edgeModel.edge());
+        Edge last = edges.remove(edges.size() - 1);
+        if (last != edgeModel.edge()) {
+            edges.set(edgePositions[edge], last);
+            edgePositions[edgesByView.get(last).id()] = edgePositions[edge];
+        }
+        edgeIndex.remove(edge);
+        selectedEdges.clear(edge);
     }
 
     /**
-     * Handles the removal of an edge. This method is called when an edge is removed from the graph.
-     * It returns a set of components to remove from the graph. The application panel will then remove these components
-     * and repaint the graph.
+     * Handles the removal of an edge. This method is called when an edge is removed from the graph. Unknown edges are
+     * ignored.
      *
      * @param edge The edge to remove
-     * @return A set of components to remove
-     */
-    public Set<Component> removeEdge(Edge edge) {
-        VertexModel start = vertices.get(edge.getStart());
-        Set<Component> edgeComponentsToRemove = new HashSet<>();
-        Optional<EdgeModel> optional = start.getEdges().stream().filter(te -> te.from() == edge).findFirst();
-        optional.ifPresent(treeEdge -> {
-            removeEdgeFromModelAndUpdateComponents(edgeComponentsToRemove, treeEdge);
-            start.getEdges().remove(treeEdge);
-        });
-        return edgeComponentsToRemove;
+     */
+    public void removeEdge(Edge edge) {
+        EdgeModel edgeModel = edgesByView.get(edge);
+        if (edgeModel != null) {
+            core.removeEdge(edgeModel.id());
+            removeEdgeView(edgeModel.id());
+            if (trackedPaths != null) {
+                trackedPaths.edgesRemoved(edgeModel.id());
+            }
+            if (trackedForest != null) {
+                trackedForest.edgesRemoved(edgeModel.id());
+            }
+            modificationCount++;
+        }
     }
 
     /**
      * Clears the graph if the user wants to start over.
      */
     public void clear() {
-        vertices.clear();
+        core.clear();
+        vertexIndex.clear();
+        edgeIndex.clear();
+        vertexModels.clear();
+        labelTable.clear();
+        labelIds.clear();
+        edgeModels.clear();
+        edgesByView.clear();
         edges.clear();
+        selectedVertices.clear();
+        selectedEdges.clear();
+        trackedPaths = null;
+        trackedForest = null;
+        modificationCount++;
     }
 
     /**
-     * Unselects all vertices and edges.
+     * Returns the number of modifications of the graph, i.e. of added or removed vertices and edges. Changing the
+     * selection is not a modification. The count can be used to detect whether cached data about the graph is stale.
+     *
+     * @return The modification count
      */
-    public void unselect() {
-        vertices.values().forEach(vertexModel -> {
-            vertexModel.setVisited(false);
-            vertexModel.getVertex().deselect();
-        });
-        edges.forEach(Edge::unselect);
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     /**
-     * Selects the given vertex.
+     * Keeps the given shortest paths up to date while the graph is edited, replacing the paths tracked so far. Every
+     * added or removed edge repairs only the affected part of the paths. The paths are dropped once an edge with a
+     * negative weight is added, since there are no shortest paths on a graph with a negative cycle.
      *
-     * @param vertex The vertex to select
+     * @param paths The shortest paths computed on the current graph
      */
-    public void selectVertex(Vertex vertex) {
-        vertices.get(vertex.getCenter());
-        vertex.select();
+    public void trackShortestPaths(ShortestPaths paths) {
+        trackedPaths = new DynamicShortestPaths(core, paths);
     }
 
     /**
-     * Selects the given edge vertex from a vertex model.
+     * Returns the tracked shortest paths if they start from the given vertex.
      *
-     * @param vertex The vertex model to select
+     * @param source The id of the source vertex
+     * @return The current shortest paths from the source, or an empty optional if they are not tracked
      */
-    private void selectVertex(VertexModel vertex) {
-        vertex.setVisited(true);
-        vertex.getVertex().select();
+    public Optional<ShortestPaths> getTrackedShortestPaths(int source) {
+        if (trackedPaths == null || trackedPaths.getSource() != source) {
+            return Optional.empty();
+        }
+        return Optional.of(trackedPaths.toShortestPaths());
     }
 
     /**
-     * Selects the given edge and its neighbor vertex.
+     * Keeps the given minimum spanning forest up to date while the graph is edited, replacing the forest tracked so
+     * far. Every added or removed edge updates the forest in about logarithmic time.
      *
-     * @param edge The edge to select
+     * @param forest The minimum spanning forest computed on the current graph
      */
-    public void selectEdgeAndNeighborVertex(EdgeModel edge) {
-        selectVertex(edge.end());
-        if (edges.contains(edge.from())) {
-            edge.from().select();
-        } else {
-            edge.to().select();
+    public void trackSpanningForest(SpanningForest forest) {
+        trackedForest = new DynamicSpanningForest(core, forest);
+    }
+
+    /**
+     * Returns the tracked minimum spanning forest, starting with the tree of the given vertex.
+     *
+     * @param source The id of the vertex whose tree is listed first
+     * @param log    The log to record the growth of the trees to
+     * @return The current forest, or an empty optional if no forest is tracked
+     */
+    public Optional<SpanningForest> getTrackedSpanningForest(int source, StepLog log) {
+        return Optional.ofNullable(trackedForest).map(forest -> forest.toSpanningForest(source, log));
+    }
+
+    /**
+     * Keeps the contraction hierarchy of the current graph, e.g. one loaded from a snapshot or built by a route query,
+     * until the graph is modified.
+     *
+     * @param hierarchy The contraction hierarchy built on the current vertex and edge ids
+     * @throws IllegalArgumentException If the hierarchy does not have a rank for every vertex id
+     */
+    public void setContractionHierarchy(ContractionHierarchy hierarchy) {
+        if (hierarchy.vertexCount() != core.vertexIdBound()) {
+            throw new IllegalArgumentException("Expected a hierarchy of %d vertices but got %d"
+                    .formatted(core.vertexIdBound(), hierarchy.vertexCount()));
         }
+        this.hierarchy = hierarchy;
+        hierarchyModificationCount = modificationCount;
     }
 
     /**
-     * This method initializes the graph for a breadth first search.
+     * Returns the contraction hierarchy of the current graph.
      *
-     * @param startVertex The vertex to start the search from
-     * @return A queue of edges that were traversed
+     * @return The hierarchy, or an empty optional if there is none or the graph has been modified since it was set
      */
-    public Queue<EdgeModel> depthFirstSearch(Vertex startVertex) {
-        Queue<EdgeModel> traverseQueue = new ArrayDeque<>();
-        VertexModel start = vertices.get(startVertex.getCenter());
-        selectVertex(start);
-        return depthFirstSearch(traverseQueue, start);
+    public Optional<ContractionHierarchy> getContractionHierarchy() {
+        if (hierarchy == null || hierarchyModificationCount != modificationCount) {
+            return Optional.empty();
+        }
+        return Optional.of(hierarchy);
     }
 
     /**
-     * This method performs a depth first search on the graph.
+     * Unselects all vertices and edges.
+     */
+    public void unselect() {
+        for (int id = selectedVertices.nextSetBit(0); id >= 0; id = selectedVertices.nextSetBit(id + 1)) {
+            vertexModels.get(id).getVertex().deselect();
+        }
+        for (int id = selectedEdges.nextSetBit(0); id >= 0; id = selectedEdges.nextSetBit(id + 1)) {
+            edgeModels.get(id).edge().unselect();
+        }
+        selectedVertices.clear();
+        selectedEdges.clear();
+    }
+
+    /**
+     * Selects the given vertex.
      *
-     * @param traverseQueue The queue of edges that were traversed
-     * @param vertex        The vertex to start the search from
-     * @return A queue of edges that were traversed
+     * @param vertex The vertex to select
      */
-    private Queue<EdgeModel> depthFirstSearch(Queue<EdgeModel> traverseQueue, VertexModel vertex) {
-        for (EdgeModel edge : vertex.getEdges()) {
-            if (edge.end().isVisited()) {
-                edge.end().setVisited(true);
-                traverseQueue.offer(edge);
-                depthFirstSearch(traverseQueue, edge.end());
-            }
+    public void selectVertex(Vertex vertex) {
+        setVertexSelected(vertex.getId(), true);
+    }
+
+    /**
+     * Unselects the given vertex.
+     *
+     * @param vertex The vertex to unselect
+     */
+    public void deselectVertex(Vertex vertex) {
+        setVertexSelected(vertex.getId(), false);
+    }
+
+    /**
+     * Highlights or clears the vertex with the given id of the graph core. Removed vertices are ignored.
+     *
+     * @param id       The id of the vertex
+     * @param selected True to highlight the vertex, false to clear it
+     */
+    public void setVertexSelected(int id, boolean selected) {
+        VertexModel vertexModel = id < vertexModels.size() ? vertexModels.get(id) : null;
+        if (vertexModel == null) {
+            return;
         }
-        return traverseQueue;
+        if (selected) {
+            vertexModel.getVertex().select();
+        } else {
+            vertexModel.getVertex().deselect();
+        }
+        selectedVertices.set(id, selected);
     }
 
     /**
-     * This method initializes the graph for a breadth first search.
+     * Highlights or clears the edge with the given id of the graph core. Removed edges are ignored.
      *
-     * @param startVertex The vertex to start the search from
-     * @return A queue of edges that were traversed
+     * @param id       The id of the edge
+     * @param selected True to highlight the edge, false to clear it
      */
-    public Queue<EdgeModel> breadthFirstSearch(Vertex startVertex) {
-        Queue<EdgeModel> traverseQueue = new ArrayDeque<>();
-        VertexModel start = vertices.get(startVertex.getCenter());
-        selectVertex(start);
-        return breadthFirstSearch(traverseQueue, List.of(vertices.get(startVertex.getCenter())));
+    public void setEdgeSelected(int id, boolean selected) {
+        EdgeModel edgeModel = id < edgeModels.size() ? edgeModels.get(id) : null;
+        if (edgeModel == null) {
+            return;
+        }
+        if (selected) {
+            edgeModel.edge().select();
+        } else {
+            edgeModel.edge().unselect();
+        }
+        selectedEdges.set(id, selected);
     }
 
     /**
-     * This method performs a breadth first search on the graph.
+     * Creates a snapshot of the graph with the labels and center positions of the vertices. Removed vertices and
+     * edges are left out, so the vertex and edge ids of the snapshot are dense. The contraction hierarchy of the graph
+     * is included if there is one and no vertex or edge has been removed, i.e. the ids have not changed.
      *
-     * @param traverseQueue The queue of edges that were traversed
-     * @param levelVertices The vertices to start the search from
-     * @return A queue of edges that were traversed
+     * @return The snapshot of the graph
      */
-    private Queue<EdgeModel> breadthFirstSearch(Queue<EdgeModel> traverseQueue, List<VertexModel> levelVertices) {
-        if (levelVertices.isEmpty()) {
-            return traverseQueue;
+    public GraphSnapshot toSnapshot() {
+        int[] snapshotIds = new int[vertexModels.size()];
+        String[] labels = new String[core.vertexCount()];
+        float[] xs = new float[labels.length];
+        float[] ys = new float[labels.length];
+        int count = 0;
+        for (VertexModel vertexModel : vertexModels) {
+            if (vertexModel != null) {
+                int id = vertexModel.getId();
+                snapshotIds[id] = count;
+                labels[count] = getVertexLabel(id);
+                xs[count] = vertexXs[id];
+                ys[count] = vertexYs[id];
+                count++;
+            }
         }
-        List<EdgeModel> unvisitedNeighborEdges = levelVertices.stream()
-                .flatMap(vertex -> vertex.getEdges().stream())
-                .filter(edge -> edge.end().isVisited()).toList();
-        unvisitedNeighborEdges.forEach(edge -> {
-            if (edge.end().isVisited()) {
-                edge.end().setVisited(true);
-                traverseQueue.offer(edge);
+        GraphBuilder builder = new GraphBuilder(core.edgeCount()).ensureVertices(count);
+        for (EdgeModel edgeModel : edgeModels) {
+            if (edgeModel != null) {
+                builder.addEdge(snapshotIds[edgeModel.start().getId()], snapshotIds[edgeModel.end().getId()],
+                        core.weight(edgeModel.id()));
             }
-        });
-        breadthFirstSearch(traverseQueue, unvisitedNeighborEdges.stream().map(EdgeModel::end).toList());
-        return traverseQueue;
+        }
+        boolean denseIds = core.vertexIdBound() == core.vertexCount() && core.edgeIdBound() == core.edgeCount();
+        return new GraphSnapshot(builder.build(), labels, xs, ys,
+                denseIds ? getContractionHierarchy().orElse(null) : null);
+    }
+
+    /**
+     * Get all vertices of the graph in the order they have been added.
+     *
+     * @return An unmodifiable list of the vertex models
+     */
+    public Collection<VertexModel> getVertices() {
+        return vertexModels.stream().filter(Objects::nonNull).toList();
     }
 
     /**
-     * Get a list of all edges in the graph.
+     * Get a list of all edges in the graph. The order changes when edges are removed.
      *
-     * @return A list of all edges in the graph
+     * @return An unmodifiable view of all edges in the graph
      */
     public List<Edge> getEdges() {
-        return edges;
+        return Collections.unmodifiableList(edges);
     }
 }
@@ -0,0 +1,24 @@
+package io.github.dankoller.model;
+
+/**
+ * The commands to control the playback of a recorded algorithm.
+ */
+public enum PlaybackCommand {
+    PAUSE_RESUME("Pause/Resume"),
+    STEP_FORWARD("Step Forward"),
+    STEP_BACK("Step Back"),
+    FASTER("Faster"),
+    SLOWER("Slower"),
+    SEEK_START("Jump to Start"),
+    SEEK_END("Jump to End");
+
+    private final String name;
+
+    PlaybackCommand(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
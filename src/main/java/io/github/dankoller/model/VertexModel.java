@@ -2,30 +2,31 @@ package io.github.dankoller.model;
 
 import io.github.dankoller.view.Vertex;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * View-side mapping of a vertex of the graph core to its drawn vertex.
+ */
 public class VertexModel {
+    private final int id;
     private final Vertex vertex;
-    private boolean visited = false;
-    private final List<EdgeModel> edges = new ArrayList<>();
 
     /**
      * Creates a new VertexModel with the given vertex.
      *
+     * @param id     The id of the vertex in the graph core.
      * @param vertex The vertex to create the model for.
      */
-    public VertexModel(Vertex vertex) {
+    public VertexModel(int id, Vertex vertex) {
+        this.id = id;
         this.vertex = vertex;
     }
 
     /**
-     * Adds an edge to the vertex.
+     * Returns the id of the vertex in the graph core.
      *
-     * @param edge The edge to add.
+     * @return The id of the vertex.
      */
-    public void addTreeEdge(EdgeModel edge) {
-        edges.add(edge);
+    public int getId() {
+        return id;
     }
 
     /**
@@ -36,31 +37,4 @@ public class VertexModel {
     public Vertex getVertex() {
         return vertex;
     }
-
-    /**
-     * Get all edges of the vertex.
-     *
-     * @return A list of all edges.
-     */
-    public List<EdgeModel> getEdges() {
-        return edges;
-    }
-
-    /**
-     * Returns whether the vertex has been visited. This is necessary for the DFS and BFS algorithms.
-     *
-     * @return True if the vertex has been visited, false otherwise.
-     */
-    public boolean isVisited() {
-        return !visited;
-    }
-
-    /**
-     * Sets the visited flag of the vertex. This is necessary for the DFS and BFS algorithms.
-     *
-     * @param visited The new value of the visited flag.
-     */
-    public void setVisited(boolean visited) {
-        this.visited = visited;
-    }
 }
@@ -3,16 +3,21 @@ package io.github.dankoller.view;
 import io.github.dankoller.controller.algorithm.Algorithm;
 import io.github.dankoller.controller.listener.GraphClickListener;
 import io.github.dankoller.controller.listener.ApplicationModelListener;
+import io.github.dankoller.controller.listener.ViewportListener;
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.io.GraphSnapshot;
 import io.github.dankoller.model.*;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
 import java.util.Optional;
-import java.util.Set;
 
 public class ApplicationPanel extends JPanel implements ApplicationModelListener {
+    private final Viewport viewport = new Viewport();
+    private final DirtyRegion dirtyRegion = new DirtyRegion(this, viewport);
     private final GraphModel model;
+    private final transient GraphRenderer renderer;
+    private final transient TileCache tileCache;
     private Vertex selectedVertex = null;
     private transient Algorithm runningAlgorithm = null;
     private Mode mode = Mode.START_MODE;
@@ -25,8 +30,14 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
     public ApplicationPanel(GraphModel model) {
         super(null);
         this.model = model;
+        this.renderer = new GraphRenderer(model);
+        this.tileCache = new TileCache(model, renderer);
         setName("Graph");
         addMouseListener(new GraphClickListener(this));
+        ViewportListener viewportListener = new ViewportListener(this);
+        addMouseListener(viewportListener);
+        addMouseMotionListener(viewportListener);
+        addMouseWheelListener(viewportListener);
     }
 
     /**
@@ -42,7 +53,6 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
         if (mode == Mode.RESET_MODE) {
             this.mode = Mode.START_MODE;
             model.clear();
-            removeAll();
             repaint();
         }
     }
@@ -88,39 +98,59 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
     }
 
     /***
-     * Set the vertex of the graph as selected.
+     * Set the vertex of the graph as selected, or unselect the selected vertex if the given vertex is null.
      * @param vertex The vertex to be selected
      */
     public void setSelectedVertex(Vertex vertex) {
-        selectedVertex = vertex;
         if (vertex != null) {
             model.selectVertex(vertex);
+        } else if (selectedVertex != null) {
+            model.deselectVertex(selectedVertex);
         }
+        selectedVertex = vertex;
     }
 
     /**
      * Get a vertex of a certain point in the graph.
      *
-     * @param point The point to be checked
+     * @param point The point of the panel to be checked
      * @return The vertex at the point or null if no vertex is at the point
      */
     public Optional<Vertex> getVertexAt(Point point) {
-        return Optional.ofNullable(getComponentAt(point) instanceof Vertex v && v.isInside(point) ? v : null);
+        return model.getVertexAt(viewport.toWorld(point));
+    }
+
+    /**
+     * Get the edge closest to a certain point in the graph.
+     *
+     * @param point The point of the panel to be checked
+     * @return The edge near the point or null if no edge is near the point
+     */
+    public Optional<Edge> getEdgeAt(Point point) {
+        return model.getEdgeAt(viewport.toWorld(point));
+    }
+
+    /**
+     * Get the viewport which maps the graph to the panel.
+     *
+     * @return The viewport
+     */
+    public Viewport getViewport() {
+        return viewport;
     }
 
     /**
      * Add a vertex to the graph, update the model and repaint the panel to render the newly added vertex.
      *
      * @param label    The label of the vertex
-     * @param position The position of the vertex
-     */
-    public void addVertex(String label, Point position) {
-        Vertex vertex = new Vertex(label, getBackground());
-        vertex.setLocation(position);
-        model.addVertex(vertex);
-        add(vertex);
-        revalidate();
+     * @param position The position of the vertex in world coordinates
+     * @return The new vertex
+     */
+    public Vertex addVertex(String label, Point position) {
+        int offset = Vertex.getVertexRadius() / 2;
+        Vertex vertex = model.addVertex(label, position.x + offset, position.y + offset, dirtyRegion);
         repaint();
+        return vertex;
     }
 
     /**
@@ -131,55 +161,50 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
      * @param to     The vertex the edge ends at
      */
     public void addEdge(String weight, Vertex from, Vertex to) {
-        Edge edge = new Edge(from, to);
-        edge.setBounds(new Rectangle(new Point((from.getCenter().x + to.getCenter().x) / 2 - 10,
-                (from.getCenter().y + to.getCenter().y) / 2 - 10), new Dimension(20, 20)));
-        add(edge);
-        Edge reversedEdge = new Edge(to, from);
-        add(reversedEdge);
-        JLabel weightLabel = createWeightLabel(weight, from, to);
-        add(weightLabel);
-        model.addEdge(edge, reversedEdge, weightLabel);
-        revalidate();
+        model.addEdge(new Edge(from, to, weight, dirtyRegion));
         repaint();
     }
 
     /**
-     * Helper method to create a weight label for an edge.
+     * Add all vertices and edges of a snapshot to the (empty) graph. Vertices without a stored position are placed on
+     * a grid. The contraction hierarchy of the snapshot is kept for route queries unless self loops had to be left
+     * out, which changes the edge ids.
      *
-     * @param weight The weight of the edge
-     * @param from   The vertex the edge starts from
-     * @param to     The vertex the edge ends at
-     * @return The weight label
+     * @param snapshot The snapshot to load
      */
-    private JLabel createWeightLabel(String weight, Vertex from, Vertex to) {
-        Point position = getLabelPosition(from.getCenter(), to.getCenter());
-        JLabel label = new JLabel(weight);
-        label.setName("EdgeLabel <%s -> %s>".formatted(from.getLabel(), to.getLabel()));
-        label.setForeground(Vertex.getVertexColor());
-        int fontSize = Vertex.getVertexRadius() * 2 / 5;
-        label.setFont(new Font("Arial", Font.BOLD, fontSize));
-        label.setBounds(position.x, position.y, fontSize * 3 / 2, fontSize * 3 / 2);
-        return label;
-    }
-
-    /**
-     * Helper method to calculate the position of the weight label.
-     *
-     * @param start The start vertex
-     * @param end   The end vertex
-     * @return The position of the weight label
-     */
-    private static Point getLabelPosition(Point start, Point end) {
-        Point mid = new Point((start.x + end.x) / 2, (start.y + end.y) / 2);
-        Point position;
-        int offset = Vertex.getVertexRadius() / 10;
-        if ((end.y - start.y) * (end.x - start.x) < 0) {
-            position = new Point(mid.x + offset, mid.y + offset);
-        } else {
-            position = new Point(mid.x - 3 * offset, mid.y + offset);
+    public void loadSnapshot(GraphSnapshot snapshot) {
+        CsrGraph graph = snapshot.graph();
+        Vertex[] vertices = new Vertex[graph.vertexCount()];
+        int columns = Math.max(1, getWidth() / (Vertex.getVertexRadius() * 2));
+        for (int id = 0; id < vertices.length; id++) {
+            float x = snapshot.hasPositions() ? snapshot.xs()[id] : (id % columns * 2 + 1) * Vertex.getVertexRadius();
+            float y = snapshot.hasPositions() ? snapshot.ys()[id] : (id / columns * 2 + 1) * Vertex.getVertexRadius();
+            vertices[id] = model.addVertex(snapshot.label(id), x, y, dirtyRegion);
+        }
+        repaint();
+        int[] edgeSources = new int[graph.edgeCount()];
+        int[] edgeTargets = new int[graph.edgeCount()];
+        int[] edgeWeights = new int[graph.edgeCount()];
+        for (int vertex = 0; vertex < vertices.length; vertex++) {
+            for (int arc = graph.firstArc(vertex); arc < graph.endArc(vertex); arc++) {
+                if (vertex < graph.target(arc)) {
+                    edgeSources[graph.edgeId(arc)] = vertex;
+                    edgeTargets[graph.edgeId(arc)] = graph.target(arc);
+                    edgeWeights[graph.edgeId(arc)] = graph.weight(arc);
+                }
+            }
+        }
+        boolean allEdges = true;
+        for (int edge = 0; edge < edgeSources.length; edge++) {
+            if (edgeSources[edge] != edgeTargets[edge]) {
+                addEdge(Integer.toString(edgeWeights[edge]), vertices[edgeSources[edge]], vertices[edgeTargets[edge]]);
+            } else {
+                allEdges = false;
+            }
+        }
+        if (snapshot.hasHierarchy() && allEdges) {
+            model.setContractionHierarchy(snapshot.hierarchy());
         }
-        return position;
     }
 
     /**
@@ -188,8 +213,7 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
      * @param vertex The vertex to be removed
      */
     public void removeVertexWithAssociateEdges(Vertex vertex) {
-        Set<Component> componentsToRemove = model.removeVertexWithEdges(vertex);
-        componentsToRemove.forEach(this::remove);
+        model.removeVertexWithEdges(vertex);
         repaint();
     }
 
@@ -199,8 +223,7 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
      * @param edge The edge to be removed
      */
     public void removeEdge(Edge edge) {
-        Set<Component> componentsToRemove = model.removeEdge(edge);
-        componentsToRemove.forEach(this::remove);
+        model.removeEdge(edge);
         repaint();
     }
 
@@ -214,19 +237,28 @@ public class ApplicationPanel extends JPanel implements ApplicationModelListener
     }
 
     /**
-     * This method handles the painting and rendering of the graph. It draws the edges and then calls the super method
-     * to render the vertices.
+     * This method handles the painting and rendering of the graph in two layers. The static layer shows the whole graph
+     * unselected and is copied from the tile cache, which only draws it again after the graph has been modified or
+     * the zoom has changed. The highlight layer with the selected vertices and edges is drawn on top of it, so a
+     * repaint during the playback of an algorithm only draws the few elements which are highlighted. Only the
+     * elements intersecting the clip, i.e. the visible or dirty part of the graph, are looked up and drawn.
      *
      * @param g The graphics object (cast to Graphics2D)
      */
     @Override
-    public void paintChildren(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setStroke(new BasicStroke(Vertex.getVertexRadius() / 10f));
-        model.getEdges().forEach(e -> {
-            g2d.setColor(e.isSelected() ? Vertex.getVertexSelectedColor() : Vertex.getVertexColor());
-            g2d.draw(new Line2D.Float(e.getStart(), e.getEnd()));
-        });
-        super.paintChildren(g2d);
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        tileCache.paint(g, clip, viewport, getBackground(), getGraphicsConfiguration());
+        int originX = viewport.getOriginX();
+        int originY = viewport.getOriginY();
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.translate(originX, originY);
+        renderer.paintHighlights(g2d, TileCache.toWorld(clip.x - originX, clip.y - originY, clip.width, clip.height,
+                viewport.getScale()), viewport.getScale(), getBackground());
+        g2d.dispose();
     }
 }
@@ -0,0 +1,50 @@
+package io.github.dankoller.view;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Collects the areas of a component which have to be redrawn. All areas damaged while handling one event are merged
+ * into a single rectangle, which is repainted once the event has been handled, so changing the selection of many
+ * elements at once causes only one repaint of the affected area instead of one full repaint per element.
+ */
+public class DirtyRegion {
+    private final JComponent canvas;
+    private final Viewport viewport;
+    private final Rectangle dirty = new Rectangle();
+    private boolean scheduled;
+
+    /**
+     * Creates a new dirty region for the given component.
+     *
+     * @param canvas   The component to repaint
+     * @param viewport The viewport mapping the damaged areas to the component
+     */
+    public DirtyRegion(JComponent canvas, Viewport viewport) {
+        this.canvas = canvas;
+        this.viewport = viewport;
+    }
+
+    /**
+     * Marks an area as damaged and schedules a repaint if none is pending.
+     *
+     * @param area The damaged area in world coordinates
+     */
+    public void add(Rectangle area) {
+        if (scheduled) {
+            dirty.add(area);
+        } else {
+            dirty.setBounds(area);
+            scheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /**
+     * Repaints the merged damaged area.
+     */
+    private void flush() {
+        scheduled = false;
+        canvas.repaint(viewport.toScreen(dirty));
+    }
+}
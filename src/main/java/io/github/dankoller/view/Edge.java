@@ -1,62 +1,151 @@
 package io.github.dankoller.view;
 
-import javax.swing.*;
 import java.awt.*;
 
-public class Edge extends JComponent {
+/**
+ * An edge as it is displayed on the application panel, including its weight label. Edges are no Swing components; the
+ * application panel draws them in a single pass together with the vertices. A change of the selection only damages the
+ * bounds of the line and the weight label.
+ */
+public class Edge {
+    private static final int LABEL_SIZE = Vertex.getVertexRadius() * 4 / 5;
+    private static final int MARGIN = Vertex.getVertexRadius() / 10;
+    private final Vertex from;
+    private final Vertex to;
     private final Point start;
     private final Point end;
+    private final String weight;
+    private final Point labelPosition;
+    private final Rectangle bounds;
+    private final DirtyRegion dirtyRegion;
     private boolean selected;
 
     /**
-     * Creates an edge between two vertices (from -> to).
+     * Creates an edge between two vertices (from -> to). The line, the position of the weight label and the bounds
+     * are computed once from the positions of the vertices.
      *
-     * @param from The vertex the edge starts from
-     * @param to   The vertex the edge ends at
+     * @param from        The vertex the edge starts from
+     * @param to          The vertex the edge ends at
+     * @param weight      The weight label of the edge
+     * @param dirtyRegion The dirty region of the component the edge is drawn on
      */
-    public Edge(Vertex from, Vertex to) {
-        super();
-        setName("Edge <%s -> %s>".formatted(from.getLabel(), to.getLabel()));
+    public Edge(Vertex from, Vertex to, String weight, DirtyRegion dirtyRegion) {
+        this.from = from;
+        this.to = to;
         this.start = from.getCenter();
         this.end = to.getCenter();
+        this.weight = weight;
+        this.labelPosition = getLabelPosition(start, end);
+        this.bounds = new Rectangle(start);
+        bounds.add(end);
+        bounds.grow(MARGIN, MARGIN);
+        bounds.add(new Rectangle(labelPosition.x, labelPosition.y, LABEL_SIZE, LABEL_SIZE));
+        this.dirtyRegion = dirtyRegion;
     }
 
     /**
-     * Selects the edge and repaints the parent component if necessary.
+     * Selects the edge and marks its bounds as dirty if necessary.
      */
     public void select() {
         if (!selected) {
             selected = true;
-            getParent().repaint();
+            dirtyRegion.add(bounds);
         }
     }
 
     /**
-     * Unselects the edge and repaints the parent component if necessary.
+     * Unselects the edge and marks its bounds as dirty if necessary.
      */
     public void unselect() {
         if (selected) {
             selected = false;
-            getParent().repaint();
+            dirtyRegion.add(bounds);
         }
     }
 
     /**
-     * Returns the start and end points of the edge.
+     * Helper method to calculate the position of the weight label.
+     *
+     * @param start The start vertex
+     * @param end   The end vertex
+     * @return The position of the weight label
+     */
+    private static Point getLabelPosition(Point start, Point end) {
+        Point mid = new Point((start.x + end.x) / 2, (start.y + end.y) / 2);
+        int offset = Vertex.getVertexRadius() / 10;
+        if ((end.y - start.y) * (end.x - start.x) < 0) {
+            return new Point(mid.x + offset, mid.y + offset);
+        }
+        return new Point(mid.x - 3 * offset, mid.y + offset);
+    }
+
+    /**
+     * Returns the vertex the edge starts from.
+     *
+     * @return The start vertex
+     */
+    public Vertex getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the vertex the edge ends at.
+     *
+     * @return The end vertex
+     */
+    public Vertex getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the start point of the edge.
+     *
+     * @return The center of the vertex the edge starts from
      */
     public Point getStart() {
         return start;
     }
 
     /**
-     * Returns the start and end points of the edge.
+     * Returns the end point of the edge.
+     *
+     * @return The center of the vertex the edge ends at
      */
     public Point getEnd() {
         return end;
     }
 
+    /**
+     * Returns the weight label of the edge.
+     *
+     * @return The weight as entered by the user
+     */
+    public String getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the upper left corner of the weight label.
+     *
+     * @return The position of the weight label
+     */
+    public Point getLabelPosition() {
+        return labelPosition;
+    }
+
+    /**
+     * Returns the area covered by the line and the weight label of the edge.
+     *
+     * @return The bounds of the edge
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
     /**
      * Returns whether the edge is selected.
+     *
+     * @return True if the edge is selected, false otherwise
      */
     public boolean isSelected() {
         return selected;
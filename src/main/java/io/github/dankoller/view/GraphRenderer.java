@@ -0,0 +1,250 @@
+package io.github.dankoller.view;
+
+import io.github.dankoller.model.GraphModel;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Draws the graph in two layers: the static layer shows every element as unselected and can be cached, the highlight
+ * layer only draws the selected elements on top of it. Both layers are drawn in pixel space, i.e. world coordinates
+ * multiplied by the scale of the viewport; the caller translates the graphics object to the position of the layer.
+ * The level of detail depends on the scale: labels are left out when zoomed out, and when zoomed out even further,
+ * vertices and edges are merged into small cells.
+ */
+class GraphRenderer {
+    private static final int VERTEX_FONT_SIZE = Vertex.getVertexRadius() * 4 / 5;
+    private static final int WEIGHT_FONT_SIZE = Vertex.getVertexRadius() * 2 / 5;
+    private static final Font VERTEX_FONT = new Font("Arial", Font.BOLD, VERTEX_FONT_SIZE);
+    private static final Font WEIGHT_FONT = new Font("Arial", Font.BOLD, WEIGHT_FONT_SIZE);
+    private static final Stroke EDGE_STROKE = new BasicStroke(Vertex.getVertexRadius() / 10f);
+    private static final double LABEL_SCALE = 0.5;
+    private static final double AGGREGATE_SCALE = 0.15;
+    private static final int AGGREGATE_CELL_SIZE = 4; // px
+    private final GraphModel model;
+    private final Line2D.Float line = new Line2D.Float();
+    private final List<Edge> visibleEdges = new ArrayList<>();
+    private final Set<Long> aggregateLines = new HashSet<>();
+    private byte[] aggregateCells = new byte[0];
+
+    /**
+     * Creates a renderer for the given graph.
+     *
+     * @param model The model representing the graph
+     */
+    GraphRenderer(GraphModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Draws all elements intersecting the given area as unselected.
+     *
+     * @param g          The graphics object translated to pixel space
+     * @param area       The area to draw in world coordinates
+     * @param scale      The scale of the viewport
+     * @param background The background color, used for the vertex labels
+     */
+    void paintStatic(Graphics2D g, Rectangle area, double scale, Color background) {
+        if (scale < AGGREGATE_SCALE) {
+            paintAggregated(g, area, scale);
+            return;
+        }
+        boolean withLabels = scale >= LABEL_SCALE;
+        Graphics2D world = (Graphics2D) g.create();
+        world.scale(scale, scale);
+        visibleEdges.clear();
+        model.forEachEdgeIn(area, visibleEdges::add);
+        world.setStroke(EDGE_STROKE);
+        world.setColor(Vertex.getVertexColor());
+        for (Edge edge : visibleEdges) {
+            line.setLine(edge.getStart(), edge.getEnd());
+            world.draw(line);
+        }
+        if (withLabels) {
+            paintWeights(world, visibleEdges);
+        }
+        world.setFont(VERTEX_FONT);
+        model.forEachVertexIn(area,
+                vertex -> paintVertex(world, vertex, Vertex.getVertexColor(), withLabels, background));
+        world.dispose();
+    }
+
+    /**
+     * Draws the selected elements intersecting the given area. Only the selected elements are looked up, so the cost
+     * does not depend on the size of the graph. The lines of selected edges end at the border of their vertices, so
+     * they do not cover the vertices drawn by the static layer.
+     *
+     * @param g          The graphics object translated to pixel space
+     * @param area       The area to draw in world coordinates
+     * @param scale      The scale of the viewport
+     * @param background The background color, used for the vertex labels
+     */
+    void paintHighlights(Graphics2D g, Rectangle area, double scale, Color background) {
+        g.setColor(Vertex.getVertexSelectedColor());
+        if (scale < AGGREGATE_SCALE) {
+            model.forEachSelectedEdgeIn(area, edge -> g.drawLine(pixel(edge.getStart().x, scale),
+                    pixel(edge.getStart().y, scale), pixel(edge.getEnd().x, scale), pixel(edge.getEnd().y, scale)));
+            int offset = Vertex.getVertexRadius() / 2;
+            model.forEachSelectedVertexIn(area, vertex -> g.fillRect(cellStart(pixel(vertex.getX() + offset, scale)),
+                    cellStart(pixel(vertex.getY() + offset, scale)), AGGREGATE_CELL_SIZE, AGGREGATE_CELL_SIZE));
+            return;
+        }
+        boolean withLabels = scale >= LABEL_SCALE;
+        Graphics2D world = (Graphics2D) g.create();
+        world.scale(scale, scale);
+        visibleEdges.clear();
+        model.forEachSelectedEdgeIn(area, visibleEdges::add);
+        world.setStroke(EDGE_STROKE);
+        double radius = Vertex.getVertexRadius() / 2.0;
+        for (Edge edge : visibleEdges) {
+            double dx = edge.getEnd().x - edge.getStart().x;
+            double dy = edge.getEnd().y - edge.getStart().y;
+            double length = Math.hypot(dx, dy);
+            if (length > 2 * radius) {
+                double ux = dx / length * radius;
+                double uy = dy / length * radius;
+                line.setLine(edge.getStart().x + ux, edge.getStart().y + uy,
+                        edge.getEnd().x - ux, edge.getEnd().y - uy);
+                world.draw(line);
+            }
+        }
+        if (withLabels) {
+            paintWeights(world, visibleEdges);
+        }
+        world.setFont(VERTEX_FONT);
+        model.forEachSelectedVertexIn(area,
+                vertex -> paintVertex(world, vertex, Vertex.getVertexSelectedColor(), withLabels, background));
+        world.dispose();
+    }
+
+    /**
+     * Draws the weight labels of the given edges.
+     *
+     * @param world The graphics object transformed to world coordinates
+     * @param edges The edges
+     */
+    private static void paintWeights(Graphics2D world, List<Edge> edges) {
+        world.setColor(Vertex.getVertexColor());
+        world.setFont(WEIGHT_FONT);
+        FontMetrics metrics = world.getFontMetrics();
+        int baseline = (WEIGHT_FONT_SIZE * 3 / 2 - metrics.getHeight()) / 2 + metrics.getAscent();
+        for (Edge edge : edges) {
+            world.drawString(edge.getWeight(), edge.getLabelPosition().x, edge.getLabelPosition().y + baseline);
+        }
+    }
+
+    /**
+     * Draws a vertex. The vertex font must already be set.
+     *
+     * @param world      The graphics object transformed to world coordinates
+     * @param vertex     The vertex
+     * @param color      The color of the vertex
+     * @param withLabel  True to draw the label of the vertex
+     * @param background The color of the label
+     */
+    private static void paintVertex(Graphics2D world, Vertex vertex, Color color, boolean withLabel,
+                                    Color background) {
+        int radius = Vertex.getVertexRadius();
+        world.setColor(color);
+        world.fillOval(vertex.getX(), vertex.getY(), radius, radius);
+        if (withLabel) {
+            FontMetrics metrics = world.getFontMetrics();
+            world.setColor(background);
+            world.drawString(vertex.getLabel(), vertex.getX() + (radius - metrics.stringWidth(vertex.getLabel())) / 2,
+                    vertex.getY() + (radius - metrics.getHeight()) / 2 + metrics.getAscent());
+        }
+    }
+
+    /**
+     * Draws the graph merged into small cells of the pixel space: every cell containing a vertex is filled, and of
+     * all edges connecting the same two cells only one thin line is drawn. Edges within a single cell are left out.
+     * Thin untransformed lines and rectangles are drawn much faster than scaled shapes.
+     *
+     * @param g     The graphics object translated to pixel space
+     * @param area  The area to draw in world coordinates
+     * @param scale The scale of the viewport
+     */
+    private void paintAggregated(Graphics2D g, Rectangle area, double scale) {
+        int firstColumn = Math.floorDiv(pixel(area.x, scale), AGGREGATE_CELL_SIZE);
+        int firstRow = Math.floorDiv(pixel(area.y, scale), AGGREGATE_CELL_SIZE);
+        int columns = Math.floorDiv(pixel(area.x + area.width, scale), AGGREGATE_CELL_SIZE) - firstColumn + 1;
+        int rows = Math.floorDiv(pixel(area.y + area.height, scale), AGGREGATE_CELL_SIZE) - firstRow + 1;
+        if (aggregateCells.length < columns * rows) {
+            aggregateCells = new byte[columns * rows];
+        }
+        Arrays.fill(aggregateCells, 0, columns * rows, (byte) 0);
+        aggregateLines.clear();
+        g.setColor(Vertex.getVertexColor());
+        model.forEachEdgeIn(area, edge -> {
+            int x1 = pixel(edge.getStart().x, scale);
+            int y1 = pixel(edge.getStart().y, scale);
+            int x2 = pixel(edge.getEnd().x, scale);
+            int y2 = pixel(edge.getEnd().y, scale);
+            int from = aggregateCell(Math.floorDiv(x1, AGGREGATE_CELL_SIZE) - firstColumn,
+                    Math.floorDiv(y1, AGGREGATE_CELL_SIZE) - firstRow, columns, rows);
+            int to = aggregateCell(Math.floorDiv(x2, AGGREGATE_CELL_SIZE) - firstColumn,
+                    Math.floorDiv(y2, AGGREGATE_CELL_SIZE) - firstRow, columns, rows);
+            if (from >= 0 && from == to) {
+                return;
+            }
+            if (from < 0 || to < 0 || aggregateLines.add((long) Math.min(from, to) << 32 | Math.max(from, to))) {
+                g.drawLine(x1, y1, x2, y2);
+            }
+        });
+        int offset = Vertex.getVertexRadius() / 2;
+        model.forEachVertexIn(area, vertex -> {
+            int cell = aggregateCell(
+                    Math.floorDiv(pixel(vertex.getX() + offset, scale), AGGREGATE_CELL_SIZE) - firstColumn,
+                    Math.floorDiv(pixel(vertex.getY() + offset, scale), AGGREGATE_CELL_SIZE) - firstRow,
+                    columns, rows);
+            if (cell >= 0) {
+                aggregateCells[cell] = 1;
+            }
+        });
+        for (int cell = 0; cell < columns * rows; cell++) {
+            if (aggregateCells[cell] != 0) {
+                g.fillRect((firstColumn + cell % columns) * AGGREGATE_CELL_SIZE,
+                        (firstRow + cell / columns) * AGGREGATE_CELL_SIZE, AGGREGATE_CELL_SIZE, AGGREGATE_CELL_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Converts a world coordinate to pixel space.
+     *
+     * @param coordinate The world coordinate
+     * @param scale      The scale of the viewport
+     * @return The pixel coordinate
+     */
+    private static int pixel(int coordinate, double scale) {
+        return (int) Math.floor(coordinate * scale);
+    }
+
+    /**
+     * Computes the start of the aggregation cell containing a pixel coordinate.
+     *
+     * @param pixel The pixel coordinate
+     * @return The first pixel coordinate of the cell
+     */
+    private static int cellStart(int pixel) {
+        return Math.floorDiv(pixel, AGGREGATE_CELL_SIZE) * AGGREGATE_CELL_SIZE;
+    }
+
+    /**
+     * Computes the index of an aggregation cell relative to the drawn area.
+     *
+     * @param column  The column of the cell relative to the drawn area
+     * @param row     The row of the cell relative to the drawn area
+     * @param columns The number of cell columns of the drawn area
+     * @param rows    The number of cell rows of the drawn area
+     * @return The index of the cell, or {@code -1} if the cell is outside the drawn area
+     */
+    private static int aggregateCell(int column, int row, int columns, int rows) {
+        return column < 0 || row < 0 || column >= columns || row >= rows ? -1 : row * columns + column;
+    }
+}
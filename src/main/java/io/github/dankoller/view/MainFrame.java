@@ -1,10 +1,13 @@
 package io.github.dankoller.view;
 
+import io.github.dankoller.controller.SnapshotDialog;
 import io.github.dankoller.controller.listener.AlgorithmMenuItemListener;
 import io.github.dankoller.controller.listener.ModeMenuItemListener;
+import io.github.dankoller.controller.listener.PlaybackMenuItemListener;
 import io.github.dankoller.model.AlgorithmType;
 import io.github.dankoller.model.ApplicationModel;
 import io.github.dankoller.model.Mode;
+import io.github.dankoller.model.PlaybackCommand;
 import io.github.dankoller.view.label.ResultLabel;
 import io.github.dankoller.view.label.StatusLabel;
 
@@ -19,6 +22,7 @@ public class MainFrame extends JFrame {
     private static final int PANEL_WIDTH = 800;
     private static final int PANEL_HEIGHT = 600;
     private final ApplicationModel applicationModel = new ApplicationModel();
+    private final ApplicationPanel graphPanel = new ApplicationPanel(applicationModel.getModel());
 
     /**
      * Creates a new main frame for the application where the graph is displayed and menus are located.
@@ -57,7 +61,6 @@ public class MainFrame extends JFrame {
      * @return The container for the graph panel
      */
     private Container createGraphContainer() {
-        ApplicationPanel graphPanel = new ApplicationPanel(applicationModel.getModel());
         graphPanel.setBackground(PANEL_COLOR);
         applicationModel.registerListener(graphPanel);
         return graphPanel;
@@ -88,18 +91,23 @@ public class MainFrame extends JFrame {
         menuBar.add(createFileMenu());
         menuBar.add(createModeMenu());
         menuBar.add(createAlgorithmMenu());
+        menuBar.add(createPlaybackMenu());
         return menuBar;
     }
 
     /**
-     * Creates the file menu where the user can select to create a new graph or exit the application.
+     * Creates the file menu where the user can select to create a new graph, open or save a graph snapshot or exit the
+     * application.
      *
      * @return The file menu
      */
     private JMenu createFileMenu() {
         var fileMenu = new JMenu("File");
         fileMenu.setName("File");
+        var snapshotDialog = new SnapshotDialog(applicationModel, graphPanel);
         fileMenu.add(createMenuItem("New", e -> applicationModel.requestResetGraph()));
+        fileMenu.add(createMenuItem("Open Snapshot...", e -> snapshotDialog.open()));
+        fileMenu.add(createMenuItem("Save Snapshot...", e -> snapshotDialog.save()));
         fileMenu.add(createMenuItem("Exit",
                 e -> dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING))));
         return fileMenu;
@@ -131,11 +139,32 @@ public class MainFrame extends JFrame {
         algorithmMenu.setName("Algorithms");
         algorithmMenu.add(createMenuItem(AlgorithmType.DEPTH_FIRST));
         algorithmMenu.add(createMenuItem(AlgorithmType.BREADTH_FIRST));
+        algorithmMenu.add(createMenuItem(AlgorithmType.DIRECTION_OPTIMIZING_BFS));
         algorithmMenu.add(createMenuItem(AlgorithmType.DIJKSTRA_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.DELTA_STEPPING));
+        algorithmMenu.add(createMenuItem(AlgorithmType.A_STAR));
+        algorithmMenu.add(createMenuItem(AlgorithmType.BIDIRECTIONAL_DIJKSTRA));
+        algorithmMenu.add(createMenuItem(AlgorithmType.BIDIRECTIONAL_A_STAR));
+        algorithmMenu.add(createMenuItem(AlgorithmType.CONTRACTION_HIERARCHY));
         algorithmMenu.add(createMenuItem(AlgorithmType.PRIM_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.KRUSKAL_ALGORITHM));
         return algorithmMenu;
     }
 
+    /**
+     * Creates the playback menu where the user can pause, step through and seek the animation of the algorithm.
+     *
+     * @return The playback menu
+     */
+    private JMenu createPlaybackMenu() {
+        var playbackMenu = new JMenu("Playback");
+        playbackMenu.setName("Playback");
+        for (PlaybackCommand command : PlaybackCommand.values()) {
+            playbackMenu.add(createMenuItem(command));
+        }
+        return playbackMenu;
+    }
+
     /**
      * Create a menu item with the given name and action listener.
      *
@@ -175,4 +204,17 @@ public class MainFrame extends JFrame {
         menuItem.addActionListener(new AlgorithmMenuItemListener(algorithmType, applicationModel));
         return menuItem;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a menu item for the given playback command.
+     *
+     * @param command The playback command for the menu item
+     * @return The menu item
+     */
+    private Component createMenuItem(PlaybackCommand command) {
+        JMenuItem menuItem = new JMenuItem(command.getName());
+        menuItem.setName(command.getName());
+        menuItem.addActionListener(new PlaybackMenuItemListener(command, applicationModel));
+        return menuItem;
+    }
+}
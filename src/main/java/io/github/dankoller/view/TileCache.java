@@ -0,0 +1,121 @@
+package io.github.dankoller.view;
+
+import io.github.dankoller.model.GraphModel;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the static graph layer. The pixel space of the scaled graph is divided into square tiles which are drawn
+ * once into offscreen images and copied to the panel on every repaint. The tiles stay valid while only the selection
+ * changes; they are dropped when the graph is modified, the scale changes or the background color changes. The least
+ * recently used tiles are dropped when the cache is full. The cache holds at least twice as many tiles as the largest
+ * area painted so far needs, so a full repaint never evicts tiles it is still going to copy, even on large screens.
+ */
+class TileCache {
+    private static final int TILE_SIZE = 256; // px, a multiple of the aggregation cell size
+    private static final int MIN_TILES = 96;
+    private final GraphModel model;
+    private final GraphRenderer renderer;
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > maxTiles;
+        }
+    };
+    private int maxTiles = MIN_TILES;
+    private double scale;
+    private long modificationCount = -1;
+    private Color background;
+
+    /**
+     * Creates an empty tile cache.
+     *
+     * @param model    The model representing the graph
+     * @param renderer The renderer used to draw the tiles
+     */
+    TileCache(GraphModel model, GraphRenderer renderer) {
+        this.model = model;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Copies all tiles intersecting the given area to the panel, drawing the tiles which are not cached yet.
+     *
+     * @param g             The graphics object of the panel
+     * @param area          The area of the panel to draw
+     * @param viewport      The viewport which maps the graph to the panel
+     * @param background    The background color of the panel
+     * @param configuration The graphics configuration of the panel, or null to use plain images
+     */
+    void paint(Graphics g, Rectangle area, Viewport viewport, Color background, GraphicsConfiguration configuration) {
+        if (scale != viewport.getScale() || modificationCount != model.getModificationCount()
+                || !background.equals(this.background)) {
+            tiles.clear();
+            scale = viewport.getScale();
+            modificationCount = model.getModificationCount();
+            this.background = background;
+        }
+        int originX = viewport.getOriginX();
+        int originY = viewport.getOriginY();
+        int firstColumn = Math.floorDiv(area.x - originX, TILE_SIZE);
+        int firstRow = Math.floorDiv(area.y - originY, TILE_SIZE);
+        int lastColumn = Math.floorDiv(area.x + area.width - 1 - originX, TILE_SIZE);
+        int lastRow = Math.floorDiv(area.y + area.height - 1 - originY, TILE_SIZE);
+        long visibleTiles = (long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+        maxTiles = (int) Math.max(maxTiles, Math.min(Integer.MAX_VALUE, 2 * visibleTiles));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                long key = (long) column << 32 | (row & 0xFFFFFFFFL);
+                BufferedImage tile = tiles.get(key);
+                if (tile == null) {
+                    tile = drawTile(column, row, configuration);
+                    tiles.put(key, tile);
+                }
+                g.drawImage(tile, column * TILE_SIZE + originX, row * TILE_SIZE + originY, null);
+            }
+        }
+    }
+
+    /**
+     * Draws the static layer of a single tile.
+     *
+     * @param column        The column of the tile in pixel space
+     * @param row           The row of the tile in pixel space
+     * @param configuration The graphics configuration of the panel, or null to use a plain image
+     * @return The image of the tile
+     */
+    private BufferedImage drawTile(int column, int row, GraphicsConfiguration configuration) {
+        BufferedImage tile = configuration != null
+                ? configuration.createCompatibleImage(TILE_SIZE, TILE_SIZE)
+                : new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        g.translate(-column * TILE_SIZE, -row * TILE_SIZE);
+        renderer.paintStatic(g, toWorld(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE, scale), scale,
+                background);
+        g.dispose();
+        return tile;
+    }
+
+    /**
+     * Converts an area of the pixel space to the smallest area in world coordinates containing it.
+     *
+     * @param x      The x coordinate of the area in pixel space
+     * @param y      The y coordinate of the area in pixel space
+     * @param width  The width of the area in pixels
+     * @param height The height of the area in pixels
+     * @param scale  The scale of the viewport
+     * @return The area in world coordinates
+     */
+    static Rectangle toWorld(int x, int y, int width, int height, double scale) {
+        int worldX = (int) Math.floor(x / scale);
+        int worldY = (int) Math.floor(y / scale);
+        return new Rectangle(worldX, worldY, (int) Math.ceil((x + width) / scale) - worldX,
+                (int) Math.ceil((y + height) / scale) - worldY);
+    }
+
+}
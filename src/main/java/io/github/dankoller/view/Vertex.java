@@ -1,91 +1,90 @@
 package io.github.dankoller.view;
 
-import javax.swing.*;
+import io.github.dankoller.model.GraphModel;
+
 import java.awt.*;
 
-public class Vertex extends JPanel {
+/**
+ * A vertex as it is displayed on the application panel. Vertices are no Swing components; the application panel draws
+ * them in a single pass together with the edges. A change of the selection only damages the bounds of the vertex. The
+ * label and the position are not stored in the vertex but read from the graph model by the id of the vertex.
+ */
+public class Vertex {
     private static final int VERTEX_RADIUS = 50;
     private static final Color VERTEX_COLOR = Color.WHITE;
     private static final Color VERTEX_SELECTED_COLOR = Color.YELLOW;
-    private Color labelBackground = VERTEX_COLOR;
-    private final String vertexLabel;
+    private final int id;
+    private final GraphModel model;
+    private final DirtyRegion dirtyRegion;
+    private boolean selected;
 
     /**
-     * Creates a new Vertex with the given label and background color.
+     * Creates a new Vertex for a vertex of the graph model. Vertices are created by {@link GraphModel#addVertex}.
      *
-     * @param label      The label of the vertex
-     * @param background The background color of the vertex
+     * @param id          The id of the vertex in the graph model
+     * @param model       The model storing the label and the position of the vertex
+     * @param dirtyRegion The dirty region of the component the vertex is drawn on
      */
-    public Vertex(String label, Color background) {
-        super();
-        this.vertexLabel = label;
-        setName("Vertex %s".formatted(label));
-        setBackground(background);
-        addLabel(label);
-        setSize(VERTEX_RADIUS, VERTEX_RADIUS);
+    public Vertex(int id, GraphModel model, DirtyRegion dirtyRegion) {
+        this.id = id;
+        this.model = model;
+        this.dirtyRegion = dirtyRegion;
     }
 
     /**
-     * Creates a new Vertex with the given label and the default background color.
-     *
-     * @param g The graphics object to draw the vertex on
+     * Selects the vertex and marks its bounds as dirty if necessary.
      */
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        g.setColor(labelBackground);
-        g.fillOval(0, 0, VERTEX_RADIUS, VERTEX_RADIUS);
+    public void select() {
+        if (!selected) {
+            selected = true;
+            dirtyRegion.add(getBounds());
+        }
     }
 
     /**
-     * Adds a label (i.e. the vertex's name) to the vertex.
-     *
-     * @param text The text of the label
+     * Deselects the vertex and marks its bounds as dirty if necessary.
      */
-    public void addLabel(String text) {
-        JLabel label = new JLabel(text);
-        label.setName("VertexLabel %s".formatted(text));
-        label.setForeground(getBackground());
-        label.setFont(new Font("Arial", Font.BOLD, VERTEX_RADIUS * 4 / 5));
-        add(label);
+    public void deselect() {
+        if (selected) {
+            selected = false;
+            dirtyRegion.add(getBounds());
+        }
     }
 
     /**
-     * Sets the background color of the vertex.
+     * Returns whether the vertex is selected.
      *
-     * @param newColor The new background color
+     * @return True if the vertex is selected, false otherwise
      */
-    public void setLabelBackground(Color newColor) {
-        if (newColor.equals(labelBackground)) {
-            return;
-        }
-        labelBackground = newColor;
-        paintComponent(getGraphics());
-        paintChildren(getGraphics());
+    public boolean isSelected() {
+        return selected;
     }
 
     /**
-     * Changes the background color if the vertex is selected.
+     * Returns the id of the vertex in the graph model.
+     *
+     * @return The id of the vertex
      */
-    public void select() {
-        setLabelBackground(VERTEX_SELECTED_COLOR);
+    public int getId() {
+        return id;
     }
 
     /**
-     * Changes the background color if the vertex is deselected.
+     * Returns the x coordinate of the upper left corner of the vertex.
+     *
+     * @return The x coordinate of the vertex
      */
-    public void deselect() {
-        setLabelBackground(VERTEX_COLOR);
+    public int getX() {
+        return Math.round(model.getVertexX(id)) - VERTEX_RADIUS / 2;
     }
 
     /**
-     * Checks if the given point is inside the vertex.
+     * Returns the y coordinate of the upper left corner of the vertex.
      *
-     * @param point The point to check
-     * @return True if the point is inside the vertex, false otherwise
+     * @return The y coordinate of the vertex
      */
-    public boolean isInside(Point point) {
-        return point.distance(getCenter()) <= VERTEX_RADIUS / 2.0;
+    public int getY() {
+        return Math.round(model.getVertexY(id)) - VERTEX_RADIUS / 2;
     }
 
     /**
@@ -97,6 +96,15 @@ public class Vertex extends JPanel {
         return new Point(getX() + VERTEX_RADIUS / 2, getY() + VERTEX_RADIUS / 2);
     }
 
+    /**
+     * Returns the area covered by the vertex.
+     *
+     * @return The bounds of the vertex
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(getX(), getY(), VERTEX_RADIUS, VERTEX_RADIUS);
+    }
+
     /**
      * Returns the radius of the vertex.
      *
@@ -130,6 +138,6 @@ public class Vertex extends JPanel {
      * @return The label of the vertex
      */
     public String getLabel() {
-        return vertexLabel;
+        return model.getVertexLabel(id);
     }
 }
@@ -0,0 +1,131 @@
+package io.github.dankoller.view;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+
+/**
+ * The visible part of the graph. The graph is stored in world coordinates; the viewport maps them to the panel by
+ * scaling them and moving them by an offset.
+ */
+public class Viewport {
+    private static final double MIN_SCALE = 0.02;
+    private static final double MAX_SCALE = 8;
+    private double scale = 1;
+    private double offsetX;
+    private double offsetY;
+
+    /**
+     * Zooms in or out while keeping the given point of the panel at the same position of the graph.
+     *
+     * @param anchor The point of the panel to zoom at, e.g. the mouse position
+     * @param factor The factor to multiply the scale with
+     */
+    public void zoom(Point anchor, double factor) {
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        offsetX = anchor.x - (anchor.x - offsetX) * newScale / scale;
+        offsetY = anchor.y - (anchor.y - offsetY) * newScale / scale;
+        scale = newScale;
+    }
+
+    /**
+     * Moves the graph on the panel.
+     *
+     * @param dx The horizontal distance in pixels of the panel
+     * @param dy The vertical distance in pixels of the panel
+     */
+    public void pan(int dx, int dy) {
+        offsetX += dx;
+        offsetY += dy;
+    }
+
+    /**
+     * Shows the graph unscaled at its original position.
+     */
+    public void reset() {
+        scale = 1;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    /**
+     * Converts a point of the panel to world coordinates.
+     *
+     * @param point The point of the panel
+     * @return The point in world coordinates
+     */
+    public Point toWorld(Point point) {
+        return new Point((int) Math.floor((point.x - offsetX) / scale), (int) Math.floor((point.y - offsetY) / scale));
+    }
+
+    /**
+     * Converts an x coordinate of the world to the panel.
+     *
+     * @param x The x coordinate in world coordinates
+     * @return The x coordinate of the panel
+     */
+    public int toScreenX(int x) {
+        return (int) Math.floor(x * scale + offsetX);
+    }
+
+    /**
+     * Converts a y coordinate of the world to the panel.
+     *
+     * @param y The y coordinate in world coordinates
+     * @return The y coordinate of the panel
+     */
+    public int toScreenY(int y) {
+        return (int) Math.floor(y * scale + offsetY);
+    }
+
+    /**
+     * Converts an area in world coordinates to the smallest area of the panel containing it.
+     *
+     * @param area The area in world coordinates
+     * @return The area of the panel
+     */
+    public Rectangle toScreen(Rectangle area) {
+        int x = (int) Math.floor(area.x * scale + offsetX);
+        int y = (int) Math.floor(area.y * scale + offsetY);
+        return new Rectangle(x, y, (int) Math.ceil((area.x + area.width) * scale + offsetX) - x + 1,
+                (int) Math.ceil((area.y + area.height) * scale + offsetY) - y + 1);
+    }
+
+    /**
+     * Returns the transformation from world coordinates to the panel.
+     *
+     * @return The transformation
+     */
+    public AffineTransform getTransform() {
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetX, offsetY);
+        transform.scale(scale, scale);
+        return transform;
+    }
+
+    /**
+     * Returns the position of the panel at which the pixel space of the scaled graph starts. Layers drawn in pixel
+     * space are moved by this whole number of pixels, so they line up with each other.
+     *
+     * @return The x coordinate of the panel
+     */
+    public int getOriginX() {
+        return (int) Math.floor(offsetX);
+    }
+
+    /**
+     * Returns the position of the panel at which the pixel space of the scaled graph starts.
+     *
+     * @return The y coordinate of the panel
+     */
+    public int getOriginY() {
+        return (int) Math.floor(offsetY);
+    }
+
+    /**
+     * Returns the scale of the viewport.
+     *
+     * @return The number of pixels per unit of the world coordinates
+     */
+    public double getScale() {
+        return scale;
+    }
+}
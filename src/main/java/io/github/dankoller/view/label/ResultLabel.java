@@ -3,6 +3,7 @@ package io.github.dankoller.view.label;
 import io.github.dankoller.view.MainFrame;
 import io.github.dankoller.controller.listener.ApplicationModelListener;
 import io.github.dankoller.model.AlgorithmModel;
+import io.github.dankoller.model.State;
 
 import javax.swing.*;
 import java.awt.*;
@@ -25,7 +26,8 @@ public class ResultLabel extends JLabel implements ApplicationModelListener {
     /**
      * Update the background color of the panel according to the current state of the algorithm. If the algorithm is
      * running, the background color is set to light gray to show the result of the algorithm. If the algorithm has
-     * stopped, the background color is set to the default color of the panel for a better user experience.
+     * stopped, the background color is set to the default color of the panel for a better user experience. The
+     * statistics of the result cache are shown as the tooltip of the result.
      *
      * @param algorithmModel The model of the algorithm
      */
@@ -37,5 +39,6 @@ public class ResultLabel extends JLabel implements ApplicationModelListener {
             default -> {/* no action */}
         }
         setText(algorithmModel.getDisplayedMessage());
+        setToolTipText(algorithmModel.getState() == State.TERMINATED ? algorithmModel.getCacheStatistics() : null);
     }
 }
@@ -0,0 +1,67 @@
+package io.github.dankoller.graph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random graphs and random picks from graphs, shared by the randomized tests.
+ */
+public final class RandomGraphs {
+    /**
+     * Prevents instantiation.
+     */
+    private RandomGraphs() {
+    }
+
+    /**
+     * Creates a random graph, which may have self loops, parallel edges and unconnected parts.
+     *
+     * @param random    The source of randomness
+     * @param vertices  The number of vertices
+     * @param edges     The number of edges
+     * @param maxWeight The exclusive upper bound of the edge weights
+     * @return The graph
+     */
+    public static CsrGraph randomGraph(SplittableRandom random, int vertices, int edges, int maxWeight) {
+        GraphBuilder builder = new GraphBuilder().ensureVertices(vertices);
+        for (int i = 0; i < edges; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(maxWeight));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Picks a random live vertex.
+     *
+     * @param graph  The graph
+     * @param random The source of randomness
+     * @return The id of the vertex, or {@code -1} if the graph has no vertices
+     */
+    public static int randomVertex(GraphCore graph, SplittableRandom random) {
+        if (graph.vertexCount() == 0) {
+            return -1;
+        }
+        int vertex;
+        do {
+            vertex = random.nextInt(graph.vertexIdBound());
+        } while (!graph.containsVertex(vertex));
+        return vertex;
+    }
+
+    /**
+     * Picks a random live edge.
+     *
+     * @param graph  The graph
+     * @param random The source of randomness
+     * @return The id of the edge, or {@code -1} if the graph has no edges
+     */
+    public static int randomEdge(GraphCore graph, SplittableRandom random) {
+        if (graph.edgeCount() == 0) {
+            return -1;
+        }
+        int edge;
+        do {
+            edge = random.nextInt(graph.edgeIdBound());
+        } while (!graph.containsEdge(edge));
+        return edge;
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static io.github.dankoller.graph.RandomGraphs.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the routes found on contraction hierarchies of random graphs with the distances of
+ * {@link DijkstraShortestPaths} and checks that every route unpacks to a walk over original edges of that length.
+ */
+class ContractionHierarchyTest {
+    private static final int GRAPHS = 300;
+
+    /**
+     * Queries all pairs of vertices of small random graphs with self loops, parallel edges and unconnected parts.
+     */
+    @Test
+    void findsShortestRoutesOnRandomGraphs() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int round = 0; round < GRAPHS; round++) {
+            int vertices = 1 + random.nextInt(60);
+            assertShortestRoutes(randomGraph(random, vertices, random.nextInt(4 * vertices + 1), 100));
+        }
+    }
+
+    /**
+     * Queries all pairs of vertices of random graphs with zero weights and many ties between routes.
+     */
+    @Test
+    void findsShortestRoutesWithZeroWeights() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int round = 0; round < GRAPHS; round++) {
+            int vertices = 1 + random.nextInt(60);
+            assertShortestRoutes(randomGraph(random, vertices, random.nextInt(4 * vertices + 1), 3));
+        }
+    }
+
+    /**
+     * Queries random pairs of vertices of a grid, which needs many shortcuts.
+     */
+    @Test
+    void findsShortestRoutesOnGrid() {
+        SplittableRandom random = new SplittableRandom(23);
+        int side = 40;
+        GraphBuilder builder = new GraphBuilder().ensureVertices(side * side);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int vertex = y * side + x;
+                if (x + 1 < side) {
+                    builder.addEdge(vertex, vertex + 1, 1 + random.nextInt(100));
+                }
+                if (y + 1 < side) {
+                    builder.addEdge(vertex, vertex + side, 1 + random.nextInt(100));
+                }
+            }
+        }
+        CsrGraph graph = builder.build();
+        ContractionHierarchyQuery query = new ContractionHierarchyQuery(new ContractionHierarchyBuilder(graph).build());
+        DijkstraShortestPaths dijkstra = new DijkstraShortestPaths(graph);
+        for (int i = 0; i < 50; i++) {
+            int source = random.nextInt(graph.vertexCount());
+            ShortestPaths expected = dijkstra.run(source);
+            for (int j = 0; j < 20; j++) {
+                int target = random.nextInt(graph.vertexCount());
+                assertRoute(graph, expected, query.route(source, target));
+            }
+        }
+    }
+
+    /**
+     * Contracts the graph and checks the routes between all pairs of vertices.
+     *
+     * @param graph The graph
+     */
+    private static void assertShortestRoutes(CsrGraph graph) {
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+        assertEquals(graph.vertexCount(), hierarchy.vertexCount());
+        ContractionHierarchyQuery query = new ContractionHierarchyQuery(hierarchy);
+        DijkstraShortestPaths dijkstra = new DijkstraShortestPaths(graph);
+        for (int source = 0; source < graph.vertexCount(); source++) {
+            ShortestPaths expected = dijkstra.run(source);
+            for (int target = 0; target < graph.vertexCount(); target++) {
+                assertRoute(graph, expected, query.route(source, target, new StepLog()));
+            }
+        }
+    }
+
+    /**
+     * Checks that a route has the distance found by Dijkstra's algorithm and that it is a walk from the source to the
+     * target over edges of the graph whose weights add up to the distance.
+     *
+     * @param graph    The graph
+     * @param expected The shortest paths from the source of the route
+     * @param route    The route to check
+     */
+    private static void assertRoute(CsrGraph graph, ShortestPaths expected, ShortestRoute route) {
+        int source = route.source();
+        int target = route.target();
+        String pair = source + " -> " + target;
+        assertEquals(expected.source(), source);
+        assertEquals(expected.distance(target), route.distance(), "Distance of " + pair);
+        if (!route.isReachable()) {
+            assertEquals(0, route.vertices().length, "Vertices of unreachable " + pair);
+            return;
+        }
+        int[] vertices = route.vertices();
+        int[] edges = route.edges();
+        assertEquals(source, vertices[0], "First vertex of " + pair);
+        assertEquals(target, vertices[vertices.length - 1], "Last vertex of " + pair);
+        assertEquals(vertices.length - 1, edges.length, "Number of edges of " + pair);
+        long length = 0;
+        for (int i = 0; i < edges.length; i++) {
+            int weight = edgeWeight(graph, vertices[i], vertices[i + 1], edges[i]);
+            assertTrue(weight >= 0, "Edge %d does not join %d and %d"
+                    .formatted(edges[i], vertices[i], vertices[i + 1]));
+            length += weight;
+        }
+        assertEquals(route.distance(), length, "Length of " + pair);
+    }
+
+    /**
+     * Looks up the weight of an edge between two vertices.
+     *
+     * @param graph The graph
+     * @param from  The first vertex
+     * @param to    The second vertex
+     * @param edge  The id of the edge
+     * @return The weight of the edge, or {@code -1} if it does not join the vertices
+     */
+    private static int edgeWeight(CsrGraph graph, int from, int to, int edge) {
+        for (int arc = graph.firstArc(from); arc < graph.endArc(from); arc++) {
+            if (graph.edgeId(arc) == edge && graph.target(arc) == to) {
+                return graph.weight(arc);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.GraphCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static io.github.dankoller.graph.RandomGraphs.randomEdge;
+import static io.github.dankoller.graph.RandomGraphs.randomVertex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Follows random sequences of edits with {@link DynamicShortestPaths} and compares the paths after every edit with
+ * the shortest paths which {@link DijkstraShortestPaths} computes from scratch.
+ */
+class DynamicShortestPathsTest {
+    private static final int GRAPHS = 200;
+    private static final int EDITS = 150;
+
+    /**
+     * Edits graphs with few distinct weights, zero weights, self loops and parallel edges, starting with a single
+     * source vertex.
+     */
+    @Test
+    void followsRandomEditsFromSingleVertex() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < GRAPHS; round++) {
+            GraphCore graph = new GraphCore();
+            DynamicShortestPaths paths = new DynamicShortestPaths(graph, graph.addVertex());
+            edit(graph, paths, random, 1 + random.nextInt(round % 2 == 0 ? 4 : 100));
+        }
+    }
+
+    /**
+     * Edits random graphs, starting with paths taken over from {@link DijkstraShortestPaths}.
+     */
+    @Test
+    void followsRandomEditsFromDijkstraPaths() {
+        SplittableRandom random = new SplittableRandom(13);
+        for (int round = 0; round < GRAPHS; round++) {
+            GraphCore graph = new GraphCore();
+            int vertices = 1 + random.nextInt(30);
+            for (int i = 0; i < vertices; i++) {
+                graph.addVertex();
+            }
+            for (int i = random.nextInt(3 * vertices); i > 0; i--) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(50));
+            }
+            int source = random.nextInt(vertices);
+            ShortestPaths initial = new DijkstraShortestPaths(graph.snapshot()).run(source);
+            DynamicShortestPaths paths = new DynamicShortestPaths(graph, initial);
+            assertShortest(graph, paths);
+            edit(graph, paths, random, 50);
+        }
+    }
+
+    /**
+     * Rejects edges with a negative weight, which form a negative cycle in an undirected graph, instead of propagating
+     * ever shorter distances around it.
+     */
+    @Test
+    void rejectsNegativeWeights() {
+        GraphCore graph = new GraphCore();
+        int source = graph.addVertex();
+        int vertex = graph.addVertex();
+        int other = graph.addVertex();
+        int edge = graph.addEdge(source, vertex, 5);
+        DynamicShortestPaths paths = new DynamicShortestPaths(graph,
+                new DijkstraShortestPaths(graph.snapshot()).run(source));
+        int negative = graph.addEdge(vertex, other, -3);
+        assertThrows(IllegalArgumentException.class, () -> paths.edgeAdded(negative));
+        graph.setWeight(edge, -1);
+        assertThrows(IllegalArgumentException.class, () -> paths.weightChanged(edge, 5));
+    }
+
+    /**
+     * Applies random edits to the graph, tells the paths about them and checks the paths after every edit. The source
+     * is never removed.
+     *
+     * @param graph     The graph to edit
+     * @param paths     The paths following the graph
+     * @param random    The source of the edits
+     * @param maxWeight The exclusive upper bound of the edge weights
+     */
+    private static void edit(GraphCore graph, DynamicShortestPaths paths, SplittableRandom random, int maxWeight) {
+        for (int step = 0; step < EDITS; step++) {
+            int vertex = randomVertex(graph, random);
+            int edge = randomEdge(graph, random);
+            int kind = random.nextInt(10);
+            if (kind < 2) {
+                graph.addVertex();
+            } else if (kind < 6) {
+                int other = randomVertex(graph, random);
+                paths.edgeAdded(graph.addEdge(vertex, other, random.nextInt(maxWeight)));
+            } else if (kind < 8 && edge >= 0) {
+                graph.removeEdge(edge);
+                paths.edgesRemoved(edge);
+            } else if (kind < 9 && edge >= 0) {
+                int oldWeight = graph.weight(edge);
+                graph.setWeight(edge, random.nextInt(maxWeight));
+                paths.weightChanged(edge, oldWeight);
+            } else if (vertex != paths.getSource()) {
+                paths.edgesRemoved(graph.removeVertex(vertex));
+            }
+            assertShortest(graph, paths);
+        }
+    }
+
+    /**
+     * Checks that every vertex has the distance found by Dijkstra's algorithm and that the shortest path tree only
+     * consists of live edges which match the distances.
+     *
+     * @param graph The current graph
+     * @param paths The paths following the graph
+     */
+    private static void assertShortest(GraphCore graph, DynamicShortestPaths paths) {
+        ShortestPaths expected = new DijkstraShortestPaths(graph.snapshot()).run(paths.getSource());
+        ShortestPaths actual = paths.toShortestPaths();
+        for (int vertex = 0; vertex < graph.vertexIdBound(); vertex++) {
+            assertEquals(expected.distance(vertex), paths.distance(vertex), "Distance of vertex " + vertex);
+            assertEquals(expected.distance(vertex), actual.distance(vertex), "Copied distance of vertex " + vertex);
+            int edge = actual.predecessorEdges()[vertex];
+            if (vertex != paths.getSource() && actual.isReachable(vertex)) {
+                int predecessor = actual.predecessors()[vertex];
+                assertTrue(graph.containsEdge(edge), "Vertex " + vertex + " is reached over a removed edge");
+                assertEquals(predecessor, graph.opposite(edge, vertex), "Predecessor of vertex " + vertex);
+                assertEquals(actual.distance(predecessor) + graph.weight(edge), actual.distance(vertex),
+                        "Distance over the tree edge of vertex " + vertex);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.dankoller.graph.algorithm;
+
+import io.github.dankoller.graph.GraphCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static io.github.dankoller.graph.RandomGraphs.randomEdge;
+import static io.github.dankoller.graph.RandomGraphs.randomVertex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Follows random sequences of edits with a {@link DynamicSpanningForest} and compares it after every edit with a
+ * minimum spanning forest which {@link KruskalMinimumSpanningTree} computes from scratch.
+ */
+class DynamicSpanningForestTest {
+    private static final int GRAPHS = 200;
+    private static final int EDITS = 150;
+
+    /**
+     * Edits graphs with few distinct weights, self loops and parallel edges, starting with a forest built edge by edge.
+     */
+    @Test
+    void followsRandomEditsFromEmptyGraph() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < GRAPHS; round++) {
+            GraphCore graph = new GraphCore();
+            DynamicSpanningForest forest = new DynamicSpanningForest(graph);
+            edit(graph, forest, random, 1 + random.nextInt(round % 2 == 0 ? 5 : 100));
+        }
+    }
+
+    /**
+     * Edits random graphs, starting with a forest taken over from {@link KruskalMinimumSpanningTree}.
+     */
+    @Test
+    void followsRandomEditsFromKruskalForest() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < GRAPHS; round++) {
+            GraphCore graph = new GraphCore();
+            int vertices = 1 + random.nextInt(30);
+            for (int i = 0; i < vertices; i++) {
+                graph.addVertex();
+            }
+            for (int i = random.nextInt(3 * vertices); i > 0; i--) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(50));
+            }
+            SpanningForest initial = new KruskalMinimumSpanningTree(graph.snapshot()).run();
+            DynamicSpanningForest forest = new DynamicSpanningForest(graph, initial);
+            assertMinimal(graph, forest);
+            edit(graph, forest, random, 50);
+        }
+    }
+
+    /**
+     * Applies random edits to the graph, tells the forest about them and checks the forest after every edit.
+     *
+     * @param graph     The graph to edit
+     * @param forest    The forest following the graph
+     * @param random    The source of the edits
+     * @param maxWeight The exclusive upper bound of the edge weights
+     */
+    private static void edit(GraphCore graph, DynamicSpanningForest forest, SplittableRandom random, int maxWeight) {
+        for (int step = 0; step < EDITS; step++) {
+            int vertex = randomVertex(graph, random);
+            int edge = randomEdge(graph, random);
+            int kind = random.nextInt(10);
+            if (kind < 2 || vertex < 0) {
+                graph.addVertex();
+            } else if (kind < 6) {
+                int other = randomVertex(graph, random);
+                forest.edgeAdded(graph.addEdge(vertex, other, random.nextInt(maxWeight)));
+            } else if (kind < 8 && edge >= 0) {
+                graph.removeEdge(edge);
+                forest.edgesRemoved(edge);
+            } else if (kind < 9 && edge >= 0) {
+                int oldWeight = graph.weight(edge);
+                graph.setWeight(edge, random.nextInt(maxWeight));
+                forest.weightChanged(edge, oldWeight);
+            } else {
+                forest.edgesRemoved(graph.removeVertex(vertex));
+            }
+            assertMinimal(graph, forest);
+        }
+    }
+
+    /**
+     * Checks that the forest only contains live edges and has the size and weight of a minimum spanning forest.
+     *
+     * @param graph  The current graph
+     * @param forest The forest following the graph
+     */
+    private static void assertMinimal(GraphCore graph, DynamicSpanningForest forest) {
+        SpanningForest expected = new KruskalMinimumSpanningTree(graph.snapshot()).run();
+        int size = 0;
+        long weight = 0;
+        for (int edge = 0; edge < graph.edgeIdBound(); edge++) {
+            if (forest.contains(edge)) {
+                assertTrue(graph.containsEdge(edge), "Removed edge " + edge + " is still part of the forest");
+                size++;
+                weight += graph.weight(edge);
+            }
+        }
+        assertEquals(expected.size(), size, "Number of forest edges");
+        assertEquals(expected.totalWeight(), weight, "Weight of the forest edges");
+        assertEquals(expected.totalWeight(), forest.totalWeight(), "Total weight of the forest");
+    }
+}
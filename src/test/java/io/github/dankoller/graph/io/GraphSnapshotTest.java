@@ -0,0 +1,184 @@
+package io.github.dankoller.graph.io;
+
+import io.github.dankoller.graph.CsrGraph;
+import io.github.dankoller.graph.algorithm.ContractionHierarchy;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyBuilder;
+import io.github.dankoller.graph.algorithm.ContractionHierarchyQuery;
+import io.github.dankoller.graph.algorithm.ShortestRoute;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static io.github.dankoller.graph.RandomGraphs.randomGraph;
+import static io.github.dankoller.graph.io.SnapshotLayout.BYTE_ORDER;
+import static io.github.dankoller.graph.io.SnapshotLayout.HEADER_BYTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes snapshots with {@link GraphSnapshotWriter}, reads them back with {@link GraphSnapshotReader} and compares
+ * every section with the original.
+ */
+class GraphSnapshotTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Round-trips a snapshot with labels, positions and a contraction hierarchy and queries the hierarchy read back.
+     *
+     * @throws IOException If the snapshot cannot be written or read
+     */
+    @Test
+    void roundTripsAllSections() throws IOException {
+        SplittableRandom random = new SplittableRandom(29);
+        CsrGraph graph = randomGraph(random, 500, 1500, 1000);
+        int vertices = graph.vertexCount();
+        String[] labels = new String[vertices];
+        float[] xs = new float[vertices];
+        float[] ys = new float[vertices];
+        for (int vertex = 0; vertex < vertices; vertex++) {
+            labels[vertex] = "V\u00e9rtex " + vertex;
+            xs[vertex] = (float) random.nextDouble(-1000, 1000);
+            ys[vertex] = (float) random.nextDouble(-1000, 1000);
+        }
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+        Path file = directory.resolve("all.gsnap");
+        new GraphSnapshotWriter().write(file, new GraphSnapshot(graph, labels, xs, ys, hierarchy));
+
+        GraphSnapshot read = new GraphSnapshotReader().read(file);
+        assertGraphEquals(graph, read.graph());
+        assertTrue(read.hasLabels());
+        assertArrayEquals(labels, read.labels());
+        assertTrue(read.hasPositions());
+        assertArrayEquals(xs, read.xs());
+        assertArrayEquals(ys, read.ys());
+        assertTrue(read.hasHierarchy());
+        assertHierarchyEquals(hierarchy, read.hierarchy());
+
+        ContractionHierarchyQuery original = new ContractionHierarchyQuery(hierarchy);
+        ContractionHierarchyQuery restored = new ContractionHierarchyQuery(read.hierarchy());
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(vertices);
+            int target = random.nextInt(vertices);
+            ShortestRoute expected = original.route(source, target);
+            ShortestRoute actual = restored.route(source, target);
+            assertEquals(expected.distance(), actual.distance());
+            assertArrayEquals(expected.vertices(), actual.vertices());
+            assertArrayEquals(expected.edges(), actual.edges());
+        }
+    }
+
+    /**
+     * Round-trips a snapshot of the graph alone, which has none of the optional sections.
+     *
+     * @throws IOException If the snapshot cannot be written or read
+     */
+    @Test
+    void roundTripsGraphOnly() throws IOException {
+        CsrGraph graph = randomGraph(new SplittableRandom(31), 200, 600, 1000);
+        Path file = directory.resolve("graph.gsnap");
+        new GraphSnapshotWriter().write(file, new GraphSnapshot(graph));
+
+        GraphSnapshot read = new GraphSnapshotReader().read(file);
+        assertGraphEquals(graph, read.graph());
+        assertFalse(read.hasLabels());
+        assertFalse(read.hasPositions());
+        assertFalse(read.hasHierarchy());
+    }
+
+    /**
+     * Rejects snapshots whose graph or hierarchy arrays point outside of the graph, although all sections have the
+     * expected length.
+     *
+     * @throws IOException If the snapshot cannot be written
+     */
+    @Test
+    void rejectsCorruptArrays() throws IOException {
+        CsrGraph graph = randomGraph(new SplittableRandom(37), 50, 150, 1000);
+        int vertices = graph.vertexCount();
+        int arcs = graph.arcCount();
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+        long offsets = HEADER_BYTES;
+        long targets = offsets + (vertices + 1L) * Integer.BYTES;
+        long edgeIds = targets + 2L * arcs * Integer.BYTES;
+        long ranks = edgeIds + (long) arcs * Integer.BYTES + Integer.BYTES;
+        assertCorrupt(graph, hierarchy, offsets + Integer.BYTES, arcs + 1);
+        assertCorrupt(graph, hierarchy, targets, vertices);
+        assertCorrupt(graph, hierarchy, targets, -1);
+        assertCorrupt(graph, hierarchy, edgeIds, graph.edgeCount());
+        assertCorrupt(graph, hierarchy, ranks, hierarchy.rank(1));
+        assertCorrupt(graph, hierarchy, ranks + (vertices + 2L) * Integer.BYTES, -5);
+    }
+
+    /**
+     * Writes a snapshot, overwrites one int of it and checks that reading it fails.
+     *
+     * @param graph     The graph
+     * @param hierarchy The contraction hierarchy of the graph
+     * @param position  The file position of the int to overwrite
+     * @param value     The value to write
+     * @throws IOException If the snapshot cannot be written
+     */
+    private void assertCorrupt(CsrGraph graph, ContractionHierarchy hierarchy, long position, int value)
+            throws IOException {
+        Path file = directory.resolve("corrupt.gsnap");
+        new GraphSnapshotWriter().write(file, new GraphSnapshot(graph, null, null, null, hierarchy));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).order(BYTE_ORDER).putInt(0, value), position);
+        }
+        IOException e = assertThrows(IOException.class, () -> new GraphSnapshotReader().read(file));
+        assertTrue(e.getMessage().startsWith("Corrupt graph snapshot"), e.getMessage());
+    }
+
+    /**
+     * Checks that two graphs have the same CSR arrays.
+     *
+     * @param expected The original graph
+     * @param actual   The graph read back
+     */
+    private static void assertGraphEquals(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount(), "Vertex count");
+        assertEquals(expected.edgeCount(), actual.edgeCount(), "Edge count");
+        assertEquals(expected.arcCount(), actual.arcCount(), "Arc count");
+        for (int vertex = 0; vertex < expected.vertexCount(); vertex++) {
+            assertEquals(expected.firstArc(vertex), actual.firstArc(vertex), "First arc of vertex " + vertex);
+            assertEquals(expected.endArc(vertex), actual.endArc(vertex), "End arc of vertex " + vertex);
+        }
+        for (int arc = 0; arc < expected.arcCount(); arc++) {
+            assertEquals(expected.target(arc), actual.target(arc), "Target of arc " + arc);
+            assertEquals(expected.weight(arc), actual.weight(arc), "Weight of arc " + arc);
+            assertEquals(expected.edgeId(arc), actual.edgeId(arc), "Edge id of arc " + arc);
+        }
+    }
+
+    /**
+     * Checks that two contraction hierarchies have the same ranks and upward arcs.
+     *
+     * @param expected The original hierarchy
+     * @param actual   The hierarchy read back
+     */
+    private static void assertHierarchyEquals(ContractionHierarchy expected, ContractionHierarchy actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount(), "Vertex count");
+        assertEquals(expected.arcCount(), actual.arcCount(), "Arc count");
+        for (int vertex = 0; vertex < expected.vertexCount(); vertex++) {
+            assertEquals(expected.rank(vertex), actual.rank(vertex), "Rank of vertex " + vertex);
+            assertEquals(expected.firstArc(vertex), actual.firstArc(vertex), "First arc of vertex " + vertex);
+            assertEquals(expected.endArc(vertex), actual.endArc(vertex), "End arc of vertex " + vertex);
+        }
+        for (int arc = 0; arc < expected.arcCount(); arc++) {
+            assertEquals(expected.target(arc), actual.target(arc), "Target of arc " + arc);
+            assertEquals(expected.weight(arc), actual.weight(arc), "Weight of arc " + arc);
+            assertEquals(expected.middle(arc), actual.middle(arc), "Middle of arc " + arc);
+            assertEquals(expected.edgeId(arc), actual.edgeId(arc), "Edge id of arc " + arc);
+        }
+    }
+}